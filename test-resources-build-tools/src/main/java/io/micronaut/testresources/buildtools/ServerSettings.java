@@ -15,6 +15,7 @@
  */
 package io.micronaut.testresources.buildtools;
 
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -26,6 +27,7 @@ public final class ServerSettings {
     private final String accessToken;
     private final Integer clientTimeout;
     private final Integer idleTimeoutMinutes;
+    private final Path socketPath;
 
     @Deprecated
     public ServerSettings(int port, String accessToken, Integer clientTimeout) {
@@ -33,10 +35,25 @@ public final class ServerSettings {
     }
 
     public ServerSettings(int port, String accessToken, Integer clientTimeout, Integer idleTimeoutMinutes) {
+        this(port, accessToken, clientTimeout, idleTimeoutMinutes, null);
+    }
+
+    /**
+     * Creates server settings.
+     *
+     * @param port the TCP port of the server
+     * @param accessToken the access token, if any
+     * @param clientTimeout the client timeout, if any
+     * @param idleTimeoutMinutes the server idle timeout, if any
+     * @param socketPath the path to the Unix domain socket the server listens to, if any
+     * @since 2.8.0
+     */
+    public ServerSettings(int port, String accessToken, Integer clientTimeout, Integer idleTimeoutMinutes, Path socketPath) {
         this.port = port;
         this.accessToken = accessToken;
         this.clientTimeout = clientTimeout;
         this.idleTimeoutMinutes = idleTimeoutMinutes;
+        this.socketPath = socketPath;
     }
 
     public int getPort() {
@@ -55,6 +72,17 @@ public final class ServerSettings {
         return Optional.ofNullable(idleTimeoutMinutes);
     }
 
+    /**
+     * Returns the path to the Unix domain socket the server listens to,
+     * in addition to its TCP port.
+     *
+     * @return the socket path, if the server listens to a Unix domain socket
+     * @since 2.8.0
+     */
+    public Optional<Path> getSocketPath() {
+        return Optional.ofNullable(socketPath);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -75,7 +103,10 @@ public final class ServerSettings {
         if (!Objects.equals(clientTimeout, that.clientTimeout)) {
             return false;
         }
-        return Objects.equals(idleTimeoutMinutes, that.idleTimeoutMinutes);
+        if (!Objects.equals(idleTimeoutMinutes, that.idleTimeoutMinutes)) {
+            return false;
+        }
+        return Objects.equals(socketPath, that.socketPath);
     }
 
     @Override
@@ -84,6 +115,7 @@ public final class ServerSettings {
         result = 31 * result + (accessToken != null ? accessToken.hashCode() : 0);
         result = 31 * result + (clientTimeout != null ? clientTimeout.hashCode() : 0);
         result = 31 * result + (idleTimeoutMinutes != null ? idleTimeoutMinutes.hashCode() : 0);
+        result = 31 * result + (socketPath != null ? socketPath.hashCode() : 0);
         return result;
     }
 }
@@ -24,9 +24,12 @@ import java.io.InputStream;
 import java.io.PrintWriter;
 import java.net.HttpURLConnection;
 import java.net.Socket;
+import java.net.StandardProtocolFamily;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -56,6 +59,8 @@ import java.util.stream.Stream;
  */
 public class ServerUtils {
     public static final String PROPERTIES_FILE_NAME = "test-resources.properties";
+    public static final String SOCKET_FILE_NAME = "test-resources.sock";
+    public static final String SNAPSHOT_FILE_NAME = "test-resources.snapshot";
 
     /**
      * Used only in tests to skip actual port checking.
@@ -70,6 +75,8 @@ public class ServerUtils {
     private static final String SERVER_ACCESS_TOKEN_MICRONAUT_PROPERTY = "server.access-token";
     private static final String SERVER_ACCESS_TOKEN = "server.access.token";
     private static final String SERVER_CLIENT_READ_TIMEOUT = "server.client.read.timeout";
+    private static final String SERVER_SOCKET = "server.socket";
+    private static final String SERVER_SNAPSHOT = "server.snapshot";
     private static final String SERVER_IDLE_TIMEOUT_MINUTES = "server.idle.timeout.minutes";
     private static final String SERVER_ENTRY_POINT =
         "io.micronaut.testresources.server.TestResourcesService";
@@ -79,6 +86,8 @@ public class ServerUtils {
     private static final String CDS_FILE = "cds.jsa";
     private static final String CDS_CLASS_LST = "cds.classlist";
     private static final String FLAT_JAR = "flat.jar";
+    // Unix domain socket paths are limited to 104 bytes on macOS, 108 on Linux
+    private static final int MAX_SOCKET_PATH_LENGTH = 100;
 
     // See io.micronaut.testresources.testcontainers.DockerSupport.TIMEOUT
     private static final String DOCKER_CHECK_TIMEOUT_SECONDS_ENV =
@@ -103,6 +112,10 @@ public class ServerUtils {
                 .ifPresent(token -> prn.println(SERVER_ACCESS_TOKEN + "=" + token));
             settings.getClientTimeout()
                 .ifPresent(timeout -> prn.println(SERVER_CLIENT_READ_TIMEOUT + "=" + timeout));
+            settings.getSocketPath()
+                .ifPresent(socket -> prn.println(SERVER_SOCKET + "=" + escapePropertyValue(socket.toAbsolutePath().toString())));
+            // Clients share the values they resolve with other clients through this file
+            prn.println(SERVER_SNAPSHOT + "=" + escapePropertyValue(destinationDirectory.resolve(SNAPSHOT_FILE_NAME).toAbsolutePath().toString()));
         }
     }
 
@@ -126,6 +139,9 @@ public class ServerUtils {
                         .orElse(null),
                     Optional.ofNullable(props.getProperty(SERVER_IDLE_TIMEOUT_MINUTES))
                         .map(Integer::parseInt)
+                        .orElse(null),
+                    Optional.ofNullable(props.getProperty(SERVER_SOCKET))
+                        .map(Paths::get)
                         .orElse(null)
                 ));
             } catch (IOException | URISyntaxException e) {
@@ -155,6 +171,35 @@ public class ServerUtils {
         }
     }
 
+    /**
+     * Determines if a server is listening on the given Unix domain socket.
+     *
+     * @param socketPath the path to the socket file
+     * @return true if a server accepts connections on the socket
+     * @since 2.8.0
+     */
+    public static boolean isServerStarted(Path socketPath) {
+        if (System.getProperty(SERVER_TEST_PROPERTY) != null) {
+            return Boolean.getBoolean(SERVER_TEST_PROPERTY);
+        }
+        if (!Files.exists(socketPath)) {
+            return false;
+        }
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketPath));
+            LOGGER.info("Test resources service already started on socket {}", socketPath);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static boolean isServerStarted(ServerSettings settings) {
+        return settings.getSocketPath()
+            .filter(ServerUtils::isServerStarted)
+            .isPresent() || isServerStarted(settings.getPort());
+    }
+
     /**
      * Starts a server at the given port, or connects to an existing server running
      * at the given port.
@@ -193,17 +238,24 @@ public class ServerUtils {
                                                 " but settings file says it should be on port " +
                                                 serverSettings.getPort());
             }
-            if (isServerStarted(serverSettings.getPort())) {
+            if (isServerStarted(serverSettings)) {
                 return serverSettings;
             }
         }
         if (Files.exists(portFilePath)) {
             Files.delete(portFilePath);
         }
+        Path socketPath = socketPathFor(serverSettingsDirectory);
+        if (socketPath != null) {
+            // a stale socket file would make us believe the new server listens to it
+            Files.deleteIfExists(socketPath);
+        }
+        // values resolved by a previous server are stale
+        Files.deleteIfExists(serverSettingsDirectory.resolve(SNAPSHOT_FILE_NAME));
 
         Files.createDirectories(portFilePath.getParent());
         startAndWait(serverFactory, explicitPort, serverIdleTimeoutMinutes, portFilePath,
-            accessToken, serverClasspath, cdsDirectory);
+            socketPath, accessToken, serverClasspath, cdsDirectory);
         int port;
         if (explicitPort == null) {
             List<String> lines = Files.readAllLines(portFilePath);
@@ -226,8 +278,10 @@ public class ServerUtils {
         } else {
             port = explicitPort;
         }
+        // The server only binds the socket if the platform supports it
+        Path boundSocketPath = socketPath != null && Files.exists(socketPath) ? socketPath : null;
         ServerSettings settings =
-            new ServerSettings(port, accessToken, clientTimeoutMs, serverIdleTimeoutMinutes);
+            new ServerSettings(port, accessToken, clientTimeoutMs, serverIdleTimeoutMinutes, boundSocketPath);
         writeServerSettings(serverSettingsDirectory, settings);
         return settings;
     }
@@ -289,6 +343,10 @@ public class ServerUtils {
                 is.read();
             }
             Files.delete(serverSettingsDirectory.resolve(PROPERTIES_FILE_NAME));
+            if (serverSettings.getSocketPath().isPresent()) {
+                Files.deleteIfExists(serverSettings.getSocketPath().get());
+            }
+            Files.deleteIfExists(serverSettingsDirectory.resolve(SNAPSHOT_FILE_NAME));
         }
     }
 
@@ -316,22 +374,38 @@ public class ServerUtils {
         return Paths.get(System.getProperty("user.home"), ".micronaut/" + ns);
     }
 
+    private static Path socketPathFor(Path serverSettingsDirectory) {
+        Path socketPath = serverSettingsDirectory.resolve(SOCKET_FILE_NAME).toAbsolutePath();
+        if (socketPath.toString().getBytes(StandardCharsets.UTF_8).length > MAX_SOCKET_PATH_LENGTH) {
+            LOGGER.debug("Not using a Unix domain socket because path {} is too long", socketPath);
+            return null;
+        }
+        return socketPath;
+    }
+
+    private static String escapePropertyValue(String value) {
+        return value.replace("\\", "\\\\")
+            .replace(":", "\\:")
+            .replace("=", "\\=");
+    }
+
     private static void startAndWait(ServerFactory serverFactory,
                                      Integer explicitPort,
                                      Integer idleTimeoutMinutes,
                                      Path portFilePath,
+                                     Path socketPath,
                                      String accessToken,
                                      Collection<File> serverClasspath,
                                      Path cdsDirectory) throws IOException {
         ProcessParameters processParameters =
-            createProcessParameters(explicitPort, idleTimeoutMinutes, portFilePath, accessToken,
+            createProcessParameters(explicitPort, idleTimeoutMinutes, portFilePath, socketPath, accessToken,
                 serverClasspath, cdsDirectory);
         serverFactory.startServer(processParameters);
         // If the call is a CDS dump, we need to perform a second invocation
         // which doesn't dump
         if (processParameters.isCDSDumpInvocation()) {
-            startAndWait(serverFactory, explicitPort, idleTimeoutMinutes, portFilePath, accessToken,
-                serverClasspath, cdsDirectory);
+            startAndWait(serverFactory, explicitPort, idleTimeoutMinutes, portFilePath, socketPath,
+                accessToken, serverClasspath, cdsDirectory);
             return;
         }
         waitForServerToBeAvailable(serverFactory, explicitPort, portFilePath);
@@ -382,11 +456,12 @@ public class ServerUtils {
 
     private static ProcessParameters createProcessParameters(Integer explicitPort,
                                                              Integer serverIdleTimeoutMinutes,
-                                                             Path portFilePath, String accessToken,
+                                                             Path portFilePath, Path socketPath,
+                                                             String accessToken,
                                                              Collection<File> serverClasspath,
                                                              Path cdsDirectory) {
         return new DefaultProcessParameters(explicitPort, serverIdleTimeoutMinutes, accessToken,
-            cdsDirectory, serverClasspath, portFilePath);
+            cdsDirectory, serverClasspath, portFilePath, socketPath);
 
     }
 
@@ -440,6 +515,7 @@ public class ServerUtils {
         private final Path cdsDirectory;
         private final Collection<File> serverClasspath;
         private final Path portFilePath;
+        private final Path socketPath;
         private final Integer idleTimeoutMinutes;
         private List<String> jvmArgs;
         private List<File> classpath;
@@ -450,13 +526,15 @@ public class ServerUtils {
                                         String accessToken,
                                         Path cdsDirectory,
                                         Collection<File> serverClasspath,
-                                        Path portFilePath) {
+                                        Path portFilePath,
+                                        Path socketPath) {
             this.explicitPort = explicitPort;
             this.idleTimeoutMinutes = idleTimeoutMinutes;
             this.accessToken = accessToken;
             this.cdsDirectory = cdsDirectory;
             this.serverClasspath = serverClasspath;
             this.portFilePath = portFilePath;
+            this.socketPath = socketPath;
         }
 
         @Override
@@ -583,10 +661,14 @@ public class ServerUtils {
 
         @Override
         public List<String> getArguments() {
+            List<String> arguments = new ArrayList<>(2);
             if (explicitPort == null) {
-                return Collections.singletonList("--port-file=" + portFilePath.toAbsolutePath());
+                arguments.add("--port-file=" + portFilePath.toAbsolutePath());
+            }
+            if (socketPath != null) {
+                arguments.add("--unix-socket=" + socketPath);
             }
-            return Collections.emptyList();
+            return Collections.unmodifiableList(arguments);
         }
 
         @Override
@@ -9,6 +9,9 @@ import spock.lang.Specification
 import spock.lang.TempDir
 import spock.util.environment.RestoreSystemProperties
 
+import java.net.StandardProtocolFamily
+import java.net.UnixDomainSocketAddress
+import java.nio.channels.ServerSocketChannel
 import java.nio.file.Files
 import java.nio.file.Path
 import java.util.concurrent.atomic.AtomicInteger
@@ -64,7 +67,8 @@ class ServerUtilsTest extends Specification {
             }
             assert params.systemProperties == sysProps
             assert params.arguments == [
-                    "--port-file=${portFile.toAbsolutePath()}".toString()
+                    "--port-file=${portFile.toAbsolutePath()}".toString(),
+                    "--unix-socket=${settingsDir.resolve(ServerUtils.SOCKET_FILE_NAME).toAbsolutePath()}".toString()
             ]
         }
         1 * factory.waitFor(_) >> {
@@ -76,6 +80,8 @@ class ServerUtilsTest extends Specification {
         settings.port == embeddedServer.port
         settings.accessToken == Optional.ofNullable(token)
         settings.clientTimeout == Optional.ofNullable(timeout)
+        // the server didn't bind the socket
+        !settings.socketPath.present
 
         when:
         ServerUtils.stopServer(settingsDir)
@@ -94,6 +100,54 @@ class ServerUtilsTest extends Specification {
         'abc' | [new File('def')] | 98
     }
 
+    def "writes and reads server settings with a Unix domain socket"() {
+        def settings = new ServerSettings(
+                1234,
+                null,
+                null,
+                null,
+                tmpDir.resolve("dir with = and :").resolve(ServerUtils.SOCKET_FILE_NAME)
+        )
+        def settingsDir = tmpDir.resolve("settings")
+
+        when:
+        ServerUtils.writeServerSettings(settingsDir, settings)
+        def read = ServerUtils.readServerSettings(settingsDir)
+
+        then:
+        read.present
+        read.get() == settings
+    }
+
+    def "publishes the location of the resolution snapshot"() {
+        def settingsDir = tmpDir.resolve("settings")
+
+        when:
+        ServerUtils.writeServerSettings(settingsDir, new ServerSettings(1234, null, null, null))
+        def props = new Properties()
+        settingsDir.resolve(ServerUtils.PROPERTIES_FILE_NAME).withInputStream { props.load(it) }
+
+        then:
+        props.getProperty("server.snapshot") == settingsDir.resolve(ServerUtils.SNAPSHOT_FILE_NAME).toAbsolutePath().toString()
+    }
+
+    def "detects a server listening on a Unix domain socket"() {
+        def socketPath = tmpDir.resolve(ServerUtils.SOCKET_FILE_NAME)
+
+        expect:
+        !ServerUtils.isServerStarted(socketPath)
+
+        when:
+        def server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+        server.bind(UnixDomainSocketAddress.of(socketPath))
+
+        then:
+        ServerUtils.isServerStarted(socketPath)
+
+        cleanup:
+        server?.close()
+    }
+
     @RestoreSystemProperties
     def "can set the docker check timeout"() {
         def portFile = tmpDir.resolve("port-file")
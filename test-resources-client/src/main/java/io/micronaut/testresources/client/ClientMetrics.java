@@ -0,0 +1,251 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.client;
+
+import io.micronaut.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long the calls to the test resources server take, per
+ * endpoint, and how often the client caches answer instead of the server.
+ *
+ * Metrics are collected for the whole JVM. If a report directory is
+ * configured, a JSON report named after the process id is written to
+ * this directory when the JVM exits. The report contains the bucket
+ * counts of the latency histograms, so that the reports of several test
+ * JVMs can be merged exactly.
+ */
+final class ClientMetrics {
+    static final String SNAPSHOT_CACHE = "snapshot";
+    static final String CONDITIONAL_CACHE = "conditional";
+    static final String PREFETCH_CACHE = "prefetch";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientMetrics.class);
+    private static final ClientMetrics INSTANCE = new ClientMetrics();
+    private static final double MICROS_PER_MILLI = 1000d;
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder[]> caches = new ConcurrentHashMap<>();
+    private final LongAdder waitingNanos = new LongAdder();
+    private final AtomicReference<Path> reportDirectory = new AtomicReference<>();
+
+    ClientMetrics() {
+    }
+
+    static ClientMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records the duration of a call to the server.
+     *
+     * @param endpoint the endpoint which was called
+     * @param nanos the duration of the call, in nanoseconds
+     * @param blocking if the calling thread was blocked during the call
+     */
+    void recordLatency(String endpoint, long nanos, boolean blocking) {
+        latencies.computeIfAbsent(endpoint, unused -> new LatencyHistogram()).record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (blocking) {
+            waitingNanos.add(nanos);
+        }
+    }
+
+    /**
+     * Records the time a thread was blocked waiting for the result of
+     * an asynchronous call to the server.
+     *
+     * @param nanos the waiting time, in nanoseconds
+     */
+    void recordWaiting(long nanos) {
+        waitingNanos.add(nanos);
+    }
+
+    /**
+     * Records whether a cache could answer instead of the server.
+     *
+     * @param cache the name of the cache
+     * @param hit true if the cache answered
+     */
+    void recordCacheAccess(String cache, boolean hit) {
+        caches.computeIfAbsent(cache, unused -> new LongAdder[] {new LongAdder(), new LongAdder()})[hit ? 0 : 1].increment();
+    }
+
+    /**
+     * Writes a report to the supplied directory when the JVM exits.
+     * Only the first configured directory is used.
+     *
+     * @param directory the report directory
+     */
+    void reportOnExit(Path directory) {
+        if (reportDirectory.compareAndSet(null, directory)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeReport(directory), "test-resources-client-report"));
+        }
+    }
+
+    /**
+     * Writes the report of this JVM to a directory.
+     *
+     * @param directory the report directory
+     * @return the report file, or null if it couldn't be written
+     */
+    Path writeReport(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Path report = directory.resolve("test-resources-client-" + ProcessHandle.current().pid() + ".json");
+            Files.write(report, JsonMapper.createDefault().writeValueAsBytes(toReport()));
+            return report;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write test resources client report to {}", directory, e);
+            return null;
+        }
+    }
+
+    Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("pid", ProcessHandle.current().pid());
+        report.put("uptimeMillis", ManagementFactory.getRuntimeMXBean().getUptime());
+        report.put("waitingMillis", TimeUnit.NANOSECONDS.toMillis(waitingNanos.sum()));
+        Map<String, Object> endpoints = new TreeMap<>();
+        latencies.forEach((endpoint, histogram) -> endpoints.put(endpoint, histogram.toReport()));
+        report.put("endpoints", endpoints);
+        Map<String, Object> cacheReport = new TreeMap<>();
+        caches.forEach((cache, counters) -> {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put("hits", counters[0].sum());
+            counts.put("misses", counters[1].sum());
+            cacheReport.put(cache, counts);
+        });
+        report.put("caches", cacheReport);
+        return report;
+    }
+
+    /**
+     * A histogram with logarithmic buckets: each power of two is split
+     * into 8 buckets, so that each bucket covers values up to 12.5%
+     * greater than the previous one, which bounds the error of
+     * percentiles, while recording a value is lock-free.
+     */
+    static final class LatencyHistogram {
+        private static final int MANTISSA_BITS = 3;
+        private static final int BUCKETS_PER_POWER_OF_TWO = 1 << MANTISSA_BITS;
+        // 2^40 microseconds is more than 12 days
+        private static final int BUCKET_COUNT = 40 * BUCKETS_PER_POWER_OF_TWO + 1;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+        void record(long micros) {
+            buckets.incrementAndGet(bucketOf(micros));
+            count.increment();
+            totalMicros.add(micros);
+            maxMicros.accumulate(micros);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        long max() {
+            return maxMicros.get();
+        }
+
+        /**
+         * Returns the value below which a percentage of the recorded values fall.
+         *
+         * @param percentile the percentile, between 0 and 1
+         * @return the upper bound of the bucket of the percentile, in microseconds
+         */
+        long percentile(double percentile) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile * total));
+            long cumulated = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                cumulated += buckets.get(i);
+                if (cumulated >= rank) {
+                    return Math.min(upperBoundOf(i), max());
+                }
+            }
+            return max();
+        }
+
+        Map<String, Object> toReport() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("count", count());
+            report.put("totalMillis", totalMicros.sum() / MICROS_PER_MILLI);
+            report.put("p50Millis", percentile(0.5) / MICROS_PER_MILLI);
+            report.put("p95Millis", percentile(0.95) / MICROS_PER_MILLI);
+            report.put("p99Millis", percentile(0.99) / MICROS_PER_MILLI);
+            report.put("maxMillis", max() / MICROS_PER_MILLI);
+            Map<String, Long> bucketCounts = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long bucketCount = buckets.get(i);
+                if (bucketCount > 0) {
+                    bucketCounts.put(String.valueOf(upperBoundOf(i)), bucketCount);
+                }
+            }
+            // Keyed by the upper bound of each bucket, in microseconds
+            report.put("buckets", bucketCounts);
+            return report;
+        }
+
+        /**
+         * Returns the bucket of a value: the position of its highest bit
+         * selects the power of two, and the bits which follow select the
+         * bucket within that power of two.
+         */
+        static int bucketOf(long micros) {
+            if (micros <= 1) {
+                return 0;
+            }
+            int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+            long shifted = exponent >= MANTISSA_BITS ? micros >>> (exponent - MANTISSA_BITS) : micros << (MANTISSA_BITS - exponent);
+            int mantissa = (int) (shifted & (BUCKETS_PER_POWER_OF_TWO - 1));
+            return Math.min(exponent * BUCKETS_PER_POWER_OF_TWO + mantissa + 1, BUCKET_COUNT - 1);
+        }
+
+        /**
+         * Returns the upper bound of the values of a bucket.
+         */
+        static long upperBoundOf(int bucket) {
+            if (bucket == 0) {
+                return 1;
+            }
+            int exponent = (bucket - 1) / BUCKETS_PER_POWER_OF_TWO;
+            int mantissa = (bucket - 1) % BUCKETS_PER_POWER_OF_TWO;
+            return ((long) (BUCKETS_PER_POWER_OF_TWO + mantissa + 1) << exponent) / BUCKETS_PER_POWER_OF_TWO;
+        }
+    }
+}
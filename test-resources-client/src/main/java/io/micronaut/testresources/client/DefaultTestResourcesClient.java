@@ -19,25 +19,36 @@ import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.type.Argument;
 import io.micronaut.json.JsonMapper;
+import io.micronaut.testresources.core.CborCodec;
 
 import java.io.IOException;
 import java.net.ConnectException;
 import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Consumer;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * A simple implementation of the test resources client.
+ * A simple implementation of the test resources client. If the server
+ * listens to a Unix domain socket, requests are sent over the socket,
+ * otherwise they are sent over TCP. If a resolution snapshot is configured,
+ * answers already published by another client are read from the snapshot
+ * instead of being requested from the server.
  */
 @SuppressWarnings("unchecked")
 @Internal
@@ -50,107 +61,336 @@ public class DefaultTestResourcesClient implements TestResourcesClient {
     private static final String CLOSE_ALL_URI = "/close/all";
     private static final String CLOSE_URI = "/close";
     private static final String RESOLVE_URI = "/resolve";
+    private static final String PING_URI = "/ping";
     private static final Argument<List<String>> LIST_OF_STRING = Argument.LIST_OF_STRING;
     private static final Argument<String> STRING = Argument.STRING;
     private static final Argument<Boolean> BOOLEAN = Argument.BOOLEAN;
+    private static final Argument<SimpleJsonErrorModel> ERROR_MODEL = Argument.of(SimpleJsonErrorModel.class);
+    private static final String JSON = "application/json";
+    private static final String ETAG = "ETag";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String PREFER = "Prefer";
+    private static final String LOCATION = "Location";
+    private static final String REQUIRED_PROPERTIES_RESOLVED = "Required-Properties-Resolved";
+    private static final int MAX_WAIT_SECONDS = 30;
+    private static final int MAX_CONDITIONAL_RESPONSES = 128;
     private static final String INTERNAL_SERVER_ERROR = "Internal Server Error";
     private static final String INTERNAL_SERVER_ERROR_PREFIX = INTERNAL_SERVER_ERROR + ": ";    
 
     private final JsonMapper jsonMapper;
     private final String baseUri;
-    private final HttpClient client;
+    private final Transport httpTransport;
+    private volatile Transport transport;
+    private volatile boolean binary = true;
+    private volatile boolean resolvesRequiredProperties;
+    private final ResolutionSnapshot snapshot;
+    private final Map<CacheKey, ConditionalResponse> conditionalResponses = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, ConditionalResponse> eldest) {
+            return size() > MAX_CONDITIONAL_RESPONSES;
+        }
+    });
+    private final ClientMetrics metrics = ClientMetrics.get();
 
     private final String accessToken;
-    private final Duration clientTimeout;
+    private final String preferAsync;
 
     public DefaultTestResourcesClient(String baseUri, String accessToken, int clientReadTimeout) {
+        this(baseUri, accessToken, clientReadTimeout, null);
+    }
+
+    /**
+     * Creates a new client.
+     *
+     * @param baseUri the base URI of the server
+     * @param accessToken the access token, if any
+     * @param clientReadTimeout the read timeout, in seconds
+     * @param socketPath the Unix domain socket the server listens to, if any
+     * @since 2.8.0
+     */
+    public DefaultTestResourcesClient(String baseUri, String accessToken, int clientReadTimeout, @Nullable Path socketPath) {
+        this(baseUri, accessToken, clientReadTimeout, socketPath, null);
+    }
+
+    /**
+     * Creates a new client which shares the answers of the server with
+     * other JVMs through a snapshot file.
+     *
+     * @param baseUri the base URI of the server
+     * @param accessToken the access token, if any
+     * @param clientReadTimeout the read timeout, in seconds
+     * @param socketPath the Unix domain socket the server listens to, if any
+     * @param snapshotPath the resolution snapshot file, if any
+     * @since 2.8.0
+     */
+    public DefaultTestResourcesClient(String baseUri,
+                                      String accessToken,
+                                      int clientReadTimeout,
+                                      @Nullable Path socketPath,
+                                      @Nullable Path snapshotPath) {
         this.baseUri = baseUri;
-        clientTimeout = Duration.ofSeconds(clientReadTimeout);
-        this.client = HttpClient.newBuilder()
-            .connectTimeout(clientTimeout)
-            .build();
+        var clientTimeout = Duration.ofSeconds(clientReadTimeout);
+        this.httpTransport = new HttpClientTransport(baseUri, clientTimeout);
+        if (socketPath != null && Files.exists(socketPath)) {
+            this.transport = new UnixDomainSocketTransport(socketPath, clientTimeout);
+        } else {
+            this.transport = httpTransport;
+        }
+        this.snapshot = snapshotPath == null ? null : ResolutionSnapshot.of(snapshotPath).orElse(null);
         this.accessToken = accessToken;
+        // Resolutions which outlast half of the read timeout are awaited by polling the server
+        this.preferAsync = "respond-async, wait=" + Math.max(1, Math.min(MAX_WAIT_SECONDS, clientReadTimeout / 2));
         this.jsonMapper = JsonMapper.createDefault();
+        if (snapshot != null) {
+            // Resolved values must be forgotten when the test resources which provided them go away
+            LifecycleEventListener.register(baseUri, accessToken, this);
+        }
     }
 
     @Override
     public List<String> getResolvableProperties(Map<String, Collection<String>> propertyEntries,
                                                 Map<String, Object> testResourcesConfig) {
+        var snapshotted = fromSnapshot(s -> s.resolvableProperties(propertyEntries, testResourcesConfig));
+        if (snapshotted.isPresent()) {
+            return snapshotted.get();
+        }
         Map<String, Object> properties = new HashMap<>();
         properties.put("propertyEntries", propertyEntries);
         properties.put("testResourcesConfig", testResourcesConfig);
-        return request(RESOLVABLE_PROPERTIES_URI, LIST_OF_STRING,
-            r -> POST(r, properties)
-        );
+        List<String> resolvable = request(RESOLVABLE_PROPERTIES_URI, LIST_OF_STRING, properties, true);
+        if (snapshot != null && resolvable != null) {
+            snapshot.publishResolvableProperties(propertyEntries, testResourcesConfig, resolvable);
+        }
+        return resolvable;
     }
 
     @Override
     public Optional<String> resolve(String name, Map<String, Object> properties,
                                     Map<String, Object> testResourcesConfig) {
+        var snapshotted = fromSnapshot(s -> s.resolved(name, properties, testResourcesConfig));
+        if (snapshotted.isPresent()) {
+            return snapshotted;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", name);
+        params.put("properties", properties);
+        params.put("testResourcesConfig", testResourcesConfig);
+        var resolved = Optional.ofNullable(request(RESOLVE_URI, STRING, params));
+        resolved.ifPresent(value -> publishResolved(name, properties, testResourcesConfig, value));
+        return resolved;
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> resolveAsync(String name, Map<String, Object> properties,
+                                                            Map<String, Object> testResourcesConfig) {
+        return resolveAsync(name, properties, testResourcesConfig, false);
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> prefetchAsync(String name, Map<String, Object> properties,
+                                                             Map<String, Object> testResourcesConfig) {
+        return resolveAsync(name, properties, testResourcesConfig, true);
+    }
+
+    private CompletableFuture<Optional<String>> resolveAsync(String name, Map<String, Object> properties,
+                                                             Map<String, Object> testResourcesConfig,
+                                                             boolean prefetch) {
+        var snapshotted = fromSnapshot(s -> s.resolved(name, properties, testResourcesConfig));
+        if (snapshotted.isPresent()) {
+            return CompletableFuture.completedFuture(snapshotted);
+        }
         Map<String, Object> params = new HashMap<>();
         params.put("name", name);
         params.put("properties", properties);
         params.put("testResourcesConfig", testResourcesConfig);
-        return Optional.ofNullable(request(RESOLVE_URI, STRING, r -> POST(r, params)));
+        if (prefetch) {
+            // The server keeps starting the test resources even if this client goes away
+            params.put("prefetch", true);
+        }
+        return requestAsync(RESOLVE_URI, STRING, params)
+            .thenApply(Optional::ofNullable)
+            .thenApply(resolved -> {
+                resolved.ifPresent(value -> publishResolved(name, properties, testResourcesConfig, value));
+                return resolved;
+            });
+    }
+
+    @Override
+    public boolean resolvesRequiredProperties() {
+        return resolvesRequiredProperties;
     }
 
     @Override
     public List<String> getRequiredProperties(String expression) {
-        return request(REQUIRED_PROPERTIES_URI + "/" + expression, LIST_OF_STRING, this::GET);
+        var snapshotted = fromSnapshot(s -> s.requiredProperties(expression));
+        if (snapshotted.isPresent()) {
+            return snapshotted.get();
+        }
+        List<String> required = request(REQUIRED_PROPERTIES_URI + "/" + expression, LIST_OF_STRING, null, true);
+        publishRequiredProperties(expression, required);
+        return required;
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getRequiredPropertiesAsync(String expression) {
+        var snapshotted = fromSnapshot(s -> s.requiredProperties(expression));
+        if (snapshotted.isPresent()) {
+            return CompletableFuture.completedFuture(snapshotted.get());
+        }
+        return requestAsync(REQUIRED_PROPERTIES_URI + "/" + expression, LIST_OF_STRING, null, true)
+            .thenApply(required -> {
+                publishRequiredProperties(expression, required);
+                return required;
+            });
     }
 
     @Override
     public List<String> getRequiredPropertyEntries() {
-        return request(REQUIRED_PROPERTY_ENTRIES_URI, LIST_OF_STRING, this::GET);
+        var snapshotted = fromSnapshot(ResolutionSnapshot::requiredPropertyEntries);
+        if (snapshotted.isPresent()) {
+            return snapshotted.get();
+        }
+        List<String> entries = request(REQUIRED_PROPERTY_ENTRIES_URI, LIST_OF_STRING, null, true);
+        if (snapshot != null && entries != null) {
+            snapshot.publishRequiredPropertyEntries(entries);
+        }
+        return entries;
+    }
+
+    @Override
+    public boolean ping() {
+        if (request(PING_URI, BOOLEAN, null) == null) {
+            // The server predates the ping endpoint
+            getResolvableProperties();
+        }
+        return true;
     }
 
     @Override
     public boolean closeAll() {
-        return request(CLOSE_ALL_URI, BOOLEAN, this::GET);
+        boolean closed = request(CLOSE_ALL_URI, BOOLEAN, null);
+        if (snapshot != null) {
+            snapshot.closeAll();
+        }
+        return closed;
     }
 
     @Override
     public boolean closeScope(@Nullable String id) {
-        return request(CLOSE_URI + "/" + id, BOOLEAN, this::GET);
+        boolean closed = request(CLOSE_URI + "/" + id, BOOLEAN, null);
+        if (snapshot != null) {
+            snapshot.closeScope(id);
+        }
+        return closed;
     }
 
-    @SuppressWarnings({"java:S100", "checkstyle:MethodName"})
-    private void POST(HttpRequest.Builder request, Object o) {
-        request.POST(HttpRequest.BodyPublishers.ofByteArray(writeValueAsBytes(o)));
+    private <T> Optional<T> fromSnapshot(Function<ResolutionSnapshot, Optional<T>> lookup) {
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        var snapshotted = lookup.apply(snapshot);
+        metrics.recordCacheAccess(ClientMetrics.SNAPSHOT_CACHE, snapshotted.isPresent());
+        return snapshotted;
     }
 
-    @SuppressWarnings({"java:S100", "checkstyle:MethodName"})
-    private void GET(HttpRequest.Builder request) {
-        request.GET();
+    private void publishResolved(String name, Map<String, Object> properties, Map<String, Object> testResourcesConfig, String value) {
+        if (snapshot != null) {
+            snapshot.publishResolved(name, properties, testResourcesConfig, value);
+        }
     }
 
-    private <T> T request(String path, Argument<T> type,
-                          Consumer<? super HttpRequest.Builder> config) {
-        var request = HttpRequest.newBuilder()
-            .uri(uri(path))
-            .timeout(clientTimeout);
-        request = request.header("User-Agent", "Micronaut Test Resources Client")
-            .header("Content-Type", "application/json")
-            .header("Accept", "application/json");
-        if (accessToken != null) {
-            request = request.header(ACCESS_TOKEN, accessToken);
+    private void publishRequiredProperties(String expression, @Nullable List<String> required) {
+        if (snapshot != null && required != null) {
+            snapshot.publishRequiredProperties(expression, required);
+        }
+    }
+
+    /**
+     * Forgets the values resolved in a scope, because its test
+     * resources were closed or stopped.
+     *
+     * @param scope the scope
+     */
+    void invalidateScope(@Nullable String scope) {
+        if (snapshot != null) {
+            snapshot.closeScope(scope);
+        }
+    }
+
+    /**
+     * Binds the resolution snapshot to the server this client talks
+     * to, so that answers of a previous server are ignored.
+     *
+     * @param serverId the id of the server
+     */
+    void bindToServer(String serverId) {
+        if (snapshot != null) {
+            snapshot.bindTo(serverId);
+        }
+    }
+
+    /**
+     * Forgets all cached values.
+     */
+    void invalidateAll() {
+        conditionalResponses.clear();
+        if (snapshot != null) {
+            snapshot.closeAll();
         }
-        config.accept(request);
+    }
+
+    /**
+     * Performs a request. If a payload is provided, then it is
+     * sent as the body of a <code>POST</code> request, otherwise
+     * a <code>GET</code> request is sent.
+     * Payloads are encoded using the binary wire format, unless the
+     * server doesn't support it, in which case JSON is used.
+     */
+    private <T> T request(String path, Argument<T> type, @Nullable Object payload) {
+        return request(path, type, payload, false);
+    }
+
+    /**
+     * Performs a request. If the request is conditional, then the
+     * response is cached along with its entity tag, and the next
+     * identical request asks the server to only send the response
+     * if it changed.
+     */
+    private <T> T request(String path, Argument<T> type, @Nullable Object payload, boolean conditional) {
+        long start = System.nanoTime();
         try {
-            var response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
-            var body = response.body();
-            if (response.statusCode() == 200) {
-                if (STRING.equalsType(type)) {
-                    return (T) body;
+            return exchange(path, type, payload, conditional);
+        } finally {
+            metrics.recordLatency(endpointOf(path), System.nanoTime() - start, true);
+        }
+    }
+
+    private <T> T exchange(String path, Argument<T> type, @Nullable Object payload, boolean conditional) {
+        return exchange(path, type, payload, conditional ? new CacheKey(path, payload) : null, true);
+    }
+
+    private <T> T exchange(String path, Argument<T> type, @Nullable Object payload, @Nullable CacheKey cacheKey, boolean revalidate) {
+        boolean useBinary = binary && payload != null;
+        var cached = cacheKey != null && revalidate ? conditionalResponses.get(cacheKey) : null;
+        var headers = headersFor(path, useBinary, cached);
+        try (var response = send(path, headers, bodyOf(payload, useBinary))) {
+            if (response.statusCode() == 415 && useBinary) {
+                // The server predates the binary wire format
+                binary = false;
+                return exchange(path, type, payload, cacheKey, revalidate);
+            }
+            if (response.statusCode() == 202) {
+                return awaitOperation(locationOf(response), headers, type, () -> exchange(path, type, payload, cacheKey, revalidate));
+            }
+            if (response.statusCode() == 304 && cacheKey != null && revalidate) {
+                if (cached == null) {
+                    // This client doesn't know the response the server refers to
+                    return exchange(path, type, payload, cacheKey, false);
                 }
-                return jsonMapper.readValue(body, type);
-            } else if (response.statusCode() == 500) {
-                return handleError(jsonMapper.readValue(body, SimpleJsonErrorModel.class));
-            } else if (response.statusCode() == 404) {
-                return null;
+                metrics.recordCacheAccess(ClientMetrics.CONDITIONAL_CACHE, true);
+                return (T) cached.value();
             }
-            throw new TestResourcesException(
-                "Unexpected response code: " + response.statusCode() + " " + body);
+            return readResponse(response, type, cacheKey);
         } catch (ConnectException e) {
             throw new TestResourcesException("Test resource service is not available at " + baseUri, e);
         } catch (IOException e) {
@@ -161,6 +401,229 @@ public class DefaultTestResourcesClient implements TestResourcesClient {
         }
     }
 
+    /**
+     * Performs a request without blocking the calling thread. The
+     * returned future fails with a {@link TestResourcesException} if
+     * the request cannot be performed.
+     */
+    private <T> CompletableFuture<T> requestAsync(String path, Argument<T> type, @Nullable Object payload) {
+        return requestAsync(path, type, payload, false);
+    }
+
+    private <T> CompletableFuture<T> requestAsync(String path, Argument<T> type, @Nullable Object payload, boolean conditional) {
+        long start = System.nanoTime();
+        return exchangeAsync(path, type, payload, conditional)
+            .whenComplete((value, error) -> metrics.recordLatency(endpointOf(path), System.nanoTime() - start, false));
+    }
+
+    private <T> CompletableFuture<T> exchangeAsync(String path, Argument<T> type, @Nullable Object payload, boolean conditional) {
+        return exchangeAsync(path, type, payload, conditional ? new CacheKey(path, payload) : null, true);
+    }
+
+    private <T> CompletableFuture<T> exchangeAsync(String path,
+                                                   Argument<T> type,
+                                                   @Nullable Object payload,
+                                                   @Nullable CacheKey cacheKey,
+                                                   boolean revalidate) {
+        boolean useBinary = binary && payload != null;
+        var cached = cacheKey != null && revalidate ? conditionalResponses.get(cacheKey) : null;
+        var headers = headersFor(path, useBinary, cached);
+        return sendAsync(path, headers, bodyOf(payload, useBinary))
+            .thenCompose(response -> {
+                try (response) {
+                    if (response.statusCode() == 415 && useBinary) {
+                        binary = false;
+                        return exchangeAsync(path, type, payload, cacheKey, revalidate);
+                    }
+                    if (response.statusCode() == 202) {
+                        return awaitOperationAsync(locationOf(response), headers, type, () -> exchangeAsync(path, type, payload, cacheKey, revalidate));
+                    }
+                    if (response.statusCode() == 304 && cacheKey != null && revalidate) {
+                        if (cached == null) {
+                            // This client doesn't know the response the server refers to
+                            return exchangeAsync(path, type, payload, cacheKey, false);
+                        }
+                        metrics.recordCacheAccess(ClientMetrics.CONDITIONAL_CACHE, true);
+                        return CompletableFuture.completedFuture((T) cached.value());
+                    }
+                    return CompletableFuture.completedFuture(readResponse(response, type, cacheKey));
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            })
+            .exceptionallyCompose(e -> CompletableFuture.failedFuture(toTestResourcesException(e)));
+    }
+
+    /**
+     * Polls an operation which the server accepted for asynchronous
+     * processing, until it completes. Each poll is a long poll which
+     * returns as soon as the operation completes. If the server forgot
+     * about the operation, for example because it restarted, then the
+     * original request is performed again.
+     */
+    private <T> T awaitOperation(String location, Map<String, String> headers, Argument<T> type, Supplier<T> retry) throws IOException, InterruptedException {
+        while (true) {
+            try (var response = send(location, headers, null)) {
+                if (response.statusCode() == 410) {
+                    return retry.get();
+                }
+                if (response.statusCode() != 202) {
+                    return readResponse(response, type);
+                }
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> awaitOperationAsync(String location,
+                                                         Map<String, String> headers,
+                                                         Argument<T> type,
+                                                         Supplier<CompletableFuture<T>> retry) {
+        return sendAsync(location, headers, null).thenCompose(response -> {
+            try (response) {
+                if (response.statusCode() == 410) {
+                    return retry.get();
+                }
+                if (response.statusCode() == 202) {
+                    return awaitOperationAsync(location, headers, type, retry);
+                }
+                return CompletableFuture.completedFuture(readResponse(response, type));
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private static String locationOf(Transport.Response response) {
+        var location = response.header(LOCATION)
+            .orElseThrow(() -> new TestResourcesException("Test resources server accepted the request without telling where to await the result"));
+        var uri = URI.create(location);
+        return uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+    }
+
+    private Map<String, String> headersFor(String path, boolean useBinary, @Nullable ConditionalResponse cached) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("User-Agent", "Micronaut Test Resources Client");
+        headers.put("Content-Type", useBinary ? CborCodec.MEDIA_TYPE : JSON);
+        headers.put("Accept", useBinary ? CborCodec.MEDIA_TYPE + ", " + JSON : JSON);
+        if (accessToken != null) {
+            headers.put(ACCESS_TOKEN, accessToken);
+        }
+        if (RESOLVE_URI.equals(path)) {
+            // Starting a container may take longer than the read timeout
+            headers.put(PREFER, preferAsync);
+        }
+        if (cached != null) {
+            headers.put(IF_NONE_MATCH, cached.entityTag());
+        }
+        return headers;
+    }
+
+    @Nullable
+    private byte[] bodyOf(@Nullable Object payload, boolean useBinary) {
+        if (payload == null) {
+            return null;
+        }
+        return useBinary ? CborCodec.encode(payload) : writeValueAsBytes(payload);
+    }
+
+    private <T> T readResponse(Transport.Response response, Argument<T> type, @Nullable CacheKey cacheKey) throws IOException {
+        if (cacheKey == null) {
+            return readResponse(response, type);
+        }
+        metrics.recordCacheAccess(ClientMetrics.CONDITIONAL_CACHE, false);
+        T value = readResponse(response, type);
+        if (response.statusCode() == 200) {
+            response.header(ETAG).ifPresent(entityTag -> conditionalResponses.put(cacheKey.detached(), new ConditionalResponse(entityTag, value)));
+        }
+        return value;
+    }
+
+    /**
+     * Returns the endpoint a request is sent to, without its path variables.
+     */
+    private static String endpointOf(String path) {
+        if (path.startsWith(REQUIRED_PROPERTIES_URI + "/")) {
+            return REQUIRED_PROPERTIES_URI + "/{expression}";
+        }
+        if (path.startsWith(CLOSE_URI + "/") && !path.equals(CLOSE_ALL_URI)) {
+            return CLOSE_URI + "/{id}";
+        }
+        return path;
+    }
+
+    private <T> T readResponse(Transport.Response response, Argument<T> type) throws IOException {
+        if (response.header(REQUIRED_PROPERTIES_RESOLVED).isPresent()) {
+            resolvesRequiredProperties = true;
+        }
+        var body = response.body();
+        if (response.statusCode() == 200) {
+            if (response.header("Content-Type").filter(t -> t.startsWith(CborCodec.MEDIA_TYPE)).isPresent()) {
+                return fromBinary(CborCodec.decode(body), type);
+            }
+            if (STRING.equalsType(type)) {
+                return (T) new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            return jsonMapper.readValue(body, type);
+        } else if (response.statusCode() == 500) {
+            return handleError(jsonMapper.readValue(body, ERROR_MODEL));
+        } else if (response.statusCode() == 404) {
+            return null;
+        }
+        throw new TestResourcesException(
+            "Unexpected response code: " + response.statusCode() + " " + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private TestResourcesException toTestResourcesException(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof TestResourcesException ex) {
+            return ex;
+        }
+        if (cause instanceof ConnectException) {
+            return new TestResourcesException("Test resource service is not available at " + baseUri, cause);
+        }
+        return new TestResourcesException(cause);
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static <T> T fromBinary(Object value, Argument<T> type) {
+        if (LIST_OF_STRING.equalsType(type) && value instanceof List<?> list) {
+            return (T) list.stream().map(String::valueOf).toList();
+        }
+        return (T) value;
+    }
+
+    private Transport.Response send(String path, Map<String, String> headers, @Nullable byte[] body) throws IOException, InterruptedException {
+        Transport current = transport;
+        try {
+            return current.send(path, headers, body);
+        } catch (ConnectException e) {
+            if (current == httpTransport) {
+                throw e;
+            }
+            // The socket file is stale, but the server may still listen on TCP
+            transport = httpTransport;
+            return httpTransport.send(path, headers, body);
+        }
+    }
+
+    private CompletableFuture<Transport.Response> sendAsync(String path, Map<String, String> headers, @Nullable byte[] body) {
+        Transport current = transport;
+        return current.sendAsync(path, headers, body).exceptionallyCompose(e -> {
+            if (current != httpTransport && unwrap(e) instanceof ConnectException) {
+                transport = httpTransport;
+                return httpTransport.sendAsync(path, headers, body);
+            }
+            return CompletableFuture.failedFuture(e);
+        });
+    }
+
     private <T> T handleError(SimpleJsonErrorModel model) {
         var allErrors = new LinkedHashSet<String>();
         collectErrors(model, allErrors);
@@ -196,14 +659,6 @@ public class DefaultTestResourcesClient implements TestResourcesClient {
         return Optional.of(message);
     }
 
-    private URI uri(String path) {
-        try {
-            return new URI(baseUri + path);
-        } catch (URISyntaxException e) {
-            throw new TestResourcesException(e);
-        }
-    }
-
     private byte[] writeValueAsBytes(Object o) {
         try {
             return jsonMapper.writeValueAsBytes(o);
@@ -212,4 +667,40 @@ public class DefaultTestResourcesClient implements TestResourcesClient {
         }
     }
 
+    private record ConditionalResponse(String entityTag, Object value) {
+    }
+
+    /**
+     * Identifies a conditional request by its path and payload. Payloads
+     * are compared by value, which is much cheaper than fingerprinting
+     * them for each request.
+     */
+    private record CacheKey(String path, @Nullable Object payload) {
+        /**
+         * Returns a copy of this key which isn't affected by later
+         * changes to the payload of the request.
+         */
+        CacheKey detached() {
+            return new CacheKey(path, copyOf(payload));
+        }
+
+        private static Object copyOf(@Nullable Object value) {
+            if (value instanceof Map<?, ?> map) {
+                Map<Object, Object> copy = new LinkedHashMap<>();
+                map.forEach((k, v) -> copy.put(k, copyOf(v)));
+                return Collections.unmodifiableMap(copy);
+            }
+            if (value instanceof Set<?> set) {
+                Set<Object> copy = new LinkedHashSet<>();
+                set.forEach(e -> copy.add(copyOf(e)));
+                return Collections.unmodifiableSet(copy);
+            }
+            if (value instanceof List<?> list) {
+                List<Object> copy = new ArrayList<>();
+                list.forEach(e -> copy.add(copyOf(e)));
+                return Collections.unmodifiableList(copy);
+            }
+            return value;
+        }
+    }
 }
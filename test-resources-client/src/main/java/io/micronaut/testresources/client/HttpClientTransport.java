@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.client;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A transport which talks to the server over TCP, using the JDK HTTP client.
+ * Response bodies of blocking requests are streamed, so that they can be
+ * decoded while they are received.
+ */
+final class HttpClientTransport implements Transport {
+    private final String baseUri;
+    private final HttpClient client;
+    private final Duration timeout;
+
+    HttpClientTransport(String baseUri, Duration timeout) {
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .build();
+    }
+
+    @Override
+    public Response send(String path, Map<String, String> headers, @Nullable byte[] body) throws IOException, InterruptedException {
+        var response = client.send(request(path, headers, body), HttpResponse.BodyHandlers.ofInputStream());
+        return new Response(response.statusCode(), headersOf(response), response.body());
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(String path, Map<String, String> headers, @Nullable byte[] body) {
+        // The body is buffered so that decoding it never blocks a thread of the client
+        return client.sendAsync(request(path, headers, body), HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(response -> new Response(response.statusCode(), headersOf(response), new ByteArrayInputStream(response.body())));
+    }
+
+    private HttpRequest request(String path, Map<String, String> headers, @Nullable byte[] body) {
+        var request = HttpRequest.newBuilder()
+            .uri(uri(path))
+            .timeout(timeout);
+        headers.forEach(request::header);
+        if (body == null) {
+            request.GET();
+        } else {
+            request.POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        }
+        return request.build();
+    }
+
+    private static Map<String, String> headersOf(HttpResponse<?> response) {
+        Map<String, String> responseHeaders = new HashMap<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!values.isEmpty()) {
+                responseHeaders.put(name.toLowerCase(Locale.ROOT), values.get(0));
+            }
+        });
+        return responseHeaders;
+    }
+
+    private URI uri(String path) {
+        try {
+            return new URI(baseUri + path);
+        } catch (URISyntaxException e) {
+            throw new TestResourcesException(e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.client;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Listens to the lifecycle events streamed by the server, and invalidates
+ * the caches of the clients which talk to this server when test resources
+ * are closed, when a container stopped, or when the server restarted.
+ *
+ * Events carry a generation number which the server increments for each
+ * event. If the listener detects that it missed events, because the
+ * connection was lost or because the server restarted, then it invalidates
+ * all caches.
+ *
+ * There's a single listener per server, which holds clients weakly, and
+ * which stops once all its clients are garbage collected.
+ */
+final class LifecycleEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LifecycleEventListener.class);
+
+    private static final Map<String, LifecycleEventListener> LISTENERS = new ConcurrentHashMap<>();
+    private static final ExecutorService CONNECTIONS = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "test-resources-client-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ScheduledExecutorService RECONNECTIONS = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "test-resources-client-events-reconnect");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final String EVENTS_URI = "/events";
+    private static final String HEARTBEAT = "heartbeat";
+    private static final String SCOPE_CLOSED = "scope-closed";
+    private static final String CONTAINER_STOPPED = "container-stopped";
+    private static final Duration MIN_RECONNECT_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+
+    private final String baseUri;
+    private final String accessToken;
+    private final Set<DefaultTestResourcesClient> clients = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final JsonMapper jsonMapper = JsonMapper.createDefault();
+
+    private String serverId;
+    private long generation = -1;
+    private Duration reconnectDelay = MIN_RECONNECT_DELAY;
+
+    private LifecycleEventListener(String baseUri, @Nullable String accessToken) {
+        this.baseUri = baseUri;
+        this.accessToken = accessToken;
+    }
+
+    /**
+     * Registers a client, so that its caches are invalidated when the
+     * server sends lifecycle events.
+     *
+     * @param baseUri the base URI of the server
+     * @param accessToken the access token, if any
+     * @param client the client to register
+     */
+    static void register(String baseUri, @Nullable String accessToken, DefaultTestResourcesClient client) {
+        LISTENERS.compute(baseUri, (uri, existing) -> {
+            var listener = existing;
+            if (listener == null) {
+                listener = new LifecycleEventListener(uri, accessToken);
+                listener.clients.add(client);
+                CONNECTIONS.execute(listener::listen);
+            } else {
+                listener.clients.add(client);
+            }
+            return listener;
+        });
+    }
+
+    /**
+     * Connects to the event stream and processes events until the
+     * connection is lost, in which case a reconnection is scheduled.
+     */
+    private void listen() {
+        if (clients.isEmpty()) {
+            LISTENERS.remove(baseUri, this);
+            return;
+        }
+        var request = HttpRequest.newBuilder(URI.create(baseUri + EVENTS_URI))
+            .header("Accept", "text/event-stream");
+        if (accessToken != null) {
+            request.header(DefaultTestResourcesClient.ACCESS_TOKEN, accessToken);
+        }
+        try {
+            var response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+            if (response.statusCode() == 404) {
+                // The server predates lifecycle events
+                response.body().close();
+                LISTENERS.remove(baseUri, this);
+                return;
+            }
+            if (response.statusCode() == 200) {
+                reconnectDelay = MIN_RECONNECT_DELAY;
+                try (Stream<String> lines = response.body()) {
+                    readEvents(lines);
+                }
+            } else {
+                response.body().close();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Lost connection to the test resources event stream", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // Events may have been missed while disconnected
+        generation = -1;
+        RECONNECTIONS.schedule(() -> CONNECTIONS.execute(this::listen), reconnectDelay.toMillis(), TimeUnit.MILLISECONDS);
+        Duration nextDelay = reconnectDelay.multipliedBy(2);
+        reconnectDelay = nextDelay.compareTo(MAX_RECONNECT_DELAY) > 0 ? MAX_RECONNECT_DELAY : nextDelay;
+    }
+
+    private void readEvents(Stream<String> lines) {
+        var data = new StringBuilder();
+        var iterator = lines.iterator();
+        while (iterator.hasNext() && !clients.isEmpty()) {
+            String line = iterator.next();
+            if (line.isEmpty()) {
+                if (!data.isEmpty()) {
+                    onEvent(data.toString());
+                    data.setLength(0);
+                }
+            } else if (line.startsWith("data:")) {
+                if (!data.isEmpty()) {
+                    data.append('\n');
+                }
+                data.append(line.substring("data:".length()).trim());
+            }
+        }
+    }
+
+    private void onEvent(String data) {
+        Map<String, Object> event;
+        try {
+            event = jsonMapper.readValue(data, Argument.mapOf(String.class, Object.class));
+        } catch (IOException e) {
+            LOGGER.debug("Ignoring invalid event {}", data, e);
+            return;
+        }
+        String eventServerId = String.valueOf(event.get("serverId"));
+        long eventGeneration = ((Number) event.getOrDefault("generation", -1L)).longValue();
+        String type = String.valueOf(event.get("type"));
+        boolean heartbeat = HEARTBEAT.equals(type);
+        long expectedGeneration = heartbeat ? generation : generation + 1;
+        if (!eventServerId.equals(serverId)) {
+            forEachClient(client -> client.bindToServer(eventServerId));
+        }
+        if (serverId != null && (!serverId.equals(eventServerId) || eventGeneration != expectedGeneration)) {
+            LOGGER.debug("Missed test resources events, invalidating all caches");
+            forEachClient(DefaultTestResourcesClient::invalidateAll);
+        } else if (!heartbeat && serverId != null) {
+            var scope = (String) event.get("scope");
+            if (SCOPE_CLOSED.equals(type) || CONTAINER_STOPPED.equals(type)) {
+                forEachClient(client -> client.invalidateScope(scope));
+            } else {
+                forEachClient(DefaultTestResourcesClient::invalidateAll);
+            }
+        }
+        serverId = eventServerId;
+        generation = eventGeneration;
+    }
+
+    private void forEachClient(Consumer<DefaultTestResourcesClient> action) {
+        List<DefaultTestResourcesClient> current;
+        synchronized (clients) {
+            current = List.copyOf(clients);
+        }
+        current.forEach(action);
+    }
+}
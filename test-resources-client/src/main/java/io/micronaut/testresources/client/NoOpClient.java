@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 class NoOpClient implements TestResourcesClient {
     static final TestResourcesClient INSTANCE = new NoOpClient();
@@ -38,6 +39,12 @@ class NoOpClient implements TestResourcesClient {
         return Optional.empty();
     }
 
+    @Override
+    public CompletableFuture<Optional<String>> resolveAsync(String name, Map<String, Object> properties,
+                                                            Map<String, Object> testResourcesConfig) {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
     @Override
     public List<String> getRequiredProperties(String expression) {
         return Collections.emptyList();
@@ -48,6 +55,11 @@ class NoOpClient implements TestResourcesClient {
         return Collections.emptyList();
     }
 
+    @Override
+    public boolean ping() {
+        return true;
+    }
+
     @Override
     public boolean closeAll() {
         return true;
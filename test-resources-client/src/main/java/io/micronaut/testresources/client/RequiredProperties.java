@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.client;
+
+import io.micronaut.core.value.PropertyResolver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static io.micronaut.testresources.core.PropertyResolverSupport.SERVER_RESOLVED_PROPERTIES;
+import static io.micronaut.testresources.core.PropertyResolverSupport.isSuppliedByTestResources;
+import static io.micronaut.testresources.core.PropertyResolverSupport.resolveRequiredProperties;
+
+/**
+ * Collects the values of the properties required to resolve an expression.
+ * Required properties which are themselves supplied by test resources are
+ * not resolved by the client, because it would take another round trip to
+ * the server: instead, they are listed in the
+ * {@link io.micronaut.testresources.core.PropertyResolverSupport#SERVER_RESOLVED_PROPERTIES}
+ * property, and the server resolves them while it resolves the expression.
+ */
+final class RequiredProperties {
+    private RequiredProperties() {
+
+    }
+
+    /**
+     * Returns the values of the required properties which are not
+     * supplied by test resources, along with the list of required
+     * properties which the server must resolve.
+     *
+     * @param requiredProperties the required properties
+     * @param propertyResolver the environment
+     * @return the values of the required properties
+     */
+    static Map<String, Object> of(List<String> requiredProperties, PropertyResolver propertyResolver) {
+        var serverResolved = requiredProperties.stream()
+            .filter(property -> isSuppliedByTestResources(propertyResolver, property))
+            .toList();
+        var properties = resolveRequiredProperties(requiredProperties, propertyResolver, property -> !serverResolved.contains(property));
+        if (serverResolved.isEmpty()) {
+            return properties;
+        }
+        Map<String, Object> withServerResolved = new HashMap<>(properties);
+        withServerResolved.put(SERVER_RESOLVED_PROPERTIES, serverResolved);
+        return Collections.unmodifiableMap(withServerResolved);
+    }
+
+    /**
+     * Resolves an expression, letting the server resolve the required
+     * properties supplied by test resources. If the expression cannot be
+     * resolved this way, and that the server didn't tell that it resolves
+     * required properties, which is the case of older servers, then all
+     * required properties are resolved by the client.
+     *
+     * @param requiredProperties the properties required by the expression
+     * @param propertyResolver the environment
+     * @param client the client which resolves the expression
+     * @param resolution resolves the expression given the values of the required properties
+     * @return the resolved value, if any
+     */
+    static Optional<String> resolve(List<String> requiredProperties,
+                                    PropertyResolver propertyResolver,
+                                    TestResourcesClient client,
+                                    Function<Map<String, Object>, Optional<String>> resolution) {
+        return resolve(of(requiredProperties, propertyResolver), requiredProperties, propertyResolver, client, resolution);
+    }
+
+    /**
+     * Resolves an expression, given the properties which were already
+     * collected by {@link #of(List, PropertyResolver)}.
+     *
+     * @param properties the values of the required properties
+     * @param requiredProperties the properties required by the expression
+     * @param propertyResolver the environment
+     * @param client the client which resolves the expression
+     * @param resolution resolves the expression given the values of the required properties
+     * @return the resolved value, if any
+     */
+    static Optional<String> resolve(Map<String, Object> properties,
+                                    List<String> requiredProperties,
+                                    PropertyResolver propertyResolver,
+                                    TestResourcesClient client,
+                                    Function<Map<String, Object>, Optional<String>> resolution) {
+        var resolved = resolution.apply(properties);
+        if (resolved.isEmpty() && properties.containsKey(SERVER_RESOLVED_PROPERTIES) && !client.resolvesRequiredProperties()) {
+            return resolution.apply(resolveRequiredProperties(requiredProperties, propertyResolver));
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.client;
+
+import io.micronaut.core.value.PropertyResolver;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.micronaut.testresources.core.PropertyResolverSupport.resolveRequiredProperties;
+
+/**
+ * Speculatively resolves all the properties which test resources can
+ * supply, as soon as they are known, so that test resources are started
+ * while the application context is initialized.
+ *
+ * Properties which don't have any required property are resolved as
+ * soon as the keys are produced. Others are resolved when the first
+ * property is resolved, because the values of their required properties
+ * are only known once the environment is fully loaded.
+ * A prefetched value is only used if it was resolved with the same
+ * required properties and configuration as the ones of the actual
+ * resolution, otherwise the property is resolved again.
+ *
+ * Prefetching is disabled by default. It can be enabled by setting the
+ * <code>test-resources.client.prefetch</code> property, or the
+ * <code>micronaut.test.resources.client.prefetch</code> system property,
+ * to <code>true</code>.
+ */
+final class ResolutionPrefetcher {
+    static final String PREFETCH = "client.prefetch";
+
+    private static final Map<PropertyResolver, ResolutionPrefetcher> PREFETCHERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final TestResourcesClient client;
+    private final Map<String, CompletableFuture<List<String>>> requirements = new ConcurrentHashMap<>();
+    private final Map<String, Resolution> resolutions = new ConcurrentHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private ResolutionPrefetcher(TestResourcesClient client) {
+        this.client = client;
+    }
+
+    static boolean isEnabled(Map<String, Object> testResourcesConfig) {
+        Object value = testResourcesConfig.get(PREFETCH);
+        if (value == null) {
+            value = System.getProperty(ConfigFinder.systemPropertyNameOf(PREFETCH));
+        }
+        return value != null && Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    /**
+     * Starts prefetching the values of the supplied keys.
+     *
+     * @param propertyResolver the environment the keys were produced for
+     * @param client the client
+     * @param keys the keys to prefetch
+     * @param testResourcesConfig the test resources configuration
+     */
+    static void register(PropertyResolver propertyResolver,
+                         TestResourcesClient client,
+                         List<String> keys,
+                         Map<String, Object> testResourcesConfig) {
+        var prefetcher = new ResolutionPrefetcher(client);
+        // Only the scope is known at this stage
+        Map<String, Object> properties = resolveRequiredProperties(List.of(), propertyResolver);
+        for (String key : keys) {
+            var required = client.getRequiredPropertiesAsync(key);
+            prefetcher.requirements.put(key, required);
+            required.thenAccept(requiredProperties -> {
+                if (requiredProperties.isEmpty()) {
+                    prefetcher.prefetch(key, properties, testResourcesConfig);
+                }
+            });
+        }
+        PREFETCHERS.put(propertyResolver, prefetcher);
+    }
+
+    static Optional<ResolutionPrefetcher> of(PropertyResolver propertyResolver) {
+        return Optional.ofNullable(PREFETCHERS.get(propertyResolver));
+    }
+
+    static Optional<ResolutionPrefetcher> remove(PropertyResolver propertyResolver) {
+        return Optional.ofNullable(PREFETCHERS.remove(propertyResolver));
+    }
+
+    /**
+     * Resolves an expression, waiting for the prefetched value if
+     * it can be used.
+     *
+     * @param expression the expression to resolve
+     * @param propertyResolver the environment
+     * @param testResourcesConfig the test resources configuration
+     * @return the resolved value, if any
+     */
+    Optional<String> resolve(String expression, PropertyResolver propertyResolver, Map<String, Object> testResourcesConfig) {
+        if (started.compareAndSet(false, true)) {
+            // Each property is prefetched as soon as its own requirements are known,
+            // instead of waiting for the requirements of all properties
+            requirements.forEach((key, required) -> required.thenAccept(requiredProperties ->
+                prefetch(key, RequiredProperties.of(requiredProperties, propertyResolver), testResourcesConfig)
+            ));
+        }
+        var required = requirements.get(expression);
+        List<String> requiredProperties = required == null ? client.getRequiredProperties(expression) : await(required);
+        var properties = RequiredProperties.of(requiredProperties, propertyResolver);
+        var resolution = resolutions.get(expression);
+        boolean prefetched = resolution != null && resolution.properties().equals(properties) && resolution.testResourcesConfig().equals(testResourcesConfig);
+        ClientMetrics.get().recordCacheAccess(ClientMetrics.PREFETCH_CACHE, prefetched);
+        return RequiredProperties.resolve(properties, requiredProperties, propertyResolver, client, resolvedProperties -> {
+            if (prefetched && resolvedProperties == properties) {
+                return await(resolution.result());
+            }
+            return client.resolve(expression, resolvedProperties, testResourcesConfig);
+        });
+    }
+
+    /**
+     * Waits for all the prefetched resolutions to complete, so that
+     * no test resource is started after they are closed.
+     */
+    void drain() {
+        long start = System.nanoTime();
+        for (Resolution resolution : resolutions.values()) {
+            resolution.result().exceptionally(e -> Optional.empty()).join();
+        }
+        ClientMetrics.get().recordWaiting(System.nanoTime() - start);
+    }
+
+    private void prefetch(String key, Map<String, Object> properties, Map<String, Object> testResourcesConfig) {
+        resolutions.computeIfAbsent(key, unused ->
+            new Resolution(properties, testResourcesConfig, client.prefetchAsync(key, properties, testResourcesConfig))
+        );
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        long start = System.nanoTime();
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TestResourcesException ex) {
+                throw ex;
+            }
+            throw new TestResourcesException(e.getCause());
+        } finally {
+            ClientMetrics.get().recordWaiting(System.nanoTime() - start);
+        }
+    }
+
+    private record Resolution(Map<String, Object> properties,
+                              Map<String, Object> testResourcesConfig,
+                              CompletableFuture<Optional<String>> result) {
+    }
+}
@@ -0,0 +1,493 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.client;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.testresources.core.CborCodec;
+import io.micronaut.testresources.core.Fingerprint;
+import io.micronaut.testresources.core.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * A snapshot of the answers of the test resources server, shared by
+ * all the JVMs which talk to the same server, so that forked test JVMs
+ * don't have to send requests for properties which were already resolved.
+ *
+ * The snapshot is a memory-mapped file of fixed size. It starts with a
+ * header which contains a magic number, a format version, a generation,
+ * the length of the data, an epoch and the id of the server the answers
+ * come from. The data is a log of CBOR encoded records, each of them
+ * prefixed with its length and CRC32 checksum. Updates append a record,
+ * so that neither writers nor readers have to decode the whole snapshot
+ * for each update. When the log is full, it is compacted and the epoch
+ * is incremented.
+ *
+ * Readers don't take any lock: they check the generation before and after
+ * copying the data, and discard the data if the generation changed, if it
+ * is odd (a write is in progress) or if a checksum doesn't match. Readers
+ * only decode the records appended since their last read, unless the epoch
+ * changed. Writers hold an exclusive lock on the file, and increment the
+ * generation before and after writing. The generation is accessed with
+ * acquire and release semantics, so that readers never see the data of a
+ * write without seeing the generation it started with.
+ *
+ * Answers of another server are ignored, and the file is mapped again if
+ * it is deleted or replaced, for example when the server is restarted.
+ */
+final class ResolutionSnapshot {
+    static final int CAPACITY = 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResolutionSnapshot.class);
+
+    private static final int MAGIC = 0x4d4e5452;
+    private static final int VERSION = 2;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int GENERATION_OFFSET = 8;
+    private static final int LENGTH_OFFSET = 16;
+    private static final int EPOCH_OFFSET = 20;
+    private static final int SERVER_ID_OFFSET = 24;
+    private static final int HEADER_SIZE = 48;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_READ_ATTEMPTS = 3;
+    private static final long FILE_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final UUID UNKNOWN_SERVER = new UUID(0, 0);
+    private static final VarHandle GENERATION = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final String PUT = "put";
+    private static final String CLOSE_SCOPE = "close-scope";
+    private static final String CLOSE_ALL = "close-all";
+
+    private static final String RESOLVED = "resolved";
+    private static final String REQUIRED_PROPERTIES = "required";
+    private static final String REQUIRED_PROPERTY_ENTRIES = "entries";
+    private static final String RESOLVABLE_PROPERTIES = "resolvable";
+    private static final String SEPARATOR = "\u0000";
+
+    private static final Map<Path, ResolutionSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private volatile Mapping mapping;
+    private volatile UUID serverId = UNKNOWN_SERVER;
+    private volatile Decoded decoded = Decoded.EMPTY;
+    private volatile long lastFileCheck = System.nanoTime();
+
+    ResolutionSnapshot(Path path) throws IOException {
+        this.path = path;
+        this.mapping = Mapping.open(path);
+    }
+
+    /**
+     * Returns the snapshot stored in the given file, creating the
+     * file if needed.
+     *
+     * @param path the snapshot file
+     * @return the snapshot, or empty if the file cannot be mapped
+     */
+    static Optional<ResolutionSnapshot> of(Path path) {
+        try {
+            return Optional.of(SNAPSHOTS.computeIfAbsent(path.toAbsolutePath(), p -> {
+                try {
+                    return new ResolutionSnapshot(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            LOGGER.debug("Unable to map resolution snapshot {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Binds this snapshot to a server. Answers published for another
+     * server are ignored, and discarded by the next update. Until it is
+     * bound, the snapshot trusts the answers in the file, which is deleted
+     * whenever a server is started or stopped.
+     *
+     * @param id the id of the server
+     */
+    void bindTo(String id) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            uuid = UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8));
+        }
+        serverId = uuid;
+    }
+
+    Optional<String> resolved(String name, Map<String, Object> properties, Map<String, Object> testResourcesConfig) {
+        return lookup(RESOLVED, resolvedKeyOf(name, properties, testResourcesConfig)).map(String::valueOf);
+    }
+
+    void publishResolved(String name, Map<String, Object> properties, Map<String, Object> testResourcesConfig, String value) {
+        publish(RESOLVED, resolvedKeyOf(name, properties, testResourcesConfig), value);
+    }
+
+    Optional<List<String>> requiredProperties(String expression) {
+        return lookup(REQUIRED_PROPERTIES, expression).map(ResolutionSnapshot::asList);
+    }
+
+    void publishRequiredProperties(String expression, List<String> requiredProperties) {
+        publish(REQUIRED_PROPERTIES, expression, requiredProperties);
+    }
+
+    Optional<List<String>> requiredPropertyEntries() {
+        return lookup(REQUIRED_PROPERTY_ENTRIES, "").map(ResolutionSnapshot::asList);
+    }
+
+    void publishRequiredPropertyEntries(List<String> entries) {
+        publish(REQUIRED_PROPERTY_ENTRIES, "", entries);
+    }
+
+    Optional<List<String>> resolvableProperties(Map<String, ?> propertyEntries, Map<String, Object> testResourcesConfig) {
+        return lookup(RESOLVABLE_PROPERTIES, Fingerprint.of(propertyEntries, testResourcesConfig)).map(ResolutionSnapshot::asList);
+    }
+
+    void publishResolvableProperties(Map<String, ?> propertyEntries, Map<String, Object> testResourcesConfig, List<String> resolvable) {
+        publish(RESOLVABLE_PROPERTIES, Fingerprint.of(propertyEntries, testResourcesConfig), resolvable);
+    }
+
+    /**
+     * Forgets the values resolved in a scope and its children,
+     * since the test resources which provided them are closed.
+     *
+     * @param id the scope id
+     */
+    void closeScope(@Nullable String id) {
+        Scope closed = Scope.of(id);
+        if (read().get(RESOLVED) instanceof Map<?, ?> resolved
+            && resolved.keySet().stream().anyMatch(key -> closed.includes(scopeOf(String.valueOf(key))))) {
+            append(Arrays.asList(CLOSE_SCOPE, id));
+        }
+    }
+
+    /**
+     * Forgets all the resolved values.
+     */
+    void closeAll() {
+        if (read().containsKey(RESOLVED)) {
+            append(List.of(CLOSE_ALL));
+        }
+    }
+
+    private Optional<Object> lookup(String section, String key) {
+        if (read().get(section) instanceof Map<?, ?> entries) {
+            return Optional.ofNullable(entries.get(key));
+        }
+        return Optional.empty();
+    }
+
+    private void publish(String section, String key, Object value) {
+        if (!Objects.equals(lookup(section, key).orElse(null), value)) {
+            append(List.of(PUT, section, key, value));
+        }
+    }
+
+    private Map<String, Object> read() {
+        Mapping current = current();
+        ByteBuffer buffer = current.buffer();
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            long generation = (long) GENERATION.getAcquire(buffer, GENERATION_OFFSET);
+            if ((generation & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            Decoded previous = decoded;
+            if (previous.mapping() == current && previous.generation() == generation) {
+                return previous.data();
+            }
+            Decoded next = decode(current, generation, previous);
+            // The data must be read before the generation is checked again
+            VarHandle.acquireFence();
+            if ((long) GENERATION.getAcquire(buffer, GENERATION_OFFSET) != generation) {
+                continue;
+            }
+            decoded = next;
+            return next.data();
+        }
+        return Map.of();
+    }
+
+    private Decoded decode(Mapping current, long generation, Decoded previous) {
+        ByteBuffer buffer = current.buffer();
+        int length = buffer.getInt(LENGTH_OFFSET);
+        if (!hasValidHeader(buffer) || !isOwnedByBoundServer(buffer) || length < 0 || length > CAPACITY - HEADER_SIZE) {
+            return new Decoded(current, generation, -1, 0, Map.of());
+        }
+        int epoch = buffer.getInt(EPOCH_OFFSET);
+        boolean incremental = previous.mapping() == current && previous.epoch() == epoch && previous.length() <= length;
+        int start = incremental ? previous.length() : 0;
+        byte[] records = new byte[length - start];
+        buffer.get(HEADER_SIZE + start, records);
+        Map<String, Object> data = incremental ? copyOf(previous.data()) : new LinkedHashMap<>();
+        if (!applyRecords(records, data)) {
+            return new Decoded(current, generation, -1, 0, Map.of());
+        }
+        return new Decoded(current, generation, epoch, length, data);
+    }
+
+    private synchronized void append(List<?> record) {
+        Mapping current = current();
+        ByteBuffer buffer = current.buffer();
+        try (FileLock ignored = current.channel().lock()) {
+            long generation = (long) GENERATION.getAcquire(buffer, GENERATION_OFFSET);
+            int epoch = buffer.getInt(EPOCH_OFFSET);
+            int length = buffer.getInt(LENGTH_OFFSET);
+            boolean reset = !hasValidHeader(buffer) || !isOwnedByBoundServer(buffer) || length < 0 || length > CAPACITY - HEADER_SIZE;
+            if (!reset && (generation & 1) != 0) {
+                // A writer died while writing: the log is only kept if it is still readable
+                reset = !applyRecords(logOf(buffer, length), new LinkedHashMap<>());
+            }
+            byte[] encoded = recordOf(CborCodec.encode(record));
+            byte[] rewritten = null;
+            if (reset) {
+                rewritten = encoded;
+            } else if (length + encoded.length > CAPACITY - HEADER_SIZE) {
+                rewritten = compact(logOf(buffer, length), record);
+                if (rewritten.length > CAPACITY - HEADER_SIZE) {
+                    LOGGER.debug("Resolution snapshot is full, not publishing new values");
+                    return;
+                }
+            }
+            // An odd generation means that a writer died while writing
+            long writing = (generation & 1) == 0 ? generation + 1 : generation + 2;
+            GENERATION.setRelease(buffer, GENERATION_OFFSET, writing);
+            // The odd generation must be visible before any of the data is written
+            VarHandle.storeStoreFence();
+            if (rewritten == null) {
+                buffer.put(HEADER_SIZE + length, encoded);
+                buffer.putInt(LENGTH_OFFSET, length + encoded.length);
+            } else {
+                buffer.putInt(MAGIC_OFFSET, MAGIC);
+                buffer.putInt(VERSION_OFFSET, VERSION);
+                buffer.putInt(EPOCH_OFFSET, epoch + 1);
+                if (reset) {
+                    UUID owner = serverId;
+                    buffer.putLong(SERVER_ID_OFFSET, owner.getMostSignificantBits());
+                    buffer.putLong(SERVER_ID_OFFSET + 8, owner.getLeastSignificantBits());
+                }
+                buffer.put(HEADER_SIZE, rewritten);
+                buffer.putInt(LENGTH_OFFSET, rewritten.length);
+            }
+            GENERATION.setRelease(buffer, GENERATION_OFFSET, writing + 1);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to update resolution snapshot", e);
+        }
+    }
+
+    private Mapping current() {
+        long now = System.nanoTime();
+        if (now - lastFileCheck > FILE_CHECK_INTERVAL_NANOS) {
+            lastFileCheck = now;
+            remapIfReplaced();
+        }
+        return mapping;
+    }
+
+    private synchronized void remapIfReplaced() {
+        Mapping current = mapping;
+        try {
+            Object fileKey = fileKeyOf(path);
+            if (fileKey == null || fileKey.equals(current.fileKey())) {
+                return;
+            }
+        } catch (IOException e) {
+            // The file was deleted
+        }
+        try {
+            LOGGER.debug("Resolution snapshot {} was replaced, mapping it again", path);
+            mapping = Mapping.open(path);
+            decoded = Decoded.EMPTY;
+            current.close();
+        } catch (IOException e) {
+            LOGGER.debug("Unable to map resolution snapshot {}", path, e);
+        }
+    }
+
+    private boolean isOwnedByBoundServer(ByteBuffer buffer) {
+        UUID bound = serverId;
+        if (UNKNOWN_SERVER.equals(bound)) {
+            return true;
+        }
+        return buffer.getLong(SERVER_ID_OFFSET) == bound.getMostSignificantBits()
+               && buffer.getLong(SERVER_ID_OFFSET + 8) == bound.getLeastSignificantBits();
+    }
+
+    private static boolean hasValidHeader(ByteBuffer buffer) {
+        return buffer.getInt(MAGIC_OFFSET) == MAGIC && buffer.getInt(VERSION_OFFSET) == VERSION;
+    }
+
+    private static byte[] logOf(ByteBuffer buffer, int length) {
+        byte[] log = new byte[length];
+        buffer.get(HEADER_SIZE, log);
+        return log;
+    }
+
+    /**
+     * Rewrites the log so that it contains a single record per entry.
+     */
+    private static byte[] compact(byte[] log, List<?> record) throws IOException {
+        Map<String, Object> data = new LinkedHashMap<>();
+        applyRecords(log, data);
+        apply(record, data);
+        var out = new ByteArrayOutputStream();
+        for (Map.Entry<String, Object> section : data.entrySet()) {
+            if (section.getValue() instanceof Map<?, ?> entries) {
+                for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                    out.write(recordOf(CborCodec.encode(List.of(PUT, section.getKey(), entry.getKey(), entry.getValue()))));
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] recordOf(byte[] encoded) {
+        var crc = new CRC32();
+        crc.update(encoded);
+        return ByteBuffer.allocate(RECORD_HEADER_SIZE + encoded.length)
+            .putInt(encoded.length)
+            .putInt((int) crc.getValue())
+            .put(encoded)
+            .array();
+    }
+
+    private static boolean applyRecords(byte[] records, Map<String, Object> data) {
+        ByteBuffer log = ByteBuffer.wrap(records);
+        try {
+            while (log.hasRemaining()) {
+                if (log.remaining() < RECORD_HEADER_SIZE) {
+                    return false;
+                }
+                int length = log.getInt();
+                int checksum = log.getInt();
+                if (length <= 0 || length > log.remaining()) {
+                    return false;
+                }
+                byte[] encoded = new byte[length];
+                log.get(encoded);
+                var crc = new CRC32();
+                crc.update(encoded);
+                if ((int) crc.getValue() != checksum
+                    || !(CborCodec.decode(new ByteArrayInputStream(encoded)) instanceof List<?> record)
+                    || !apply(record, data)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Unable to decode resolution snapshot", e);
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean apply(List<?> record, Map<String, Object> data) {
+        String operation = String.valueOf(record.get(0));
+        switch (operation) {
+            case PUT -> ((Map<String, Object>) data.computeIfAbsent(String.valueOf(record.get(1)), unused -> new LinkedHashMap<>()))
+                .put(String.valueOf(record.get(2)), record.get(3));
+            case CLOSE_SCOPE -> {
+                Scope closed = Scope.of((String) record.get(1));
+                if (data.get(RESOLVED) instanceof Map<?, ?> resolved) {
+                    resolved.keySet().removeIf(key -> closed.includes(scopeOf(String.valueOf(key))));
+                }
+            }
+            case CLOSE_ALL -> data.remove(RESOLVED);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Object> copyOf(Map<String, Object> data) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        data.forEach((section, entries) -> copy.put(section, entries instanceof Map<?, ?> map ? new LinkedHashMap<>(map) : entries));
+        return copy;
+    }
+
+    @Nullable
+    private static Object fileKeyOf(Path path) throws IOException {
+        return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+    }
+
+    private static List<String> asList(Object value) {
+        if (value instanceof List<?> list) {
+            return list.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+
+    private static String resolvedKeyOf(String name, Map<String, Object> properties, Map<String, Object> testResourcesConfig) {
+        return Scope.from(properties) + SEPARATOR + name + SEPARATOR + Fingerprint.of(properties, testResourcesConfig);
+    }
+
+    private static Scope scopeOf(String resolvedKey) {
+        int separator = resolvedKey.indexOf(SEPARATOR);
+        return Scope.of(separator < 0 ? null : resolvedKey.substring(0, separator));
+    }
+
+    private record Mapping(FileChannel channel, MappedByteBuffer buffer, @Nullable Object fileKey) {
+        static Mapping open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Mapping a region larger than the file grows it
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CAPACITY);
+            return new Mapping(channel, buffer, fileKeyOf(path));
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.debug("Unable to close resolution snapshot", e);
+            }
+        }
+    }
+
+    private record Decoded(@Nullable Mapping mapping, long generation, int epoch, int length, Map<String, Object> data) {
+        static final Decoded EMPTY = new Decoded(null, -1, -1, 0, Map.of());
+    }
+}
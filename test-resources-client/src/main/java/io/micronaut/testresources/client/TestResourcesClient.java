@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A client responsible for connecting to a test resources
@@ -35,6 +36,9 @@ public interface TestResourcesClient extends TestResourcesResolver {
     String SERVER_URI = "server.uri";
     String ACCESS_TOKEN = "server.access.token";
     String CLIENT_READ_TIMEOUT = "server.client.read.timeout";
+    String SERVER_SOCKET = "server.socket";
+    String SERVER_SNAPSHOT = "server.snapshot";
+    String CLIENT_REPORT_DIR = "client.report.dir";
 
     @Get("/list")
     default List<String> getResolvableProperties() {
@@ -49,14 +53,81 @@ public interface TestResourcesClient extends TestResourcesResolver {
     @Post("/resolve")
     Optional<String> resolve(String name, Map<String, Object> properties, Map<String, Object> testResourcesConfig);
 
+    /**
+     * Resolves a property without blocking the calling thread.
+     *
+     * @param name the name of the property to resolve
+     * @param properties the resolved required properties
+     * @param testResourcesConfig the test resources configuration
+     * @return a future completed with the resolved value, if any
+     * @since 2.8.0
+     */
+    default CompletableFuture<Optional<String>> resolveAsync(String name,
+                                                             Map<String, Object> properties,
+                                                             Map<String, Object> testResourcesConfig) {
+        return CompletableFuture.supplyAsync(() -> resolve(name, properties, testResourcesConfig));
+    }
+
+    /**
+     * Resolves a property ahead of time, without blocking the calling thread.
+     * Unlike {@link #resolveAsync(String, Map, Map)}, the server completes
+     * the resolution even if the client goes away before it completes.
+     *
+     * @param name the name of the property to resolve
+     * @param properties the resolved required properties
+     * @param testResourcesConfig the test resources configuration
+     * @return a future completed with the resolved value, if any
+     * @since 2.8.0
+     */
+    default CompletableFuture<Optional<String>> prefetchAsync(String name,
+                                                              Map<String, Object> properties,
+                                                              Map<String, Object> testResourcesConfig) {
+        return resolveAsync(name, properties, testResourcesConfig);
+    }
+
+    /**
+     * Tells if the server resolves the required properties which the client
+     * leaves to it, in which case the client doesn't have to resolve them
+     * when the server cannot resolve a property.
+     *
+     * @return true if the server resolves the required properties left to it
+     * @since 2.8.0
+     */
+    default boolean resolvesRequiredProperties() {
+        return false;
+    }
+
     @Override
     @Get("/requirements/expr/{expression}")
     List<String> getRequiredProperties(String expression);
 
+    /**
+     * Returns the list of properties required to resolve an expression
+     * without blocking the calling thread.
+     *
+     * @param expression the expression
+     * @return a future completed with the required properties
+     * @since 2.8.0
+     */
+    default CompletableFuture<List<String>> getRequiredPropertiesAsync(String expression) {
+        return CompletableFuture.supplyAsync(() -> getRequiredProperties(expression));
+    }
+
     @Override
     @Get("/requirements/entries")
     List<String> getRequiredPropertyEntries();
 
+    /**
+     * Sends a cheap request to the server in order to keep it alive.
+     *
+     * @return true if the server answered
+     * @since 2.8.0
+     */
+    default boolean ping() {
+        getResolvableProperties();
+        return true;
+    }
+
     /**
      * Closes all test resources.
      * @return true if the operation was successful
@@ -99,7 +99,10 @@ public final class TestResourcesClientFactory {
             String serverUri = props.getProperty(TestResourcesClient.SERVER_URI);
             String accessToken = props.getProperty(TestResourcesClient.ACCESS_TOKEN);
             int clientReadTimeout = Integer.parseInt(props.getProperty(TestResourcesClient.CLIENT_READ_TIMEOUT, DEFAULT_TIMEOUT_SECONDS));
-            return Optional.of(new DefaultTestResourcesClient(serverUri, accessToken, clientReadTimeout));
+            Path socketPath = pathOf(props.getProperty(TestResourcesClient.SERVER_SOCKET));
+            Path snapshotPath = pathOf(props.getProperty(TestResourcesClient.SERVER_SNAPSHOT));
+            reportOnExit(props.getProperty(TestResourcesClient.CLIENT_REPORT_DIR));
+            return Optional.of(new DefaultTestResourcesClient(serverUri, accessToken, clientReadTimeout, socketPath, snapshotPath));
         }
         return Optional.empty();
     }
@@ -124,13 +127,33 @@ public final class TestResourcesClientFactory {
             String accessToken = System.getProperty(ConfigFinder.systemPropertyNameOf(TestResourcesClient.ACCESS_TOKEN));
             String clientTimeoutString = System.getProperty(ConfigFinder.systemPropertyNameOf(TestResourcesClient.CLIENT_READ_TIMEOUT), DEFAULT_TIMEOUT_SECONDS);
             int clientReadTimeout = Integer.parseInt(clientTimeoutString);
-            client = new DefaultTestResourcesClient(serverUri, accessToken, clientReadTimeout);
+            Path socketPath = pathOf(System.getProperty(ConfigFinder.systemPropertyNameOf(TestResourcesClient.SERVER_SOCKET)));
+            Path snapshotPath = pathOf(System.getProperty(ConfigFinder.systemPropertyNameOf(TestResourcesClient.SERVER_SNAPSHOT)));
+            reportOnExit(null);
+            client = new DefaultTestResourcesClient(serverUri, accessToken, clientReadTimeout, socketPath, snapshotPath);
             cachedClient = new WeakReference<>(client);
             return Optional.of(client);
         }
         return Optional.empty();
     }
 
+    private static Path pathOf(String path) {
+        return path == null ? null : Paths.get(path);
+    }
+
+    /**
+     * Writes a report of the client metrics when the JVM exits, if a
+     * report directory is configured. The system property takes
+     * precedence over the configuration file, so that build tools can
+     * choose a directory per test task.
+     */
+    private static void reportOnExit(String configuredDirectory) {
+        var directory = System.getProperty(ConfigFinder.systemPropertyNameOf(TestResourcesClient.CLIENT_REPORT_DIR), configuredDirectory);
+        if (directory != null) {
+            ClientMetrics.get().reportOnExit(Paths.get(directory));
+        }
+    }
+
     /**
      * Extracts the {@link TestResourcesClient} from the given {@link ApplicationContext}.
      *
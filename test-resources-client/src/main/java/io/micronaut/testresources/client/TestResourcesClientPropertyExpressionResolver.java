@@ -29,8 +29,6 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
-import static io.micronaut.testresources.core.PropertyResolverSupport.resolveRequiredProperties;
-
 /**
  * A property expression resolver which connects via client to a server in order to resolve
  * properties.
@@ -56,9 +54,22 @@ public class TestResourcesClientPropertyExpressionResolver extends LazyTestResou
                                        Class<T> requiredType) {
             if (propertyResolver instanceof Environment) {
                 TestResourcesClient client = clients.computeIfAbsent((Environment) propertyResolver, TestResourcesClientPropertyExpressionResolver::createClient);
-                Map<String, Object> props = resolveRequiredProperties(expression, propertyResolver, client);
                 Map<String, Object> properties = propertyResolver.getProperties(TestResourcesResolver.TEST_RESOURCES_PROPERTY);
-                Optional<String> resolved = callClient(expression, client, props, properties);
+                Optional<ResolutionPrefetcher> prefetcher = ResolutionPrefetcher.of(propertyResolver);
+                Optional<String> resolved;
+                if (prefetcher.isPresent()) {
+                    resolved = withErrorHandling(
+                        () -> prefetcher.get().resolve(expression, propertyResolver, properties),
+                        () -> errorMessageFor(expression)
+                    );
+                } else {
+                    resolved = RequiredProperties.resolve(
+                        client.getRequiredProperties(expression),
+                        propertyResolver,
+                        client,
+                        props -> callClient(expression, client, props, properties)
+                    );
+                }
                 if (resolved.isPresent()) {
                     String resolvedValue = resolved.get();
                     LOGGER.debug("Resolved expression '{}' to '{}'", expression, resolvedValue);
@@ -73,10 +84,14 @@ public class TestResourcesClientPropertyExpressionResolver extends LazyTestResou
         private static Optional<String> callClient(String expression, TestResourcesClient client, Map<String, Object> props, Map<String, Object> properties) {
             return withErrorHandling(
                 () -> client.resolve(expression, props, properties),
-                () -> "Test resources service wasn't able to revolve expression '" + expression + "'"
+                () -> errorMessageFor(expression)
             );
         }
 
+        private static String errorMessageFor(String expression) {
+            return "Test resources service wasn't able to revolve expression '" + expression + "'";
+        }
+
         private static <T> T withErrorHandling(Supplier<T> callable, Supplier<String> errorMessage) {
             try {
                 return callable.get();
@@ -95,8 +110,9 @@ public class TestResourcesClientPropertyExpressionResolver extends LazyTestResou
 
         @Override
         public void close() throws Exception {
-            for (TestResourcesClient client : clients.values()) {
-                client.closeAll();
+            for (Map.Entry<Environment, TestResourcesClient> entry : clients.entrySet()) {
+                ResolutionPrefetcher.remove(entry.getKey()).ifPresent(ResolutionPrefetcher::drain);
+                entry.getValue().closeAll();
             }
         }
     }
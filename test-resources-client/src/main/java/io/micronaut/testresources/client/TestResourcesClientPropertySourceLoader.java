@@ -16,6 +16,7 @@
 package io.micronaut.testresources.client;
 
 import io.micronaut.core.io.ResourceLoader;
+import io.micronaut.core.value.PropertyResolver;
 import io.micronaut.testresources.core.LazyTestResourcesPropertySourceLoader;
 import io.micronaut.testresources.core.PropertyExpressionProducer;
 
@@ -28,7 +29,8 @@ import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A property source loader which delegates resolution of properties to the client
- * lazily.
+ * lazily. If prefetching is enabled, the resolution of all the keys starts in the
+ * background as soon as they are known.
  */
 public class TestResourcesClientPropertySourceLoader extends LazyTestResourcesPropertySourceLoader {
 
@@ -54,7 +56,16 @@ public class TestResourcesClientPropertySourceLoader extends LazyTestResourcesPr
         @Override
         public List<String> produceKeys(ResourceLoader resourceLoader, Map<String, Collection<String>> propertyEntries, Map<String, Object> testResourcesConfig) {
             return findClient()
-                .map(client -> client.getResolvableProperties(propertyEntries, testResourcesConfig))
+                .map(client -> {
+                    List<String> keys = client.getResolvableProperties(propertyEntries, testResourcesConfig);
+                    if (resourceLoader instanceof PropertyResolver propertyResolver && ResolutionPrefetcher.isEnabled(testResourcesConfig)) {
+                        List<String> prefetched = keys.stream()
+                            .filter(key -> !propertyResolver.containsProperties(key))
+                            .toList();
+                        ResolutionPrefetcher.register(propertyResolver, client, prefetched, testResourcesConfig);
+                    }
+                    return keys;
+                })
                 .orElse(Collections.emptyList());
         }
 
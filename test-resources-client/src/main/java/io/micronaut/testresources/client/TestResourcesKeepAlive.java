@@ -32,8 +32,7 @@ public class TestResourcesKeepAlive {
     public void keepAlive(ApplicationContext applicationContext) {
         var client = TestResourcesClientFactory.extractFrom(applicationContext);
         if (client != null) {
-            // Call any method to keep the service alive
-            client.getResolvableProperties();
+            client.ping();
         }
     }
 }
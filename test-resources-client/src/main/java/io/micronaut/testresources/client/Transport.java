@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.client;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The transport used by the client to send requests to the test
+ * resources server.
+ */
+interface Transport {
+    /**
+     * Sends a request to the server. The request is a <code>GET</code>
+     * if there's no body, otherwise a <code>POST</code>.
+     *
+     * @param path the path of the endpoint
+     * @param headers the request headers
+     * @param body the request body, if any
+     * @return the server response
+     * @throws IOException if an error occurs
+     * @throws InterruptedException if the thread is interrupted
+     */
+    Response send(String path, Map<String, String> headers, @Nullable byte[] body) throws IOException, InterruptedException;
+
+    /**
+     * Sends a request to the server without blocking the calling thread.
+     * The response body is fully received when the future completes.
+     *
+     * @param path the path of the endpoint
+     * @param headers the request headers
+     * @param body the request body, if any
+     * @return a future completed with the server response
+     */
+    CompletableFuture<Response> sendAsync(String path, Map<String, String> headers, @Nullable byte[] body);
+
+    /**
+     * A response from the server. The body is streamed, so the
+     * response must be closed once it has been consumed.
+     *
+     * @param statusCode the status code
+     * @param headers the response headers, keyed by lowercase name
+     * @param body the response body
+     */
+    record Response(int statusCode, Map<String, String> headers, InputStream body) implements Closeable {
+        Optional<String> header(String name) {
+            return Optional.ofNullable(headers.get(name.toLowerCase(Locale.ROOT)));
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.client;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A transport which talks HTTP/1.1 to the server over a Unix domain socket.
+ * Compared to TCP, there's no port to allocate and connecting is cheaper,
+ * and the access is restricted by the permissions of the socket file.
+ * A new connection is used for each request, and since the connection
+ * is closed once the request completes, the response body is buffered.
+ */
+final class UnixDomainSocketTransport implements Transport {
+    private static final ScheduledExecutorService TIMEOUTS = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "test-resources-client-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final int MAX_CONCURRENT_REQUESTS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final ExecutorService REQUESTS = requestsExecutor();
+    private static final String CRLF = "\r\n";
+
+    private final UnixDomainSocketAddress address;
+    private final Duration timeout;
+
+    UnixDomainSocketTransport(Path socketPath, Duration timeout) {
+        this.address = UnixDomainSocketAddress.of(socketPath);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Response send(String path, Map<String, String> headers, @Nullable byte[] body) throws IOException, InterruptedException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            connect(channel);
+            // Blocking socket channels don't support read timeouts, so we close the channel instead
+            ScheduledFuture<?> watchdog = TIMEOUTS.schedule(() -> closeQuietly(channel), timeout.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                writeRequest(channel, path, headers, body);
+                return readResponse(new BufferedInputStream(Channels.newInputStream(channel)));
+            } catch (ClosedByInterruptException e) {
+                throw new InterruptedException("Interrupted while waiting for a response from " + address);
+            } catch (AsynchronousCloseException e) {
+                throw new HttpTimeoutException("Request to " + path + " timed out after " + timeout.toSeconds() + "s");
+            } finally {
+                watchdog.cancel(false);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(String path, Map<String, String> headers, @Nullable byte[] body) {
+        // Requests use blocking channels, which makes reading the response as a stream simple,
+        // so asynchronous requests are sent by a bounded pool of threads
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return send(path, headers, body);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, REQUESTS);
+    }
+
+    private static ExecutorService requestsExecutor() {
+        var executor = new ThreadPoolExecutor(MAX_CONCURRENT_REQUESTS, MAX_CONCURRENT_REQUESTS,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "test-resources-client-uds");
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void connect(SocketChannel channel) throws ConnectException {
+        try {
+            channel.connect(address);
+        } catch (IOException e) {
+            var ex = new ConnectException("Unable to connect to " + address);
+            ex.initCause(e);
+            throw ex;
+        }
+    }
+
+    private static void writeRequest(SocketChannel channel, String path, Map<String, String> headers, @Nullable byte[] body) throws IOException {
+        var head = new StringBuilder();
+        head.append(body == null ? "GET " : "POST ").append(path).append(" HTTP/1.1").append(CRLF);
+        head.append("Host: localhost").append(CRLF);
+        head.append("Connection: close").append(CRLF);
+        headers.forEach((name, value) -> head.append(name).append(": ").append(value).append(CRLF));
+        head.append("Content-Length: ").append(body == null ? 0 : body.length).append(CRLF);
+        head.append(CRLF);
+        writeFully(channel, ByteBuffer.wrap(head.toString().getBytes(StandardCharsets.ISO_8859_1)));
+        if (body != null) {
+            writeFully(channel, ByteBuffer.wrap(body));
+        }
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    static Response readResponse(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        if (statusLine == null) {
+            throw new IOException("Connection closed before a response was received");
+        }
+        String[] status = statusLine.split(" ", 3);
+        if (status.length < 2 || !status[0].startsWith("HTTP/")) {
+            throw new IOException("Unexpected status line: " + statusLine);
+        }
+        int statusCode = Integer.parseInt(status[1]);
+        Map<String, String> headers = new HashMap<>();
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            int idx = line.indexOf(':');
+            if (idx > 0) {
+                headers.putIfAbsent(line.substring(0, idx).trim().toLowerCase(Locale.ROOT), line.substring(idx + 1).trim());
+            }
+        }
+        byte[] body;
+        String contentLength = headers.get("content-length");
+        if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+            body = readChunked(in);
+        } else if (contentLength != null) {
+            int length = Integer.parseInt(contentLength);
+            body = in.readNBytes(length);
+            if (body.length != length) {
+                throw new IOException("Connection closed before the response body was fully received");
+            }
+        } else {
+            body = in.readAllBytes();
+        }
+        return new Response(statusCode, headers, new ByteArrayInputStream(body));
+    }
+
+    private static byte[] readChunked(InputStream in) throws IOException {
+        var out = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(in);
+            if (sizeLine == null) {
+                throw new IOException("Connection closed before the response body was fully received");
+            }
+            int extension = sizeLine.indexOf(';');
+            int size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+            if (size == 0) {
+                // skip trailers
+                String trailer;
+                do {
+                    trailer = readLine(in);
+                } while (trailer != null && !trailer.isEmpty());
+                return out.toByteArray();
+            }
+            byte[] chunk = in.readNBytes(size);
+            if (chunk.length != size) {
+                throw new IOException("Connection closed before the response body was fully received");
+            }
+            out.write(chunk);
+            readLine(in);
+        }
+    }
+
+    @Nullable
+    private static String readLine(InputStream in) throws IOException {
+        var line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                break;
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        if (b == -1 && line.size() == 0) {
+            return null;
+        }
+        return line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+}
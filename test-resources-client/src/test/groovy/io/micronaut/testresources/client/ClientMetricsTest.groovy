@@ -0,0 +1,65 @@
+package io.micronaut.testresources.client
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+import java.util.concurrent.TimeUnit
+
+class ClientMetricsTest extends Specification {
+    @TempDir
+    Path tmpDir
+
+    def "computes latency percentiles"() {
+        def histogram = new ClientMetrics.LatencyHistogram()
+
+        when:
+        (1..100).each { histogram.record(it * 1000L) }
+
+        then:
+        histogram.count() == 100
+        histogram.max() == 100_000
+        within(histogram.percentile(0.5), 50_000)
+        within(histogram.percentile(0.95), 95_000)
+        within(histogram.percentile(0.99), 99_000)
+        histogram.percentile(1) == 100_000
+    }
+
+    def "buckets are contiguous"() {
+        expect:
+        (1L..100_000L).every { micros ->
+            def bucket = ClientMetrics.LatencyHistogram.bucketOf(micros)
+            ClientMetrics.LatencyHistogram.upperBoundOf(bucket) >= micros &&
+                    (bucket == 0 || ClientMetrics.LatencyHistogram.upperBoundOf(bucket - 1) <= micros)
+        }
+        ClientMetrics.LatencyHistogram.bucketOf(Long.MAX_VALUE) == ClientMetrics.LatencyHistogram.BUCKET_COUNT - 1
+    }
+
+    def "writes a report"() {
+        def metrics = new ClientMetrics()
+        metrics.recordLatency("/resolve", TimeUnit.MILLISECONDS.toNanos(20), true)
+        metrics.recordLatency("/resolve", TimeUnit.MILLISECONDS.toNanos(40), false)
+        metrics.recordCacheAccess(ClientMetrics.SNAPSHOT_CACHE, true)
+        metrics.recordCacheAccess(ClientMetrics.SNAPSHOT_CACHE, false)
+        metrics.recordCacheAccess(ClientMetrics.SNAPSHOT_CACHE, true)
+
+        when:
+        def file = metrics.writeReport(tmpDir.resolve("reports"))
+        def report = new JsonSlurper().parse(file.toFile())
+
+        then:
+        file.fileName.toString() == "test-resources-client-${ProcessHandle.current().pid()}.json"
+        report.pid == ProcessHandle.current().pid()
+        report.waitingMillis == 20
+        report.endpoints['/resolve'].count == 2
+        report.endpoints['/resolve'].maxMillis == 40
+        report.endpoints['/resolve'].buckets.values().sum() == 2
+        report.caches.snapshot == [hits: 2, misses: 1]
+    }
+
+    private static boolean within(long actual, long expected) {
+        // buckets are at most 12.5% wide
+        actual >= expected && actual <= expected * 1.125
+    }
+}
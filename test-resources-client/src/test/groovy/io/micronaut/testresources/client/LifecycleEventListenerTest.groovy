@@ -0,0 +1,71 @@
+package io.micronaut.testresources.client
+
+import com.sun.net.httpserver.HttpServer
+import groovy.json.JsonOutput
+import io.micronaut.testresources.core.Scope
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class LifecycleEventListenerTest extends Specification {
+    @TempDir
+    Path tmpDir
+
+    def "invalidates the resolution snapshot when test resources go away"() {
+        def events = new LinkedBlockingQueue<String>()
+        def http = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+        http.createContext("/events") { exchange ->
+            exchange.responseHeaders.add("Content-Type", "text/event-stream")
+            exchange.sendResponseHeaders(200, 0)
+            exchange.responseBody.withCloseable { out ->
+                String event
+                while ((event = events.poll(10, TimeUnit.SECONDS)) != null && event != 'close') {
+                    out.write(event.getBytes(StandardCharsets.UTF_8))
+                    out.flush()
+                }
+            }
+        }
+        http.start()
+        def snapshotFile = tmpDir.resolve("test-resources.snapshot")
+        def client = new DefaultTestResourcesClient("http://localhost:${http.address.port}", null, 60, null, snapshotFile)
+        def snapshot = ResolutionSnapshot.of(snapshotFile).get()
+        snapshot.publishResolved("foo", [(Scope.PROPERTY_KEY): 'a'], [:], "1")
+        snapshot.publishResolved("bar", [:], [:], "2")
+
+        when:
+        events << event('heartbeat', 0, null)
+        events << event('scope-closed', 1, 'a')
+
+        then:
+        new PollingConditions(timeout: 10).eventually {
+            assert !snapshot.resolved("foo", [(Scope.PROPERTY_KEY): 'a'], [:]).present
+        }
+        snapshot.resolved("bar", [:], [:]).present
+
+        when: "events were missed"
+        events << event('scope-closed', 3, 'other')
+
+        then:
+        new PollingConditions(timeout: 10).eventually {
+            assert !snapshot.resolved("bar", [:], [:]).present
+        }
+        client != null
+
+        cleanup:
+        events << 'close'
+        http?.stop(0)
+    }
+
+    private static String event(String type, long generation, String scope) {
+        """id: $generation
+event: $type
+data: ${JsonOutput.toJson([serverId: 'server', generation: generation, type: type, scope: scope])}
+
+"""
+    }
+}
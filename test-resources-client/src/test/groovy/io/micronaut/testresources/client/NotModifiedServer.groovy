@@ -0,0 +1,30 @@
+package io.micronaut.testresources.client
+
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+/**
+ * A server which answers "not modified" to the first request,
+ * whether the client sent an entity tag or not.
+ */
+@Controller("/")
+@Requires(property = 'not-modified-server', value = 'true')
+class NotModifiedServer {
+    static final List<String> IF_NONE_MATCH = new CopyOnWriteArrayList<>()
+
+    @Get("/requirements/entries")
+    HttpResponse<List<String>> getRequiredPropertyEntries(@Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        IF_NONE_MATCH << String.valueOf(ifNoneMatch)
+        if (IF_NONE_MATCH.size() == 1) {
+            return HttpResponse.<List<String>>notModified().header(HttpHeaders.ETAG, '"entries"')
+        }
+        HttpResponse.ok(["datasources"]).header(HttpHeaders.ETAG, '"entries"')
+    }
+}
@@ -0,0 +1,160 @@
+package io.micronaut.testresources.client
+
+import io.micronaut.testresources.core.Scope
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+class ResolutionSnapshotTest extends Specification {
+    @TempDir
+    Path tmpDir
+
+    def "values published by a writer are visible to another mapping of the snapshot"() {
+        def file = tmpDir.resolve("test-resources.snapshot")
+        def writer = new ResolutionSnapshot(file)
+        def reader = new ResolutionSnapshot(file)
+
+        expect:
+        !reader.resolved("foo", [:], [:]).present
+
+        when:
+        writer.publishResolved("foo", [:], ['containers.x.image-name': 'x'], "bar")
+        writer.publishRequiredProperties("foo", ["datasources.default.db-type"])
+        writer.publishRequiredPropertyEntries(["datasources"])
+        writer.publishResolvableProperties([datasources: ['default']], [:], ["foo", "baz"])
+
+        then:
+        reader.resolved("foo", [:], ['containers.x.image-name': 'x']) == Optional.of("bar")
+        !reader.resolved("foo", [:], ['containers.x.image-name': 'y']).present
+        !reader.resolved("foo", [(Scope.PROPERTY_KEY): 'a'], ['containers.x.image-name': 'x']).present
+        reader.requiredProperties("foo") == Optional.of(["datasources.default.db-type"])
+        reader.requiredPropertyEntries() == Optional.of(["datasources"])
+        reader.resolvableProperties([datasources: ['default']], [:]) == Optional.of(["foo", "baz"])
+    }
+
+    def "closing a scope forgets the values resolved in that scope and its children"() {
+        def file = tmpDir.resolve("test-resources.snapshot")
+        def snapshot = new ResolutionSnapshot(file)
+        snapshot.publishResolved("root", [:], [:], "1")
+        snapshot.publishResolved("a", [(Scope.PROPERTY_KEY): 'a'], [:], "2")
+        snapshot.publishResolved("ab", [(Scope.PROPERTY_KEY): 'a.b'], [:], "3")
+        snapshot.publishResolved("c", [(Scope.PROPERTY_KEY): 'c'], [:], "4")
+        snapshot.publishRequiredProperties("root", [])
+
+        when:
+        snapshot.closeScope("a")
+
+        then:
+        snapshot.resolved("root", [:], [:]).present
+        !snapshot.resolved("a", [(Scope.PROPERTY_KEY): 'a'], [:]).present
+        !snapshot.resolved("ab", [(Scope.PROPERTY_KEY): 'a.b'], [:]).present
+        snapshot.resolved("c", [(Scope.PROPERTY_KEY): 'c'], [:]).present
+
+        when:
+        snapshot.closeAll()
+
+        then:
+        !snapshot.resolved("root", [:], [:]).present
+        !snapshot.resolved("c", [(Scope.PROPERTY_KEY): 'c'], [:]).present
+        snapshot.requiredProperties("root") == Optional.of([])
+    }
+
+    def "ignores a snapshot which is being written or is corrupted"() {
+        def file = tmpDir.resolve("test-resources.snapshot")
+        def writer = new ResolutionSnapshot(file)
+        writer.publishResolved("foo", [:], [:], "bar")
+
+        when: "a writer died in the middle of an update"
+        withChannel(file) { FileChannel channel ->
+            def generation = ByteBuffer.allocate(8)
+            channel.read(generation, 8)
+            channel.write(ByteBuffer.allocate(8).putLong(0, generation.getLong(0) + 1), 8)
+        }
+
+        then:
+        !new ResolutionSnapshot(file).resolved("foo", [:], [:]).present
+
+        when: "the next writer recovers"
+        writer.publishResolved("baz", [:], [:], "qux")
+
+        then:
+        new ResolutionSnapshot(file).resolved("baz", [:], [:]) == Optional.of("qux")
+
+        when: "the data doesn't match its checksum"
+        withChannel(file) { FileChannel channel ->
+            channel.write(ByteBuffer.wrap([0xff] as byte[]), 56)
+        }
+
+        then:
+        !new ResolutionSnapshot(file).resolved("baz", [:], [:]).present
+    }
+
+    def "ignores values published for another server"() {
+        def file = tmpDir.resolve("test-resources.snapshot")
+        def writer = new ResolutionSnapshot(file)
+        def reader = new ResolutionSnapshot(file)
+        def previousServer = UUID.randomUUID().toString()
+        def currentServer = UUID.randomUUID().toString()
+        writer.bindTo(previousServer)
+        writer.publishResolved("foo", [:], [:], "bar")
+
+        expect:
+        reader.resolved("foo", [:], [:]) == Optional.of("bar")
+
+        when:
+        reader.bindTo(currentServer)
+
+        then:
+        !reader.resolved("foo", [:], [:]).present
+
+        when:
+        reader.publishResolved("baz", [:], [:], "qux")
+        writer.bindTo(currentServer)
+
+        then:
+        writer.resolved("baz", [:], [:]) == Optional.of("qux")
+        !writer.resolved("foo", [:], [:]).present
+    }
+
+    def "appends updates without losing previous values"() {
+        def file = tmpDir.resolve("test-resources.snapshot")
+        def writer = new ResolutionSnapshot(file)
+        def reader = new ResolutionSnapshot(file)
+
+        when:
+        writer.publishResolved("a", [:], [:], "1")
+
+        then:
+        reader.resolved("a", [:], [:]) == Optional.of("1")
+
+        when:
+        writer.publishResolved("b", [:], [:], "2")
+        writer.publishResolved("a", [:], [:], "3")
+
+        then:
+        reader.resolved("a", [:], [:]) == Optional.of("3")
+        reader.resolved("b", [:], [:]) == Optional.of("2")
+    }
+
+    def "compacts the log when it is full"() {
+        def file = tmpDir.resolve("test-resources.snapshot")
+        def writer = new ResolutionSnapshot(file)
+        def value = "x" * 1024
+
+        when:
+        2000.times {
+            writer.publishResolved("foo", [:], [:], value + (it % 2))
+        }
+
+        then:
+        new ResolutionSnapshot(file).resolved("foo", [:], [:]) == Optional.of(value + "1")
+    }
+
+    private static void withChannel(Path file, Closure<?> action) {
+        FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE).withCloseable(action)
+    }
+}
@@ -7,9 +7,12 @@ import io.micronaut.testresources.core.TestResourcesResolutionException
 import jakarta.inject.Inject
 import spock.lang.Specification
 import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
 import spock.util.environment.RestoreSystemProperties
 
+import java.nio.file.Files
 import java.nio.file.Path
+import java.util.concurrent.ExecutionException
 
 import static io.micronaut.testresources.client.ConfigFinder.systemPropertyNameOf
 
@@ -50,6 +53,79 @@ class TestResourcesClientTest extends Specification implements ClientCleanup {
         e.message == "Test resources service wasn't able to revolve expression 'throws': Something bad happened"
     }
 
+    def "resolves properties asynchronously"() {
+        def client = new DefaultTestResourcesClient(server.URI.toString(), null, 60)
+
+        expect:
+        client.resolveAsync("dummy1", [:], [:]).get() == Optional.of("value for dummy1")
+        client.resolveAsync("missing", [:], [:]).get() == Optional.empty()
+        client.getRequiredPropertiesAsync("dummy1").get() == []
+
+        when:
+        client.resolveAsync("throws", [:], [:]).get()
+
+        then:
+        ExecutionException e = thrown()
+        e.cause instanceof TestResourcesException
+        e.cause.message == "Something bad happened"
+    }
+
+    def "requests the full response when the server refers to a response the client doesn't know"() {
+        NotModifiedServer.IF_NONE_MATCH.clear()
+        def notModifiedServer = ApplicationContext.run(EmbeddedServer, [server: 'false', 'not-modified-server': 'true'])
+        def client = new DefaultTestResourcesClient(notModifiedServer.URI.toString(), null, 60)
+
+        when:
+        def entries = client.getRequiredPropertyEntries()
+
+        then:
+        entries == ["datasources"]
+        NotModifiedServer.IF_NONE_MATCH == ["null", "null"]
+
+        when:
+        entries = client.getRequiredPropertyEntries()
+
+        then:
+        entries == ["datasources"]
+        NotModifiedServer.IF_NONE_MATCH == ["null", "null", '"entries"']
+
+        cleanup:
+        notModifiedServer?.close()
+    }
+
+    @RestoreSystemProperties
+    def "prefetches resolvable properties"() {
+        TestServer.RESOLVED.clear()
+        System.setProperty(systemPropertyNameOf(ResolutionPrefetcher.PREFETCH), "true")
+        def app = createApplication()
+
+        expect:
+        new PollingConditions(timeout: 10).eventually {
+            assert TestServer.RESOLVED.containsAll(["dummy1", "dummy2"])
+        }
+        app.getProperty("dummy1", String).get() == 'value for dummy1'
+        app.getProperty("dummy2", String).get() == 'value for dummy2'
+
+        when:
+        app.getProperty("throws", String)
+
+        then:
+        TestResourcesException e = thrown()
+        e.message == "Test resources service wasn't able to revolve expression 'throws': Something bad happened"
+
+        cleanup:
+        app?.close()
+    }
+
+    def "falls back to TCP if the socket file is stale"() {
+        def socket = tempDir.resolve("test-resources.sock")
+        Files.createFile(socket)
+        def client = new DefaultTestResourcesClient(server.URI.toString(), null, 60, socket)
+
+        expect:
+        client.resolvableProperties == ["dummy1", "dummy2", "missing", "throws"]
+    }
+
     private ApplicationContext createApplication() {
         System.setProperty(systemPropertyNameOf(TestResourcesClient.SERVER_URI), server.getURI().toString())
         def app = ApplicationContext.builder()
@@ -6,9 +6,12 @@ import io.micronaut.http.annotation.Get
 import io.micronaut.http.annotation.Post
 import io.micronaut.testresources.core.TestResourcesResolver
 
+import java.util.concurrent.ConcurrentHashMap
+
 @Controller("/")
 @Requires(property = 'server', notEquals = 'false')
 class TestServer implements TestResourcesResolver {
+    static final Set<String> RESOLVED = ConcurrentHashMap.newKeySet()
 
     @Override
     @Post("/list")
@@ -31,6 +34,7 @@ class TestServer implements TestResourcesResolver {
     @Override
     @Post('/resolve')
     Optional<String> resolve(String name, Map<String, Object> properties, Map<String, Object> testResourcesConfig) {
+        RESOLVED << name
         if ("missing" == name) {
             return Optional.empty()
         }
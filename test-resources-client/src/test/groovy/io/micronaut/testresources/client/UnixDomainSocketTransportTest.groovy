@@ -0,0 +1,114 @@
+package io.micronaut.testresources.client
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.net.http.HttpTimeoutException
+import java.nio.ByteBuffer
+import java.nio.channels.ServerSocketChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+
+import static java.net.StandardProtocolFamily.UNIX
+import static java.net.UnixDomainSocketAddress.of
+
+class UnixDomainSocketTransportTest extends Specification {
+    @TempDir
+    Path tempDir
+
+    def "sends a request and reads a response with a content length"() {
+        def socket = tempDir.resolve("test.sock")
+        def request = serve(socket, "HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 7\r\n\r\n[\"abc\"]")
+        def transport = new UnixDomainSocketTransport(socket, Duration.ofSeconds(10))
+
+        when:
+        def response = transport.send("/resolve", ['Access-Token': 'secret'], '{"name":"abc"}'.getBytes(StandardCharsets.UTF_8))
+
+        then:
+        response.statusCode() == 200
+        response.header("content-type").get() == 'application/json'
+        response.body().getText("UTF-8") == '["abc"]'
+
+        and:
+        def received = request.get()
+        received.startsWith("POST /resolve HTTP/1.1\r\n")
+        received.contains("Access-Token: secret\r\n")
+        received.contains("Content-Length: 14\r\n")
+        received.endsWith('\r\n\r\n{"name":"abc"}')
+    }
+
+    def "reads chunked responses"() {
+        def socket = tempDir.resolve("test.sock")
+        serve(socket, "HTTP/1.1 500 Internal Server Error\r\nTransfer-Encoding: chunked\r\n\r\n3\r\nabc\r\n4;ext=1\r\ndefg\r\n0\r\n\r\n")
+        def transport = new UnixDomainSocketTransport(socket, Duration.ofSeconds(10))
+
+        when:
+        def response = transport.send("/list", [:], null)
+
+        then:
+        response.statusCode() == 500
+        response.body().getText("UTF-8") == 'abcdefg'
+    }
+
+    def "times out if the server doesn't answer"() {
+        def socket = tempDir.resolve("test.sock")
+        def server = ServerSocketChannel.open(UNIX)
+        server.bind(of(socket))
+        def transport = new UnixDomainSocketTransport(socket, Duration.ofSeconds(1))
+
+        when:
+        transport.send("/list", [:], null)
+
+        then:
+        thrown(HttpTimeoutException)
+
+        cleanup:
+        server.close()
+    }
+
+    def "reports connection failures"() {
+        def transport = new UnixDomainSocketTransport(tempDir.resolve("missing.sock"), Duration.ofSeconds(1))
+
+        when:
+        transport.send("/list", [:], null)
+
+        then:
+        thrown(ConnectException)
+    }
+
+    private static CompletableFuture<String> serve(Path socket, String response) {
+        def server = ServerSocketChannel.open(UNIX)
+        server.bind(of(socket))
+        CompletableFuture.supplyAsync {
+            server.withCloseable {
+                server.accept().withCloseable { channel ->
+                    def buffer = ByteBuffer.allocate(8192)
+                    def request = new StringBuilder()
+                    while (!isComplete(request)) {
+                        buffer.clear()
+                        if (channel.read(buffer) < 0) {
+                            break
+                        }
+                        buffer.flip()
+                        request.append(StandardCharsets.UTF_8.decode(buffer))
+                    }
+                    channel.write(ByteBuffer.wrap(response.getBytes(StandardCharsets.UTF_8)))
+                    request.toString()
+                }
+            }
+        }
+    }
+
+    private static boolean isComplete(CharSequence request) {
+        def str = request.toString()
+        int idx = str.indexOf("\r\n\r\n")
+        if (idx < 0) {
+            return false
+        }
+        def matcher = str =~ /Content-Length: (\d+)/
+        int length = matcher.find() ? matcher.group(1) as int : 0
+        str.length() - idx - 4 >= length
+    }
+}
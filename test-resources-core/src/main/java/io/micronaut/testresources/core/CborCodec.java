@@ -0,0 +1,340 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.core;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal CBOR (RFC 8949) codec, used as a compact binary wire format
+ * between the test resources client and server. It supports the subset
+ * of types which can be found in test resources requests and responses:
+ * maps, lists, strings, numbers, booleans and null.
+ * Values of other types are encoded as strings.
+ *
+ * @since 2.8.0
+ */
+@Internal
+public final class CborCodec {
+    public static final String MEDIA_TYPE = "application/cbor";
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+
+    private static final int FALSE = 0xf4;
+    private static final int TRUE = 0xf5;
+    private static final int NULL = 0xf6;
+    private static final int UNDEFINED = 0xf7;
+    private static final int FLOAT64 = 0xfb;
+    private static final int INDEFINITE = 31;
+    private static final int BREAK = 0xff;
+
+    private static final Object BREAK_MARKER = new Object();
+
+    private CborCodec() {
+
+    }
+
+    /**
+     * Encodes a value.
+     *
+     * @param value the value to encode
+     * @return the encoded bytes
+     */
+    public static byte[] encode(Object value) {
+        var out = new ByteArrayOutputStream();
+        try {
+            encode(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes a value to an output stream.
+     *
+     * @param value the value to encode
+     * @param out the output stream
+     * @throws IOException if an error occurs while writing
+     */
+    public static void encode(Object value, OutputStream out) throws IOException {
+        if (value == null) {
+            out.write(NULL);
+        } else if (value instanceof Boolean b) {
+            out.write(Boolean.TRUE.equals(b) ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            long l = ((Number) value).longValue();
+            if (l >= 0) {
+                writeHead(out, MAJOR_UNSIGNED, l);
+            } else {
+                writeHead(out, MAJOR_NEGATIVE, -1 - l);
+            }
+        } else if (value instanceof Double || value instanceof Float) {
+            out.write(FLOAT64);
+            long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (bits >>> shift));
+            }
+        } else if (value instanceof byte[] bytes) {
+            writeHead(out, MAJOR_BYTES, bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Map<?, ?> map) {
+            writeHead(out, MAJOR_MAP, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                encode(String.valueOf(entry.getKey()), out);
+                encode(entry.getValue(), out);
+            }
+        } else if (value instanceof Collection<?> collection) {
+            writeHead(out, MAJOR_ARRAY, collection.size());
+            for (Object element : collection) {
+                encode(element, out);
+            }
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            writeHead(out, MAJOR_ARRAY, length);
+            for (int i = 0; i < length; i++) {
+                encode(Array.get(value, i), out);
+            }
+        } else {
+            byte[] text = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+            writeHead(out, MAJOR_TEXT, text.length);
+            out.write(text);
+        }
+    }
+
+    /**
+     * Decodes a single value from an input stream. The stream is
+     * read incrementally, and only up to the end of the value.
+     * Maps are decoded as {@link LinkedHashMap} with string keys,
+     * arrays as {@link List}, integers as {@link Integer} if they fit, like
+     * the JSON decoder does, otherwise as {@link Long} (or {@link BigInteger}
+     * if they don't fit either) and floating point numbers as {@link Double}.
+     *
+     * @param in the input stream
+     * @return the decoded value
+     * @throws IOException if an error occurs while reading, or if the data isn't valid CBOR
+     */
+    public static Object decode(InputStream in) throws IOException {
+        Object value = decodeItem(in);
+        if (value == BREAK_MARKER) {
+            throw new IOException("Unexpected break in CBOR data");
+        }
+        return value;
+    }
+
+    private static Object decodeItem(InputStream in) throws IOException {
+        int initial = readByte(in);
+        int major = initial >>> 5;
+        int info = initial & 0x1f;
+        return switch (major) {
+            case MAJOR_UNSIGNED -> integerOf(readArgument(in, info), false);
+            case MAJOR_NEGATIVE -> integerOf(readArgument(in, info), true);
+            case MAJOR_BYTES -> readString(in, info, MAJOR_BYTES);
+            case MAJOR_TEXT -> new String(readString(in, info, MAJOR_TEXT), StandardCharsets.UTF_8);
+            case MAJOR_ARRAY -> readArray(in, info);
+            case MAJOR_MAP -> readMap(in, info);
+            case MAJOR_TAG -> {
+                // tags carry semantic information we don't need
+                readArgument(in, info);
+                yield decode(in);
+            }
+            case MAJOR_SIMPLE -> readSimple(in, initial, info);
+            default -> throw new IOException("Invalid CBOR major type " + major);
+        };
+    }
+
+    private static List<Object> readArray(InputStream in, int info) throws IOException {
+        List<Object> list = new ArrayList<>();
+        if (info == INDEFINITE) {
+            Object element;
+            while ((element = decodeItem(in)) != BREAK_MARKER) {
+                list.add(element);
+            }
+            return list;
+        }
+        long length = readLength(in, info);
+        for (long i = 0; i < length; i++) {
+            list.add(decode(in));
+        }
+        return list;
+    }
+
+    private static Map<String, Object> readMap(InputStream in, int info) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (info == INDEFINITE) {
+            Object key;
+            while ((key = decodeItem(in)) != BREAK_MARKER) {
+                map.put(String.valueOf(key), decode(in));
+            }
+            return map;
+        }
+        long length = readLength(in, info);
+        for (long i = 0; i < length; i++) {
+            String key = String.valueOf(decode(in));
+            map.put(key, decode(in));
+        }
+        return map;
+    }
+
+    private static byte[] readString(InputStream in, int info, int major) throws IOException {
+        if (info == INDEFINITE) {
+            var out = new ByteArrayOutputStream();
+            while (true) {
+                int initial = readByte(in);
+                if (initial == BREAK) {
+                    return out.toByteArray();
+                }
+                if (initial >>> 5 != major) {
+                    throw new IOException("Invalid chunk in indefinite length CBOR string");
+                }
+                out.write(readString(in, initial & 0x1f, major));
+            }
+        }
+        int length = (int) readLength(in, info);
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Unexpected end of CBOR data");
+        }
+        return bytes;
+    }
+
+    private static Object readSimple(InputStream in, int initial, int info) throws IOException {
+        return switch (initial) {
+            case FALSE -> Boolean.FALSE;
+            case TRUE -> Boolean.TRUE;
+            case NULL, UNDEFINED -> null;
+            case BREAK -> BREAK_MARKER;
+            case 0xf9 -> halfToDouble((int) readArgument(in, 25));
+            case 0xfa -> (double) Float.intBitsToFloat((int) readArgument(in, 26));
+            case FLOAT64 -> Double.longBitsToDouble(readArgument(in, 27));
+            default -> {
+                if (info == 24) {
+                    readByte(in);
+                }
+                // unassigned simple values
+                yield null;
+            }
+        };
+    }
+
+    private static double halfToDouble(int half) {
+        int exponent = (half >> 10) & 0x1f;
+        int mantissa = half & 0x3ff;
+        double value;
+        if (exponent == 0) {
+            value = mantissa * Math.pow(2, -24);
+        } else if (exponent != 31) {
+            value = (mantissa + 1024) * Math.pow(2, exponent - 25);
+        } else {
+            value = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+        }
+        return (half & 0x8000) != 0 ? -value : value;
+    }
+
+    private static Object integerOf(long argument, boolean negative) {
+        if (argument >= 0) {
+            long value = negative ? -1 - argument : argument;
+            // Small values are decoded as integers, like the JSON decoder does
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        }
+        // argument is an unsigned 64-bit value which doesn't fit in a long
+        BigInteger unsigned = new BigInteger(Long.toUnsignedString(argument));
+        return negative ? BigInteger.ONE.negate().subtract(unsigned) : unsigned;
+    }
+
+    private static long readLength(InputStream in, int info) throws IOException {
+        long length = readArgument(in, info);
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new IOException("CBOR item too large: " + Long.toUnsignedString(length));
+        }
+        return length;
+    }
+
+    private static long readArgument(InputStream in, int info) throws IOException {
+        if (info < 24) {
+            return info;
+        }
+        int bytes = switch (info) {
+            case 24 -> 1;
+            case 25 -> 2;
+            case 26 -> 4;
+            case 27 -> 8;
+            default -> throw new IOException("Invalid CBOR additional information " + info);
+        };
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | readByte(in);
+        }
+        return value;
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of CBOR data");
+        }
+        return b;
+    }
+
+    private static void writeHead(OutputStream out, int major, long argument) throws IOException {
+        int type = major << 5;
+        if (argument < 24) {
+            out.write(type | (int) argument);
+        } else if (argument < 0x100) {
+            out.write(type | 24);
+            out.write((int) argument);
+        } else if (argument < 0x10000) {
+            out.write(type | 25);
+            writeBytes(out, argument, 2);
+        } else if (argument < 0x100000000L) {
+            out.write(type | 26);
+            writeBytes(out, argument, 4);
+        } else {
+            out.write(type | 27);
+            writeBytes(out, argument, 8);
+        }
+    }
+
+    private static void writeBytes(OutputStream out, long value, int count) throws IOException {
+        for (int shift = (count - 1) * 8; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+}
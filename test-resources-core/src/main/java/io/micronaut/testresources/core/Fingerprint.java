@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.core;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes stable fingerprints of values, which are used to detect if the
+ * inputs of a request changed. Values are encoded with {@link CborCodec}
+ * after sorting map entries by key, so that the fingerprint of a map
+ * doesn't depend on the iteration order of its entries.
+ *
+ * @since 2.8.0
+ */
+@Internal
+public final class Fingerprint {
+    private Fingerprint() {
+
+    }
+
+    /**
+     * Computes the SHA-256 fingerprint of a list of values.
+     *
+     * @param values the values
+     * @return the fingerprint, as an hexadecimal string
+     */
+    public static String of(Object... values) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(CborCodec.encode(sorted(Arrays.asList(values))));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object sorted(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((k, v) -> sorted.put(String.valueOf(k), sorted(v)));
+            return sorted;
+        }
+        if (value instanceof Iterable<?> iterable) {
+            List<Object> list = new ArrayList<>();
+            iterable.forEach(e -> list.add(sorted(e)));
+            return list;
+        }
+        return value;
+    }
+}
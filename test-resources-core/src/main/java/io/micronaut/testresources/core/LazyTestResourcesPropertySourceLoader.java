@@ -36,6 +36,13 @@ import java.util.stream.Collectors;
  * in order to resolve properties lazily.
  */
 public class LazyTestResourcesPropertySourceLoader implements PropertySourceLoader {
+    /**
+     * The name of the property source which supplies the properties
+     * resolved by test resources.
+     * @since 2.8.0
+     */
+    public static final String PROPERTY_SOURCE_NAME = "test resources";
+
     private final PropertyExpressionProducer producer;
 
     public LazyTestResourcesPropertySourceLoader(PropertyExpressionProducer producer) {
@@ -77,7 +84,7 @@ public class LazyTestResourcesPropertySourceLoader implements PropertySourceLoad
 
         @Override
         public String getName() {
-            return "test resources";
+            return PROPERTY_SOURCE_NAME;
         }
 
         @Override
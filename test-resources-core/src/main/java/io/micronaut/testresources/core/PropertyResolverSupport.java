@@ -15,6 +15,7 @@
  */
 package io.micronaut.testresources.core;
 
+import io.micronaut.context.env.Environment;
 import io.micronaut.core.value.PropertyResolver;
 
 import java.util.Collection;
@@ -22,11 +23,22 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.StreamSupport;
 
 /**
  * An utility class to deal with property resolution.
  */
 public class PropertyResolverSupport {
+    /**
+     * The key of the request property which lists the required properties
+     * that the client leaves to the server, because their values are
+     * supplied by test resources.
+     *
+     * @since 2.8.0
+     */
+    public static final String SERVER_RESOLVED_PROPERTIES = "micronaut.test.resources.server-resolved-properties";
+
     /**
      * Resolves the required properties for a particular test resources
      * resolver.
@@ -40,17 +52,68 @@ public class PropertyResolverSupport {
         PropertyResolver propertyResolver,
         TestResourcesResolver testResourcesResolver
     ) {
-        List<String> requiredProperties = testResourcesResolver.getRequiredProperties(expression);
+        return resolveRequiredProperties(testResourcesResolver.getRequiredProperties(expression), propertyResolver);
+    }
+
+    /**
+     * Resolves the values of a list of required properties, which
+     * were already fetched from a test resources resolver.
+     * @param requiredProperties the required properties
+     * @param propertyResolver the property resolver
+     * @return the resolved properties
+     * @since 2.8.0
+     */
+    public static Map<String, Object> resolveRequiredProperties(
+        List<String> requiredProperties,
+        PropertyResolver propertyResolver
+    ) {
+        return resolveRequiredProperties(requiredProperties, propertyResolver, property -> true);
+    }
+
+    /**
+     * Resolves the values of the required properties which match
+     * a filter.
+     * @param requiredProperties the required properties
+     * @param propertyResolver the property resolver
+     * @param filter the properties to resolve
+     * @return the resolved properties
+     * @since 2.8.0
+     */
+    public static Map<String, Object> resolveRequiredProperties(
+        List<String> requiredProperties,
+        PropertyResolver propertyResolver,
+        Predicate<String> filter
+    ) {
         Map<String, Object> props = new HashMap<>(requiredProperties.size() + 1);
         propertyResolver.getProperty(Scope.PROPERTY_KEY, String.class).ifPresent(scope -> props.put(Scope.PROPERTY_KEY, scope));
         for (String property : requiredProperties) {
-            propertyResolver.getProperty(property, Object.class).ifPresent(value ->
-                props.put(property, value)
-            );
+            if (filter.test(property)) {
+                propertyResolver.getProperty(property, Object.class).ifPresent(value ->
+                    props.put(property, value)
+                );
+            }
         }
         return Collections.unmodifiableMap(props);
     }
 
+    /**
+     * Determines if the value of a property is supplied by test resources,
+     * rather than by the application configuration.
+     * @param propertyResolver the property resolver
+     * @param property the property
+     * @return true if test resources supplies the value of the property
+     * @since 2.8.0
+     */
+    public static boolean isSuppliedByTestResources(PropertyResolver propertyResolver, String property) {
+        if (propertyResolver instanceof Environment environment) {
+            return environment.getPropertySources()
+                .stream()
+                .filter(source -> LazyTestResourcesPropertySourceLoader.PROPERTY_SOURCE_NAME.equals(source.getName()))
+                .anyMatch(source -> StreamSupport.stream(source.spliterator(), false).anyMatch(property::equals));
+        }
+        return false;
+    }
+
     /**
      * Determines if a test resources resolver can resolve a particular
      * expression.
@@ -0,0 +1,105 @@
+package io.micronaut.testresources.core
+
+import spock.lang.Specification
+
+class CborCodecTest extends Specification {
+
+    def "round trips #value"() {
+        expect:
+        decode(CborCodec.encode(value)) == expected
+
+        where:
+        value                                                  | expected
+        null                                                   | null
+        true                                                   | true
+        false                                                  | false
+        0                                                      | 0
+        23                                                     | 23
+        24                                                     | 24
+        65536                                                  | 65536
+        -1                                                     | -1
+        -1000                                                  | -1000
+        Long.MAX_VALUE                                         | Long.MAX_VALUE
+        Long.MIN_VALUE                                         | Long.MIN_VALUE
+        1.5d                                                   | 1.5d
+        ""                                                     | ""
+        "hello"                                                | "hello"
+        "héllo ☃"                                    | "héllo ☃"
+        "x" * 300                                              | "x" * 300
+        ["a", 1, null]                                         | ["a", 1, null]
+        [a: [b: ["c", "d"]], e: 1]                             | [a: [b: ["c", "d"]], e: 1]
+        [1: "one"]                                             | ["1": "one"]
+        new StringBuilder("builder")                           | "builder"
+    }
+
+    def "decodes integers which fit in an int as Integer, like JSON"() {
+        expect:
+        decode(CborCodec.encode(value)).getClass() == type
+
+        where:
+        value                       | type
+        3                           | Integer
+        Integer.MAX_VALUE           | Integer
+        Integer.MIN_VALUE           | Integer
+        Integer.MAX_VALUE + 1L      | Long
+        Integer.MIN_VALUE - 1L      | Long
+    }
+
+    def "encodes known values"() {
+        expect:
+        CborCodec.encode(value).encodeHex().toString() == hex
+
+        // Examples from RFC 8949, appendix A
+        where:
+        value          | hex
+        0              | '00'
+        10             | '0a'
+        100            | '1864'
+        1000           | '1903e8'
+        -10            | '29'
+        "IETF"         | '6449455446'
+        [1, [2, 3]]    | '8201820203'
+        [a: 1, b: [2]] | 'a261610161628102'
+    }
+
+    def "decodes values encoded by other implementations"() {
+        expect:
+        decode(hex.decodeHex()) == expected
+
+        // Examples from RFC 8949, appendix A
+        where:
+        hex                                | expected
+        'f93c00'                           | 1.0d
+        'f9c400'                           | -4.0d
+        'fa47c35000'                       | 100000.0d
+        '1bffffffffffffffff'               | new BigInteger("18446744073709551615")
+        'c074323031332d30332d32315432303a' +
+            '30343a30305a'                 | "2013-03-21T20:04:00Z"
+        '9f018202039f0405ffff'             | [1, [2, 3], [4, 5]]
+        'bf61610161629f0203ffff'           | [a: 1, b: [2, 3]]
+        '7f657374726561646d696e67ff'       | "streaming"
+        'f7'                               | null
+    }
+
+    def "reads a single value from a stream"() {
+        def stream = new ByteArrayInputStream(CborCodec.encode("first") + CborCodec.encode("second"))
+
+        expect:
+        CborCodec.decode(stream) == "first"
+        CborCodec.decode(stream) == "second"
+    }
+
+    def "reports truncated data"() {
+        def bytes = CborCodec.encode([a: "value"])
+
+        when:
+        decode(bytes[0..<bytes.length - 1] as byte[])
+
+        then:
+        thrown(EOFException)
+    }
+
+    private static Object decode(byte[] bytes) {
+        CborCodec.decode(new ByteArrayInputStream(bytes))
+    }
+}
@@ -16,6 +16,7 @@
 package io.micronaut.testresources.elasticsearch;
 
 import io.micronaut.testresources.testcontainers.AbstractTestContainersProvider;
+import io.micronaut.testresources.testcontainers.TunedProfileSupport;
 import org.testcontainers.elasticsearch.ElasticsearchContainer;
 import org.testcontainers.utility.DockerImageName;
 
@@ -35,6 +36,9 @@ public class ElasticsearchTestResourceProvider extends AbstractTestContainersPro
     public static final String DEFAULT_IMAGE = "docker.elastic.co/elasticsearch/elasticsearch";
     public static final String DEFAULT_TAG = "8.4.3";
     public static final String DISPLAY_NAME = "Elasticsearch";
+    public static final String DEFAULT_HEAP_SIZE = TunedProfileSupport.DEFAULT_HEAP_SIZE;
+
+    private static final int HTTP_PORT = 9200;
 
     @Override
     public List<String> getResolvableProperties(Map<String, Collection<String>> propertyEntries, Map<String, Object> testResourcesConfig) {
@@ -64,9 +68,34 @@ public class ElasticsearchTestResourceProvider extends AbstractTestContainersPro
         }
         ElasticsearchContainer elasticsearchContainer = new ElasticsearchContainer(imageName);
         elasticsearchContainer.withEnv("xpack.security.enabled", "false");
+        if (TunedProfileSupport.isTunedProfileEnabled(SIMPLE_NAME, testResourcesConfig)) {
+            applyTunedProfile(elasticsearchContainer, imageName, TunedProfileSupport.heapSizeOf(SIMPLE_NAME, testResourcesConfig));
+        }
         return elasticsearchContainer;
     }
 
+    /**
+     * Configures the container so that it starts as fast as possible as a
+     * single node cluster: the heap is bounded, disk watermarks are ignored,
+     * features which aren't needed for tests are disabled and the container
+     * is only considered ready once the cluster can serve requests.
+     *
+     * @param container the container to configure
+     * @param imageName the image of the container
+     * @param heapSize the heap size, for example <code>512m</code>
+     */
+    static void applyTunedProfile(ElasticsearchContainer container, DockerImageName imageName, String heapSize) {
+        container.withEnv("ES_JAVA_OPTS", "-Xms" + heapSize + " -Xmx" + heapSize)
+            .withEnv("discovery.type", "single-node")
+            .withEnv("cluster.routing.allocation.disk.threshold_enabled", "false");
+        if (!imageName.getRepository().endsWith("-oss")) {
+            // OSS images do not ship x-pack and would reject these settings
+            container.withEnv("xpack.ml.enabled", "false")
+                .withEnv("xpack.watcher.enabled", "false");
+        }
+        container.waitingFor(TunedProfileSupport.clusterHealthWaitStrategy(HTTP_PORT));
+    }
+
     @Override
     protected Optional<String> resolveProperty(String propertyName, ElasticsearchContainer container) {
         if (ELASTICSEARCH_HOSTS.equals(propertyName)) {
@@ -0,0 +1,22 @@
+package io.micronaut.testresources.elasticsearch
+
+import org.testcontainers.elasticsearch.ElasticsearchContainer
+import org.testcontainers.utility.DockerImageName
+import spock.lang.Specification
+
+class ElasticsearchTunedProfileTest extends Specification {
+
+    def "configures a bounded heap and single node discovery"() {
+        def imageName = DockerImageName.parse(ElasticsearchTestResourceProvider.DEFAULT_IMAGE).withTag(ElasticsearchTestResourceProvider.DEFAULT_TAG)
+        def container = new ElasticsearchContainer(imageName)
+
+        when:
+        ElasticsearchTestResourceProvider.applyTunedProfile(container, imageName, '256m')
+
+        then:
+        container.envMap['ES_JAVA_OPTS'] == '-Xms256m -Xmx256m'
+        container.envMap['discovery.type'] == 'single-node'
+        container.envMap['cluster.routing.allocation.disk.threshold_enabled'] == 'false'
+        container.envMap['xpack.ml.enabled'] == 'false'
+    }
+}
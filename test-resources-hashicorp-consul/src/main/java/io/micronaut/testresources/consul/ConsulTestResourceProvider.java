@@ -15,10 +15,18 @@
  */
 package io.micronaut.testresources.consul;
 
+import io.micronaut.testresources.core.TestResourcesResolutionException;
 import io.micronaut.testresources.testcontainers.AbstractTestContainersProvider;
 import org.testcontainers.consul.ConsulContainer;
 import org.testcontainers.utility.DockerImageName;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -36,12 +44,15 @@ public class ConsulTestResourceProvider extends AbstractTestContainersProvider<C
         PROPERTY_CONSUL_CLIENT_PORT
     ));
     public static final String HASHICORP_CONSUL_KV_PROPERTIES_KEY = "containers.hashicorp-consul.kv-properties";
+    public static final String HASHICORP_CONSUL_KV_KEY = "containers.hashicorp-consul.kv";
     public static final String SIMPLE_NAME = "hashicorp-consul";
     public static final String DEFAULT_IMAGE = "hashicorp/consul";
     public static final String DISPLAY_NAME = "Consul";
 
     public static final int CONSUL_HTTP_PORT = 8500;
 
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
     @Override
     public List<String> getResolvableProperties(Map<String, Collection<String>> propertyEntries, Map<String, Object> testResourcesConfig) {
         return RESOLVABLE_PROPERTIES_LIST;
@@ -64,20 +75,75 @@ public class ConsulTestResourceProvider extends AbstractTestContainersProvider<C
 
     @Override
     protected ConsulContainer createContainer(DockerImageName imageName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
-        ConsulContainer consulContainer = new ConsulContainer(imageName);
+        ConsulContainer consulContainer = new KeyValueAwareConsulContainer(imageName, keyValuesFrom(testResourcesConfig));
         // Micronaut Discovery Consul will only listen to the default port 8500
         consulContainer.setPortBindings(Collections.singletonList(CONSUL_HTTP_PORT + ":" + CONSUL_HTTP_PORT));
+        return consulContainer;
+    }
 
-        // Set startup properties
-        if (testResourcesConfig.containsKey(HASHICORP_CONSUL_KV_PROPERTIES_KEY)) {
-            @SuppressWarnings("unchecked")
-            List<String> properties = (List<String>) testResourcesConfig.get(HASHICORP_CONSUL_KV_PROPERTIES_KEY);
-            if(null != properties && !properties.isEmpty()) {
-                properties.stream().forEach((property) -> consulContainer.withConsulCommand("kv put " + property.replace("=", " ")));
+    /**
+     * Reads the key/values to write into Consul at startup. They can be declared
+     * as <code>key=value</code> strings using the <code>kv-properties</code> key, or
+     * using the <code>kv</code> key, either as a list of maps of keys to values, or as
+     * the location of a properties file, on the classpath or on disk.
+     *
+     * @param testResourcesConfig the test resources configuration
+     * @return the key/values
+     */
+    static Map<String, String> keyValuesFrom(Map<String, Object> testResourcesConfig) {
+        Map<String, String> keyValues = new LinkedHashMap<>();
+        Object properties = testResourcesConfig.get(HASHICORP_CONSUL_KV_PROPERTIES_KEY);
+        if (properties instanceof List<?> list) {
+            list.forEach(property -> addKeyValue(keyValues, String.valueOf(property)));
+        }
+        Object kv = testResourcesConfig.get(HASHICORP_CONSUL_KV_KEY);
+        if (kv instanceof List<?> list) {
+            for (Object entry : list) {
+                if (entry instanceof Map<?, ?> map) {
+                    map.forEach((k, v) -> keyValues.put(String.valueOf(k), String.valueOf(v)));
+                } else {
+                    addKeyValue(keyValues, String.valueOf(entry));
+                }
             }
+        } else if (kv != null) {
+            Properties seed = loadSeedFile(String.valueOf(kv));
+            seed.stringPropertyNames()
+                .stream()
+                .sorted()
+                .forEach(key -> keyValues.put(key, seed.getProperty(key)));
         }
+        return keyValues;
+    }
 
-        return consulContainer;
+    private static void addKeyValue(Map<String, String> keyValues, String property) {
+        int idx = property.indexOf('=');
+        if (idx < 0) {
+            throw new IllegalArgumentException("Invalid Consul key/value '" + property + "'. Expected key=value");
+        }
+        keyValues.put(property.substring(0, idx), property.substring(idx + 1));
+    }
+
+    private static Properties loadSeedFile(String location) {
+        Properties properties = new Properties();
+        try (InputStream stream = openSeedFile(location);
+             Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new TestResourcesResolutionException("Unable to read Consul key/values from " + location, e);
+        }
+        return properties;
+    }
+
+    private static InputStream openSeedFile(String location) throws IOException {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            String resource = location.substring(CLASSPATH_PREFIX.length());
+            InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource);
+            if (stream == null) {
+                throw new TestResourcesResolutionException("Unable to find classpath resource " + resource + " configured in 'test-resources." + HASHICORP_CONSUL_KV_KEY + "'");
+            }
+            return stream;
+        }
+        return Files.newInputStream(Path.of(location));
     }
 
     @Override
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.consul;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import io.micronaut.testresources.core.TestResourcesResolutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.consul.ConsulContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A Consul container which writes the configured key/values using
+ * the transaction API once Consul is started, so that all keys are
+ * available before the container is reported as ready.
+ */
+final class KeyValueAwareConsulContainer extends ConsulContainer {
+    /**
+     * The maximum number of operations that Consul accepts in a single transaction.
+     */
+    static final int MAX_OPERATIONS_PER_TRANSACTION = 64;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyValueAwareConsulContainer.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final Map<String, String> keyValues;
+
+    KeyValueAwareConsulContainer(DockerImageName imageName, Map<String, String> keyValues) {
+        super(imageName);
+        this.keyValues = keyValues;
+    }
+
+    @Override
+    protected void containerIsStarted(InspectContainerResponse containerInfo) {
+        super.containerIsStarted(containerInfo);
+        if (!keyValues.isEmpty()) {
+            writeKeyValues();
+        }
+    }
+
+    private void writeKeyValues() {
+        URI uri = URI.create("http://" + getHost() + ":" + getMappedPort(ConsulTestResourceProvider.CONSUL_HTTP_PORT) + "/v1/txn");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+        List<String> transactions = transactionsOf(keyValues);
+        LOGGER.debug("Writing {} Consul keys in {} transaction(s)", keyValues.size(), transactions.size());
+        for (String transaction : transactions) {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(transaction))
+                .build();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new TestResourcesResolutionException("Unable to write Consul key/values (status " + response.statusCode() + "): " + response.body());
+                }
+            } catch (IOException e) {
+                throw new TestResourcesResolutionException("Unable to write Consul key/values", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TestResourcesResolutionException("Interrupted while writing Consul key/values", e);
+            }
+        }
+    }
+
+    /**
+     * Converts key/values into the JSON bodies of transaction requests,
+     * each of them containing at most {@link #MAX_OPERATIONS_PER_TRANSACTION}
+     * operations.
+     *
+     * @param keyValues the key/values to write
+     * @return the transaction bodies
+     */
+    static List<String> transactionsOf(Map<String, String> keyValues) {
+        List<String> operations = keyValues.entrySet()
+            .stream()
+            .map(e -> "{\"KV\":{\"Verb\":\"set\",\"Key\":" + jsonString(e.getKey()) + ",\"Value\":\""
+                      + Base64.getEncoder().encodeToString(e.getValue().getBytes(StandardCharsets.UTF_8)) + "\"}}")
+            .toList();
+        List<String> transactions = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i += MAX_OPERATIONS_PER_TRANSACTION) {
+            List<String> batch = operations.subList(i, Math.min(i + MAX_OPERATIONS_PER_TRANSACTION, operations.size()));
+            transactions.add(batch.stream().collect(Collectors.joining(",", "[", "]")));
+        }
+        return transactions;
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,32 @@
+package io.micronaut.testresources.consul
+
+import spock.lang.Specification
+
+class ConsulKeyValuesTest extends Specification {
+
+    def "reads key/values from all supported notations"() {
+        expect:
+        ConsulTestResourceProvider.keyValuesFrom([
+                'containers.hashicorp-consul.kv-properties': ['a=1', 'b=x=y'],
+                'containers.hashicorp-consul.kv'           : [[c: '3', 'd/e': 'f'], 'g=4']
+        ]) == [a: '1', b: 'x=y', c: '3', 'd/e': 'f', g: '4']
+    }
+
+    def "splits transactions in batches of 64 operations"() {
+        def keyValues = (1..130).collectEntries { ["key$it".toString(), "value$it".toString()] }
+
+        when:
+        def transactions = KeyValueAwareConsulContainer.transactionsOf(keyValues)
+
+        then:
+        transactions.size() == 3
+        transactions[0].startsWith('[{"KV":{"Verb":"set","Key":"key1","Value":"' + 'value1'.bytes.encodeBase64() + '"}}')
+        transactions[2].count('"Verb"') == 2
+    }
+
+    def "escapes keys"() {
+        expect:
+        KeyValueAwareConsulContainer.transactionsOf(['a"b\\c': 'v']) == ['[{"KV":{"Verb":"set","Key":"a\\"b\\\\c","Value":"dg=="}}]']
+    }
+
+}
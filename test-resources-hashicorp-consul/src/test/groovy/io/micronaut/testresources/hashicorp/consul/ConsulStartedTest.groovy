@@ -49,4 +49,14 @@ class ConsulStartedTest extends AbstractTestContainersSpec {
         "test-value" == new String(Base64.getDecoder().decode(testKeyKeyValues[0].value))
         "test-value2" == new String(Base64.getDecoder().decode(testKey2KeyValues[0].value))
     }
+
+    def "get consul kv entries written in a transaction"() {
+        given:
+        def testKey3KeyValues = Flux.from(consulClient.readValues("test-key3")).blockFirst()
+        def dataKeyValues = Flux.from(consulClient.readValues("config/consul-test/data")).blockFirst()
+
+        expect:
+        "test-value3" == new String(Base64.getDecoder().decode(testKey3KeyValues[0].value))
+        "a=b" == new String(Base64.getDecoder().decode(dataKeyValues[0].value))
+    }
 }
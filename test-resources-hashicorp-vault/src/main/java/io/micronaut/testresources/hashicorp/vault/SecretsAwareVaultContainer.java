@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.hashicorp.vault;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import io.micronaut.testresources.core.TestResourcesResolutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.vault.VaultContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A Vault container which writes all configured secrets in a single
+ * exec call once Vault is started. The hash of the secrets is stored
+ * in the container, so that a reused container which already contains
+ * the same secrets is not seeded again.
+ */
+final class SecretsAwareVaultContainer extends VaultContainer<SecretsAwareVaultContainer> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecretsAwareVaultContainer.class);
+    private static final String HASH_FILE = "/tmp/micronaut-test-resources-secrets.sha256";
+
+    private final Map<String, Map<String, String>> secrets;
+
+    SecretsAwareVaultContainer(DockerImageName imageName, Map<String, Map<String, String>> secrets) {
+        super(imageName);
+        this.secrets = secrets;
+    }
+
+    @Override
+    protected void containerIsStarted(InspectContainerResponse containerInfo) {
+        super.containerIsStarted(containerInfo);
+        if (!secrets.isEmpty()) {
+            writeSecrets();
+        }
+    }
+
+    private void writeSecrets() {
+        String script = seedScriptOf(secrets);
+        LOGGER.debug("Writing secrets to {} Vault paths", secrets.size());
+        try {
+            ExecResult result = execInContainer("/bin/sh", "-c", script);
+            if (result.getExitCode() != 0) {
+                throw new TestResourcesResolutionException("Unable to write secrets to Vault: " + result.getStderr());
+            }
+        } catch (IOException e) {
+            throw new TestResourcesResolutionException("Unable to write secrets to Vault", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestResourcesResolutionException("Interrupted while writing secrets to Vault", e);
+        }
+    }
+
+    /**
+     * Generates a shell script which writes all secrets, unless
+     * the container was already seeded with the same secrets.
+     *
+     * @param secrets the secrets, grouped by path
+     * @return the script
+     */
+    static String seedScriptOf(Map<String, Map<String, String>> secrets) {
+        String commands = secrets.entrySet()
+            .stream()
+            .map(e -> "vault kv put " + quote(e.getKey()) + " " + e.getValue().entrySet()
+                .stream()
+                .map(kv -> quote(kv.getKey() + "=" + kv.getValue()))
+                .collect(Collectors.joining(" ")))
+            .collect(Collectors.joining(" && "));
+        String hash = sha256(commands);
+        return "if [ \"$(cat " + HASH_FILE + " 2>/dev/null)\" = \"" + hash + "\" ]; then exit 0; fi; "
+               + commands + " && echo " + hash + " > " + HASH_FILE;
+    }
+
+    /**
+     * Merges secrets which target the same path, so that a path is
+     * written only once.
+     *
+     * @param secrets the secrets
+     * @param path the path
+     * @param entries the entries to add to the path
+     */
+    static void addSecrets(Map<String, Map<String, String>> secrets, String path, Map<String, String> entries) {
+        secrets.computeIfAbsent(path, unused -> new LinkedHashMap<>()).putAll(entries);
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "'\"'\"'") + "'";
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
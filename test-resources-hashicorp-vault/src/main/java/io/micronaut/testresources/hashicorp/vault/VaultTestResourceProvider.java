@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -70,19 +71,46 @@ public class VaultTestResourceProvider extends AbstractTestContainersProvider<Va
 
     @Override
     protected VaultContainer<?> createContainer(DockerImageName imageName, Map<String, Object> properties, Map<String, Object> testResourcesConfig) {
-        VaultContainer<?> container = new VaultContainer<>(imageName);
+        VaultContainer<?> container = new SecretsAwareVaultContainer(imageName, secretsFrom(testResourcesConfig));
         container.withVaultToken(testResourcesConfig.getOrDefault(HASHICORP_VAULT_TOKEN_KEY, VAULT_CLIENT_TOKEN_VALUE).toString());
+        return container;
+    }
 
-        if (testResourcesConfig.containsKey(TEST_RESOURCES_CONTAINERS_PATH_KEY) && testResourcesConfig.containsKey(HASHICORP_VAULT_SECRETS_KEY)) {
-            @SuppressWarnings("unchecked")
-            List<String> secrets = (List<String>) testResourcesConfig.get(HASHICORP_VAULT_SECRETS_KEY);
-            container.withSecretInVault(
-                testResourcesConfig.get(TEST_RESOURCES_CONTAINERS_PATH_KEY).toString(),
-                secrets.get(0),
-                secrets.subList(1, secrets.size()).toArray(new String[0])
-            );
+    /**
+     * Reads the secrets to write into Vault, grouped by path. Secrets can either be
+     * declared as a list of <code>key=value</code> strings written to the configured
+     * path, or as a list of maps of path to key/value entries.
+     *
+     * @param testResourcesConfig the test resources configuration
+     * @return the secrets, grouped by path
+     */
+    static Map<String, Map<String, String>> secretsFrom(Map<String, Object> testResourcesConfig) {
+        Map<String, Map<String, String>> secrets = new LinkedHashMap<>();
+        Object configured = testResourcesConfig.get(HASHICORP_VAULT_SECRETS_KEY);
+        if (!(configured instanceof List<?> list)) {
+            return secrets;
         }
-        return container;
+        Object path = testResourcesConfig.get(TEST_RESOURCES_CONTAINERS_PATH_KEY);
+        for (Object entry : list) {
+            if (entry instanceof Map<?, ?> map) {
+                for (Map.Entry<?, ?> pathEntry : map.entrySet()) {
+                    if (!(pathEntry.getValue() instanceof Map<?, ?> values)) {
+                        throw new IllegalArgumentException("Secrets for path '" + pathEntry.getKey() + "' in 'test-resources." + HASHICORP_VAULT_SECRETS_KEY + "' must be a map of keys to values");
+                    }
+                    Map<String, String> entries = new LinkedHashMap<>();
+                    values.forEach((k, v) -> entries.put(String.valueOf(k), String.valueOf(v)));
+                    SecretsAwareVaultContainer.addSecrets(secrets, String.valueOf(pathEntry.getKey()), entries);
+                }
+            } else if (path != null) {
+                String secret = String.valueOf(entry);
+                int idx = secret.indexOf('=');
+                if (idx < 0) {
+                    throw new IllegalArgumentException("Invalid secret '" + secret + "' in 'test-resources." + HASHICORP_VAULT_SECRETS_KEY + "'. Expected key=value");
+                }
+                SecretsAwareVaultContainer.addSecrets(secrets, path.toString(), Map.of(secret.substring(0, idx), secret.substring(idx + 1)));
+            }
+        }
+        return secrets;
     }
 
     @Override
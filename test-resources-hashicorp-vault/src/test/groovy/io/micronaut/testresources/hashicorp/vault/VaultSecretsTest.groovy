@@ -0,0 +1,48 @@
+package io.micronaut.testresources.hashicorp.vault
+
+import spock.lang.Specification
+
+class VaultSecretsTest extends Specification {
+
+    def "reads flat and structured secrets"() {
+        when:
+        def secrets = VaultTestResourceProvider.secretsFrom([
+                'containers.hashicorp-vault.path'   : 'secret/app',
+                'containers.hashicorp-vault.secrets': [
+                        'key1=value1',
+                        [
+                                'secret/app'  : [key2: 'value2'],
+                                'secret/other': [password: "it's=secret"]
+                        ]
+                ]
+        ])
+
+        then:
+        secrets == [
+                'secret/app'  : [key1: 'value1', key2: 'value2'],
+                'secret/other': [password: "it's=secret"]
+        ]
+    }
+
+    def "writes all secrets in a single script guarded by a hash"() {
+        when:
+        def script = SecretsAwareVaultContainer.seedScriptOf([
+                'secret/app'  : [key1: 'value1', key2: 'value2'],
+                'secret/other': [password: "it's"]
+        ])
+
+        then:
+        script.contains("vault kv put 'secret/app' 'key1=value1' 'key2=value2' && vault kv put 'secret/other' 'password=it'\"'\"'s'")
+        script.startsWith('if [ "$(cat /tmp/micronaut-test-resources-secrets.sha256 2>/dev/null)" = "')
+
+        and: "the hash only depends on the secrets"
+        script == SecretsAwareVaultContainer.seedScriptOf([
+                'secret/app'  : [key1: 'value1', key2: 'value2'],
+                'secret/other': [password: "it's"]
+        ])
+        script != SecretsAwareVaultContainer.seedScriptOf([
+                'secret/app': [key1: 'value1']
+        ])
+    }
+
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2017-2021 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.jdbc;
+
+import com.github.dockerjava.api.exception.NotFoundException;
+import io.micronaut.testresources.testcontainers.DockerSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utility methods shared by the Oracle test resource providers, which
+ * are responsible for selecting the fastest image variant and tuning
+ * the database instance memory.
+ *
+ * @since 2.8.0
+ */
+public final class OracleContainerSupport {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OracleContainerSupport.class);
+
+    private static final Set<String> FASTSTART_REPOSITORIES = Set.of("gvenzl/oracle-free", "gvenzl/oracle-xe");
+    private static final String FASTSTART = "faststart";
+    private static final String LATEST = "latest";
+    private static final String SLIM = "slim";
+    private static final String FULL = "full";
+
+    private static final String FASTSTART_KEY = "faststart";
+    private static final String SLIM_KEY = "slim";
+    private static final String SGA_TARGET_KEY = "sga-target";
+    private static final String PGA_AGGREGATE_TARGET_KEY = "pga-aggregate-target";
+
+    private static final Pattern MEMORY_SIZE = Pattern.compile("\\d+[KMG]?", Pattern.CASE_INSENSITIVE);
+    private static final String MEMORY_TUNING_SCRIPT = "/tmp/micronaut-memory-tuning.sh";
+    private static final String CONTAINER_ENTRYPOINT = "container-entrypoint.sh";
+    private static final int EXECUTABLE_FILE_MODE = 0755;
+
+    private static final String DOCKER_HUB_REGISTRY = "docker.io";
+    private static final String DOCKER_HUB_TOKEN_URI = "https://auth.docker.io/token?service=registry.docker.io&scope=repository:%s:pull";
+    private static final String DOCKER_HUB_MANIFEST_URI = "https://registry-1.docker.io/v2/%s/manifests/%s";
+    private static final String MANIFEST_MEDIA_TYPES = String.join(",",
+        "application/vnd.oci.image.index.v1+json",
+        "application/vnd.docker.distribution.manifest.list.v2+json",
+        "application/vnd.oci.image.manifest.v1+json",
+        "application/vnd.docker.distribution.manifest.v2+json"
+    );
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Duration REGISTRY_TIMEOUT = Duration.ofSeconds(5);
+    private static final int HTTP_OK = 200;
+
+    private OracleContainerSupport() {
+
+    }
+
+    /**
+     * Returns the image which should be used to start the Oracle container.
+     * If the configured image is a Gerald Venzl image which doesn't use a
+     * faststart variant, then the faststart variant is preferred, as long
+     * as it is either present locally or published on Docker Hub.
+     * Otherwise, the configured image is used. Checking the registry only
+     * fetches the image manifest, the image itself is pulled when the
+     * container is started.
+     *
+     * @param imageName the configured image name
+     * @param simpleName the simple name of the test resource provider
+     * @param testResourcesConfig the test resources configuration
+     * @return the image to use
+     */
+    public static DockerImageName selectImage(DockerImageName imageName,
+                                              String simpleName,
+                                              Map<String, Object> testResourcesConfig) {
+        if (!booleanValue(testResourcesConfig, keyOf(simpleName, FASTSTART_KEY), true)) {
+            return imageName;
+        }
+        boolean slim = booleanValue(testResourcesConfig, keyOf(simpleName, SLIM_KEY), false);
+        Optional<DockerImageName> faststart = faststartVariantOf(imageName, slim);
+        if (faststart.isEmpty() || !DockerSupport.isDockerAvailable()) {
+            return imageName;
+        }
+        DockerImageName candidate = faststart.get();
+        if (isPresentLocally(candidate) || isPublished(candidate)) {
+            LOGGER.info("Using image {} instead of {}", candidate, imageName);
+            return candidate;
+        }
+        LOGGER.warn("Image {} is not available, falling back to {}", candidate, imageName);
+        return imageName;
+    }
+
+    /**
+     * Computes the faststart variant of an image, if the image supports it.
+     * For example, <code>gvenzl/oracle-free:23</code> will return
+     * <code>gvenzl/oracle-free:23-faststart</code>, or <code>gvenzl/oracle-free:23-slim-faststart</code>
+     * if slim images are preferred.
+     *
+     * @param imageName the image name
+     * @param slim if the slim variant, which doesn't include optional components, should be preferred
+     * @return the faststart variant, or empty if the image doesn't support it or is already a faststart image
+     */
+    public static Optional<DockerImageName> faststartVariantOf(DockerImageName imageName, boolean slim) {
+        if (!FASTSTART_REPOSITORIES.contains(imageName.getRepository())) {
+            return Optional.empty();
+        }
+        String tag = imageName.getVersionPart();
+        if (tag.contains(":") || tag.endsWith(FASTSTART)) {
+            // digest or already a faststart image
+            return Optional.empty();
+        }
+        String variant;
+        if (tag.equals(LATEST)) {
+            variant = slim ? SLIM + "-" + FASTSTART : LATEST + "-" + FASTSTART;
+        } else if (tag.equals(SLIM) || tag.equals(FULL) || tag.endsWith("-" + SLIM) || tag.endsWith("-" + FULL)) {
+            variant = tag + "-" + FASTSTART;
+        } else {
+            variant = slim ? tag + "-" + SLIM + "-" + FASTSTART : tag + "-" + FASTSTART;
+        }
+        return Optional.of(imageName.withTag(variant));
+    }
+
+    /**
+     * Configures the SGA and PGA sizes of the database instance, if
+     * configured. The sizes are written to the server parameter file
+     * before the container entrypoint starts the instance, so that the
+     * database starts with them instead of being reconfigured once open.
+     *
+     * @param container the Oracle container
+     * @param simpleName the simple name of the test resource provider
+     * @param testResourcesConfig the test resources configuration
+     */
+    public static void configureMemory(GenericContainer<?> container,
+                                       String simpleName,
+                                       Map<String, Object> testResourcesConfig) {
+        memoryTuningScriptOf(simpleName, testResourcesConfig).ifPresent(script -> container
+            .withCopyToContainer(Transferable.of(script.getBytes(StandardCharsets.UTF_8), EXECUTABLE_FILE_MODE), MEMORY_TUNING_SCRIPT)
+            .withCreateContainerCmdModifier(cmd -> cmd.withEntrypoint("/bin/bash", MEMORY_TUNING_SCRIPT)));
+    }
+
+    /**
+     * Returns the script which updates the server parameter file with
+     * the configured memory sizes, then delegates to the image entrypoint.
+     * Images which don't ship an initialized database don't have a
+     * parameter file yet, in which case the sizes are ignored.
+     *
+     * @param simpleName the simple name of the test resource provider
+     * @param testResourcesConfig the test resources configuration
+     * @return the script, or empty if no memory size is configured
+     */
+    static Optional<String> memoryTuningScriptOf(String simpleName, Map<String, Object> testResourcesConfig) {
+        List<String> parameters = new ArrayList<>(2);
+        memorySizeOf(simpleName, SGA_TARGET_KEY, testResourcesConfig)
+            .ifPresent(size -> parameters.add("*.sga_target=" + size));
+        memorySizeOf(simpleName, PGA_AGGREGATE_TARGET_KEY, testResourcesConfig)
+            .ifPresent(size -> parameters.add("*.pga_aggregate_target=" + size));
+        if (parameters.isEmpty()) {
+            return Optional.empty();
+        }
+        // later entries of a parameter file override earlier ones
+        return Optional.of("#!/bin/bash\n"
+                           + "SPFILE=\"$(orabaseconfig 2>/dev/null || echo \"$ORACLE_HOME\")/dbs/spfile$ORACLE_SID.ora\"\n"
+                           + "PFILE=/tmp/micronaut-init$ORACLE_SID.ora\n"
+                           + "if [ -f \"$SPFILE\" ]; then\n"
+                           + "  sqlplus -s / as sysdba <<EOF\n"
+                           + "create pfile='$PFILE' from spfile='$SPFILE';\n"
+                           + "exit;\n"
+                           + "EOF\n"
+                           + "  cat >> \"$PFILE\" <<EOF\n"
+                           + String.join("\n", parameters) + "\n"
+                           + "EOF\n"
+                           + "  sqlplus -s / as sysdba <<EOF\n"
+                           + "create spfile='$SPFILE' from pfile='$PFILE';\n"
+                           + "exit;\n"
+                           + "EOF\n"
+                           + "else\n"
+                           + "  echo \"No server parameter file found, ignoring memory settings\"\n"
+                           + "fi\n"
+                           + "exec " + CONTAINER_ENTRYPOINT + " \"$@\"\n");
+    }
+
+    private static boolean isPresentLocally(DockerImageName image) {
+        try {
+            DockerClientFactory.lazyClient().inspectImageCmd(image.asCanonicalNameString()).exec();
+            return true;
+        } catch (NotFoundException ex) {
+            return false;
+        } catch (RuntimeException ex) {
+            LOGGER.debug("Unable to inspect image {}", image, ex);
+            return false;
+        }
+    }
+
+    private static boolean isPublished(DockerImageName image) {
+        String registry = image.getRegistry();
+        if (!registry.isEmpty() && !DOCKER_HUB_REGISTRY.equals(registry)) {
+            return false;
+        }
+        String repository = image.getRepository();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(REGISTRY_TIMEOUT).build();
+        try {
+            HttpResponse<String> tokenResponse = client.send(
+                HttpRequest.newBuilder(URI.create(DOCKER_HUB_TOKEN_URI.formatted(repository))).timeout(REGISTRY_TIMEOUT).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+            );
+            Matcher token = TOKEN.matcher(tokenResponse.body());
+            if (tokenResponse.statusCode() != HTTP_OK || !token.find()) {
+                return false;
+            }
+            HttpResponse<Void> manifest = client.send(
+                HttpRequest.newBuilder(URI.create(DOCKER_HUB_MANIFEST_URI.formatted(repository, image.getVersionPart())))
+                    .timeout(REGISTRY_TIMEOUT)
+                    .header("Authorization", "Bearer " + token.group(1))
+                    .header("Accept", MANIFEST_MEDIA_TYPES)
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .build(),
+                HttpResponse.BodyHandlers.discarding()
+            );
+            return manifest.statusCode() == HTTP_OK;
+        } catch (IOException ex) {
+            LOGGER.debug("Unable to look up image {} in the registry", image, ex);
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Optional<String> memorySizeOf(String simpleName, String key, Map<String, Object> testResourcesConfig) {
+        String fullKey = keyOf(simpleName, key);
+        Object value = testResourcesConfig.get(fullKey);
+        if (value == null) {
+            return Optional.empty();
+        }
+        String size = String.valueOf(value).trim();
+        if (!MEMORY_SIZE.matcher(size).matches()) {
+            throw new IllegalArgumentException("Invalid memory size for 'test-resources." + fullKey + "': " + size + ". Expected a value like 512M or 2G");
+        }
+        return Optional.of(size.toUpperCase(Locale.US));
+    }
+
+    private static boolean booleanValue(Map<String, Object> testResourcesConfig, String key, boolean defaultValue) {
+        Object value = testResourcesConfig.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        return Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    private static String keyOf(String simpleName, String key) {
+        return "containers." + simpleName + "." + key;
+    }
+}
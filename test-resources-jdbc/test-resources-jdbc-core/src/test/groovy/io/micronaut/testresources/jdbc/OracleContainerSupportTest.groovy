@@ -0,0 +1,52 @@
+package io.micronaut.testresources.jdbc
+
+import org.testcontainers.utility.DockerImageName
+import spock.lang.Specification
+
+class OracleContainerSupportTest extends Specification {
+
+    def "computes faststart variant of #image (slim=#slim)"() {
+        when:
+        def variant = OracleContainerSupport.faststartVariantOf(DockerImageName.parse(image), slim)
+
+        then:
+        variant.map { it.asCanonicalNameString() }.orElse(null) == expected
+
+        where:
+        image                           | slim  | expected
+        'gvenzl/oracle-free'            | false | 'gvenzl/oracle-free:latest-faststart'
+        'gvenzl/oracle-free'            | true  | 'gvenzl/oracle-free:slim-faststart'
+        'gvenzl/oracle-free:23'         | false | 'gvenzl/oracle-free:23-faststart'
+        'gvenzl/oracle-free:23'         | true  | 'gvenzl/oracle-free:23-slim-faststart'
+        'gvenzl/oracle-free:23-full'    | true  | 'gvenzl/oracle-free:23-full-faststart'
+        'gvenzl/oracle-xe:slim'         | false | 'gvenzl/oracle-xe:slim-faststart'
+        'gvenzl/oracle-xe:21-faststart' | false | null
+        'gvenzl/oracle-free:slim-faststart' | true | null
+        'container-registry.oracle.com/database/free:latest' | false | null
+    }
+
+    def "rejects invalid memory sizes"() {
+        when:
+        OracleContainerSupport.configureMemory(null, 'oracle', ['containers.oracle.sga-target': '1 gigabyte'])
+
+        then:
+        IllegalArgumentException ex = thrown()
+        ex.message.contains('test-resources.containers.oracle.sga-target')
+    }
+
+    def "writes memory sizes to the parameter file before starting the database"() {
+        when:
+        def script = OracleContainerSupport.memoryTuningScriptOf('oracle', [
+            'containers.oracle.sga-target': '512m',
+            'containers.oracle.pga-aggregate-target': '128M'
+        ]).get()
+
+        then:
+        script.contains('*.sga_target=512M\n*.pga_aggregate_target=128M')
+        script.indexOf("create spfile='\$SPFILE' from pfile='\$PFILE'") < script.indexOf('exec container-entrypoint.sh')
+        !script.contains('SCOPE=MEMORY')
+
+        and:
+        OracleContainerSupport.memoryTuningScriptOf('oracle', [:]).empty
+    }
+}
@@ -16,6 +16,7 @@
 package io.micronaut.testresources.oracle.xe;
 
 import io.micronaut.testresources.jdbc.AbstractJdbcTestResourceProvider;
+import io.micronaut.testresources.jdbc.OracleContainerSupport;
 import org.testcontainers.containers.OracleContainer;
 import org.testcontainers.utility.DockerImageName;
 
@@ -79,7 +80,9 @@ public class OracleXETestResourceProvider extends AbstractJdbcTestResourceProvid
 
     @Override
     protected OracleContainer createContainer(DockerImageName imageName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
-        return new OracleContainer(imageName);
+        OracleContainer container = new OracleContainer(OracleContainerSupport.selectImage(imageName, getSimpleName(), testResourcesConfig));
+        OracleContainerSupport.configureMemory(container, getSimpleName(), testResourcesConfig);
+        return container;
     }
 
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.postgres;
+
+import io.micronaut.testresources.core.TestResourcesResolutionException;
+import io.micronaut.testresources.testcontainers.SeedDataLoader;
+import io.micronaut.testresources.testcontainers.SeedFixture;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Loads CSV files into PostgreSQL tables using the <code>COPY</code> command,
+ * which is much faster than executing <code>INSERT</code> statements. The files
+ * are declared under the <code>containers.postgres.copy</code> key, mapping
+ * table names to file locations. They are copied into the container, then
+ * loaded server-side, all tables in parallel.
+ *
+ * @since 2.8.0
+ */
+public final class PostgreSQLCopyLoader implements SeedDataLoader {
+    public static final String COPY_KEY = "containers.postgres.copy";
+
+    private static final String SIMPLE_NAME = "postgres";
+    private static final String COPY_DIR = "/tmp/micronaut-test-resources/copy/";
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*(\\.[A-Za-z_][A-Za-z0-9_$]*)?");
+    private static final int MAX_PARALLELISM = 4;
+
+    @Override
+    public boolean appliesTo(String containerName) {
+        return SIMPLE_NAME.equals(containerName);
+    }
+
+    @Override
+    public List<SeedFixture> getFixtures(Map<String, Object> testResourcesConfig) {
+        Map<String, String> tables = new LinkedHashMap<>();
+        Object copy = testResourcesConfig.get(COPY_KEY);
+        if (copy instanceof List<?> list) {
+            for (Object entry : list) {
+                if (!(entry instanceof Map<?, ?> map)) {
+                    throw new IllegalArgumentException("Entries of 'test-resources." + COPY_KEY + "' must map a table name to a CSV file");
+                }
+                map.forEach((table, file) -> tables.put(String.valueOf(table), String.valueOf(file)));
+            }
+        }
+        String prefix = COPY_KEY + ".";
+        testResourcesConfig.forEach((key, value) -> {
+            if (key.startsWith(prefix)) {
+                tables.put(key.substring(prefix.length()), String.valueOf(value));
+            }
+        });
+        return tables.entrySet()
+            .stream()
+            .map(e -> new SeedFixture(checkTableName(e.getKey()), e.getValue()))
+            .toList();
+    }
+
+    @Override
+    public void load(GenericContainer<?> container, List<SeedFixture> fixtures, Map<String, Object> testResourcesConfig) throws IOException, InterruptedException {
+        if (!(container instanceof PostgreSQLContainer<?> postgres)) {
+            throw new TestResourcesResolutionException("Cannot load CSV files using COPY into container " + container.getDockerImageName());
+        }
+        List<String> paths = new ArrayList<>(fixtures.size());
+        for (SeedFixture fixture : fixtures) {
+            String path = COPY_DIR + paths.size() + ".csv";
+            copyToContainer(postgres, fixture, path);
+            paths.add(path);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(fixtures.size(), MAX_PARALLELISM));
+        try {
+            List<Future<Container.ExecResult>> results = new ArrayList<>(fixtures.size());
+            for (int i = 0; i < fixtures.size(); i++) {
+                String[] command = copyCommandOf(postgres, fixtures.get(i).name(), paths.get(i));
+                results.add(executor.submit(() -> postgres.execInContainer(command)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Container.ExecResult result = results.get(i).get();
+                if (result.getExitCode() != 0) {
+                    throw new TestResourcesResolutionException("Unable to load " + fixtures.get(i).location() + " into table " + fixtures.get(i).name() + ": " + result.getStderr());
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new TestResourcesResolutionException("Unable to load CSV files using COPY", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the command which loads a CSV file, with a header row, into a table.
+     * Foreign key triggers are disabled for the session, so that tables can be
+     * loaded in parallel regardless of the dependencies between them.
+     *
+     * @param container the container
+     * @param table the table name
+     * @param path the path of the file in the container
+     * @return the command
+     */
+    static String[] copyCommandOf(PostgreSQLContainer<?> container, String table, String path) {
+        String sql = "SET session_replication_role = replica; "
+                     + "COPY " + table + " FROM '" + path + "' WITH (FORMAT csv, HEADER true)";
+        return new String[] {
+            "psql", "-v", "ON_ERROR_STOP=1", "-U", container.getUsername(), "-d", container.getDatabaseName(), "-c", sql
+        };
+    }
+
+    private static void copyToContainer(GenericContainer<?> container, SeedFixture fixture, String path) throws IOException {
+        Path tmp = Files.createTempFile("micronaut-copy", ".csv");
+        try {
+            try (InputStream stream = fixture.openStream()) {
+                Files.copy(stream, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            container.copyFileToContainer(MountableFile.forHostPath(tmp, 0644), path);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String checkTableName(String table) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid table name '" + table + "' in 'test-resources." + COPY_KEY + "'");
+        }
+        return table;
+    }
+}
@@ -0,0 +1,45 @@
+package io.micronaut.testresources.jdbc.mysql
+
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import io.micronaut.testresources.jdbc.AbstractJDBCSpec
+import io.micronaut.testresources.postgres.PostgreSQLCopyLoader
+import jakarta.inject.Inject
+
+@MicronautTest(environments = ["test", "copy"])
+class PostgreSQLCopyTest extends AbstractJDBCSpec {
+    @Inject
+    PostgreSQLBookRepository repository
+
+    def "loads CSV files using COPY"() {
+        when:
+        def books = repository.findAll()
+
+        then:
+        books*.title.sort() == ["Understanding cats", "Understanding dogs"]
+    }
+
+    def "reads tables from configuration"() {
+        when:
+        def fixtures = new PostgreSQLCopyLoader().getFixtures([
+                'containers.postgres.copy'        : [[book: 'classpath:books.csv']],
+                'containers.postgres.copy.authors': 'authors.csv'
+        ])
+
+        then:
+        fixtures*.name() == ['book', 'authors']
+        fixtures*.location() == ['classpath:books.csv', 'authors.csv']
+    }
+
+    def "rejects invalid table names"() {
+        when:
+        new PostgreSQLCopyLoader().getFixtures(['containers.postgres.copy': [['book; DROP TABLE x': 'books.csv']]])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    @Override
+    String getImageName() {
+        "postgres"
+    }
+}
@@ -0,0 +1,4 @@
+CREATE TABLE book(
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(255) NOT NULL
+);
@@ -15,6 +15,12 @@
  */
 package io.micronaut.testresources.kafka;
 
+import org.testcontainers.utility.ComparableVersion;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -23,18 +29,107 @@ import java.util.Map;
  */
 abstract class KafkaConfigurationSupport {
     public static final String CONFIG_KAFKA_KRAFT_MODE = "containers.kafka.kraft";
+    public static final String CONFIG_KAFKA_TOPICS = "containers.kafka.topics";
+
+    private static final String CONFIG_KAFKA_ENV = "containers.kafka.env";
+
+    private static final String MIN_KRAFT_VERSION = "7.0.0";
+    private static final String TOPIC_NAME = "name";
+    private static final String TOPIC_PARTITIONS = "partitions";
+    private static final String TOPIC_REPLICATION_FACTOR = "replication-factor";
 
     private KafkaConfigurationSupport() {
 
     }
 
     /**
-     * Start Kafka container in Kraft mode with the confluent-local image.
+     * Determines if the Kafka container should be started in Kraft mode.
+     * Kraft mode is the default, unless it is explicitly disabled, that
+     * a custom image which doesn't support Kraft is used, or that custom
+     * environment variables are passed to the broker, since they were
+     * written for a broker which uses ZooKeeper.
      * See: <a href="https://docs.confluent.io/platform/current/installation/docker/image-reference.html#ak-images">Confluent Kafka Images</a>
      * See: <a href="https://java.testcontainers.org/modules/kafka/#using-kraft-mode">TestContainers Kafka Kraft Mode</a>
+     *
+     * @param testResourcesConfig the test resources configuration
+     * @param customImage the custom image, or null if the default image is used
+     * @return true if Kraft mode should be used
+     */
+    static boolean isKraftMode(Map<String, Object> testResourcesConfig, DockerImageName customImage) {
+        Object kraftMode = testResourcesConfig.get(CONFIG_KAFKA_KRAFT_MODE);
+        if (kraftMode != null) {
+            if (kraftMode instanceof Boolean b) {
+                return b;
+            }
+            return Boolean.parseBoolean(String.valueOf(kraftMode));
+        }
+        if (testResourcesConfig.get(CONFIG_KAFKA_ENV) != null) {
+            return false;
+        }
+        return customImage == null || supportsKraft(customImage);
+    }
+
+    private static boolean supportsKraft(DockerImageName imageName) {
+        String tag = imageName.getVersionPart();
+        if (tag.isEmpty() || !Character.isDigit(tag.charAt(0))) {
+            // "latest" or a custom tag: recent images all support Kraft
+            return true;
+        }
+        return new ComparableVersion(tag).isGreaterThanOrEqualTo(MIN_KRAFT_VERSION);
+    }
+
+    /**
+     * Reads the topics which must be created when the container is started.
+     * Topics are declared as a list, where each entry is either a topic name,
+     * or a map with the "name", "partitions" and "replication-factor" keys.
+     *
+     * @param testResourcesConfig the test resources configuration
+     * @return the list of topics to create
+     */
+    @SuppressWarnings("unchecked")
+    static List<KafkaTopic> topicsFrom(Map<String, Object> testResourcesConfig) {
+        Object topics = testResourcesConfig.get(CONFIG_KAFKA_TOPICS);
+        if (topics == null) {
+            return Collections.emptyList();
+        }
+        List<Object> definitions = topics instanceof List ? (List<Object>) topics : List.of(topics);
+        List<KafkaTopic> result = new ArrayList<>(definitions.size());
+        for (Object definition : definitions) {
+            if (definition instanceof Map) {
+                Map<String, Object> map = (Map<String, Object>) definition;
+                Object name = map.get(TOPIC_NAME);
+                if (name == null) {
+                    throw new IllegalArgumentException("A topic declared in 'test-resources." + CONFIG_KAFKA_TOPICS + "' is missing its name");
+                }
+                result.add(new KafkaTopic(
+                    String.valueOf(name),
+                    intValue(map.get(TOPIC_PARTITIONS), 1),
+                    (short) intValue(map.get(TOPIC_REPLICATION_FACTOR), 1)
+                ));
+            } else {
+                result.add(new KafkaTopic(String.valueOf(definition), 1, (short) 1));
+            }
+        }
+        return result;
+    }
+
+    private static int intValue(Object value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number n) {
+            return n.intValue();
+        }
+        return Integer.parseInt(String.valueOf(value));
+    }
+
+    /**
+     * A topic which must be created when the container starts.
+     *
+     * @param name the name of the topic
+     * @param partitions the number of partitions
+     * @param replicationFactor the replication factor
      */
-    static boolean isKraftMode(Map<String, Object> testResourcesConfig) {
-        Boolean clusterMode = (Boolean) testResourcesConfig.getOrDefault(CONFIG_KAFKA_KRAFT_MODE, false);
-        return Boolean.TRUE.equals(clusterMode);
+    record KafkaTopic(String name, int partitions, short replicationFactor) {
     }
 }
@@ -22,6 +22,7 @@ import org.testcontainers.utility.DockerImageName;
 import java.util.*;
 
 import static io.micronaut.testresources.kafka.KafkaConfigurationSupport.isKraftMode;
+import static io.micronaut.testresources.kafka.KafkaConfigurationSupport.topicsFrom;
 
 /**
  * A test resource provider which will spawn a Kafka test container.
@@ -32,7 +33,8 @@ public class KafkaTestResourceProvider extends AbstractTestContainersProvider<Ka
     public static final String DEFAULT_IMAGE = "confluentinc/cp-kafka:7.0.4";
     /**
      * Leverage confluent-local image as it is optimized for local development and the image enables
-     * KRaft mode with no configuration setup.
+     * KRaft mode with no configuration setup. This is the image used by default, unless Kraft mode
+     * is disabled.
      * See: <a href="https://docs.confluent.io/platform/current/installation/docker/image-reference.html#ak-images">Confluent Kafka Images</a>
      */
     public static final String DEFAULT_KRAFT_IMAGE = "confluentinc/confluent-local:7.6.0";
@@ -64,9 +66,10 @@ public class KafkaTestResourceProvider extends AbstractTestContainersProvider<Ka
     @Override
     protected KafkaContainer createContainer(DockerImageName imageName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
         boolean isCustomImage = !imageName.toString().equals(getDefaultImageName());
-        return isKraftMode(testResourcesConfig) ?
-            new KafkaContainer(isCustomImage ? imageName : DockerImageName.parse(DEFAULT_KRAFT_IMAGE).asCompatibleSubstituteFor("confluentinc/cp-kafka")).withKraft() :
-            new KafkaContainer(imageName);
+        List<KafkaConfigurationSupport.KafkaTopic> topics = topicsFrom(testResourcesConfig);
+        return isKraftMode(testResourcesConfig, isCustomImage ? imageName : null) ?
+            new TopicsAwareKafkaContainer(isCustomImage ? imageName : DockerImageName.parse(DEFAULT_KRAFT_IMAGE).asCompatibleSubstituteFor("confluentinc/cp-kafka"), topics).withKraft() :
+            new TopicsAwareKafkaContainer(imageName, topics);
     }
 
     @Override
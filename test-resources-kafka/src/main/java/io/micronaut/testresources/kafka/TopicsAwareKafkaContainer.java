@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.kafka;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import io.micronaut.testresources.core.TestResourcesResolutionException;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A Kafka container which creates the configured topics once the
+ * broker is started, so that they are available before the container
+ * is reported as ready.
+ */
+final class TopicsAwareKafkaContainer extends KafkaContainer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicsAwareKafkaContainer.class);
+    private static final int TOPIC_CREATION_TIMEOUT_SECONDS = 30;
+
+    private final List<KafkaConfigurationSupport.KafkaTopic> topics;
+
+    TopicsAwareKafkaContainer(DockerImageName imageName, List<KafkaConfigurationSupport.KafkaTopic> topics) {
+        super(imageName);
+        this.topics = topics;
+    }
+
+    @Override
+    protected void containerIsStarted(InspectContainerResponse containerInfo) {
+        super.containerIsStarted(containerInfo);
+        if (!topics.isEmpty()) {
+            createTopics();
+        }
+    }
+
+    private void createTopics() {
+        List<NewTopic> newTopics = topics.stream()
+            .map(topic -> new NewTopic(topic.name(), topic.partitions(), topic.replicationFactor()))
+            .toList();
+        LOGGER.debug("Creating Kafka topics {}", newTopics);
+        try (Admin admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, getBootstrapServers()))) {
+            admin.createTopics(newTopics).all().get(TOPIC_CREATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestResourcesResolutionException("Interrupted while creating Kafka topics", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new TestResourcesResolutionException("Unable to create Kafka topics " + newTopics, e);
+        }
+    }
+}
@@ -16,10 +16,15 @@ class CustomKafkaImageTest extends AbstractKafkaSpec {
         ]
     }
 
+    @Override
+    String getImageName() {
+        'cp-kafka'
+    }
+
     @Inject
     ApplicationContext applicationContext
 
-    def "starts Kafka using a custom image"() {
+    def "starts Kafka using a custom image which doesn't support Kraft"() {
         when:
         def client = applicationContext.getBean(AnalyticsClient)
         def result = client.updateAnalytics("oh yeah!")
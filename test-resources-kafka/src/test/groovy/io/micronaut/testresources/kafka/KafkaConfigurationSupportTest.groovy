@@ -0,0 +1,38 @@
+package io.micronaut.testresources.kafka
+
+import org.testcontainers.utility.DockerImageName
+import spock.lang.Specification
+
+class KafkaConfigurationSupportTest extends Specification {
+
+    def "uses Kraft mode unless disabled, unsupported or the broker environment is customized"() {
+        expect:
+        KafkaConfigurationSupport.isKraftMode(config, image == null ? null : DockerImageName.parse(image)) == kraft
+
+        where:
+        config                                   | image                                | kraft
+        [:]                                      | null                                 | true
+        ['containers.kafka.kraft': false]        | null                                 | false
+        ['containers.kafka.kraft': 'false']      | null                                 | false
+        [:]                                      | 'confluentinc/cp-kafka:6.2.2'        | false
+        [:]                                      | 'confluentinc/cp-kafka:7.7.1'        | true
+        [:]                                      | 'confluentinc/confluent-local:7.7.1' | true
+        ['containers.kafka.kraft': true]         | 'confluentinc/cp-kafka:6.2.2'        | true
+        ['containers.kafka.env': [[A: 'b']]]     | null                                 | false
+        ['containers.kafka.env': [[A: 'b']], 'containers.kafka.kraft': true] | null   | true
+    }
+
+    def "reads topics"() {
+        when:
+        def topics = KafkaConfigurationSupport.topicsFrom(['containers.kafka.topics': [
+                'analytics',
+                [name: 'orders', partitions: 3, 'replication-factor': '1']
+        ]])
+
+        then:
+        topics == [
+                new KafkaConfigurationSupport.KafkaTopic('analytics', 1, 1 as short),
+                new KafkaConfigurationSupport.KafkaTopic('orders', 3, 1 as short)
+        ]
+    }
+}
@@ -22,7 +22,7 @@ class KafkaStartedTest extends AbstractKafkaSpec {
         result.block() == "oh yeah!"
         with(TestContainers.listByScope("kafka").get(Scope.of("kafka"))) {
             size() == 1
-            get(0).dockerImageName == KafkaTestResourceProvider.DEFAULT_IMAGE
+            get(0).dockerImageName == KafkaTestResourceProvider.DEFAULT_KRAFT_IMAGE
         }
     }
 
@@ -0,0 +1,29 @@
+package io.micronaut.testresources.kafka
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import org.apache.kafka.clients.admin.Admin
+import org.apache.kafka.clients.admin.AdminClientConfig
+
+@MicronautTest(environments = "topics")
+class KafkaTopicsTest extends AbstractKafkaSpec {
+
+    @Inject
+    ApplicationContext applicationContext
+
+    def "creates topics when the container starts"() {
+        when:
+        def bootstrapServers = applicationContext.getRequiredProperty(KafkaTestResourceProvider.KAFKA_BOOTSTRAP_SERVERS, String)
+        def admin = Admin.create([(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG): bootstrapServers])
+        def topics = admin.describeTopics(['analytics', 'orders']).allTopicNames().get()
+
+        then:
+        topics['analytics'].partitions().size() == 1
+        topics['orders'].partitions().size() == 3
+
+        cleanup:
+        admin?.close()
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.localstack;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Utility methods for {@link LocalStackService} implementations which
+ * create resources when the container starts.
+ *
+ * @since 2.8.0
+ */
+public final class LocalStackInitSupport {
+    /**
+     * The prefix of the LocalStack configuration keys.
+     */
+    public static final String CONFIG_PREFIX = "containers.localstack.";
+
+    private static final Pattern RESOURCE_NAME = Pattern.compile("[A-Za-z0-9._:/-]+");
+
+    private LocalStackInitSupport() {
+
+    }
+
+    /**
+     * Reads a list of values from the LocalStack configuration. A single
+     * value is interpreted as a list of one element.
+     * @param testResourcesConfig the test resources configuration
+     * @param key the key, relative to the LocalStack configuration
+     * @return the list of values
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Object> listOf(Map<String, Object> testResourcesConfig, String key) {
+        Object value = testResourcesConfig.get(CONFIG_PREFIX + key);
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        if (value instanceof List) {
+            return (List<Object>) value;
+        }
+        return List.of(value);
+    }
+
+    /**
+     * Reads a list of resource names from the LocalStack configuration.
+     * @param testResourcesConfig the test resources configuration
+     * @param key the key, relative to the LocalStack configuration
+     * @return the list of names
+     */
+    public static List<String> namesOf(Map<String, Object> testResourcesConfig, String key) {
+        return listOf(testResourcesConfig, key)
+            .stream()
+            .map(name -> checkName(key, String.valueOf(name)))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks that a resource name can safely be used in a shell command.
+     * @param key the configuration key which declares the resource
+     * @param name the resource name
+     * @return the name
+     */
+    public static String checkName(String key, String name) {
+        if (!RESOURCE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid resource name '" + name + "' in 'test-resources." + CONFIG_PREFIX + key + "'");
+        }
+        return name;
+    }
+}
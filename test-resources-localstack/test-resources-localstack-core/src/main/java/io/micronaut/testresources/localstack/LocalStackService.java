@@ -17,7 +17,9 @@ package io.micronaut.testresources.localstack;
 
 import org.testcontainers.containers.localstack.LocalStackContainer;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -44,4 +46,17 @@ public interface LocalStackService {
      * @return the resolved property, if available
      */
     Optional<String> resolveProperty(String propertyName, LocalStackContainer container);
+
+    /**
+     * Returns the shell commands which create the resources declared
+     * for this service in the test resources configuration, for example
+     * S3 buckets. The commands of all services are executed in a single
+     * batch, inside the container, before it is reported as ready.
+     * @param testResourcesConfig the test resources configuration
+     * @return the list of commands
+     * @since 2.8.0
+     */
+    default List<String> getInitCommands(Map<String, Object> testResourcesConfig) {
+        return Collections.emptyList();
+    }
 }
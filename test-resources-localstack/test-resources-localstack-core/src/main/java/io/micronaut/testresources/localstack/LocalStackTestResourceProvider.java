@@ -17,6 +17,7 @@ package io.micronaut.testresources.localstack;
 
 import io.micronaut.testresources.testcontainers.AbstractTestContainersProvider;
 import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.utility.ComparableVersion;
 import org.testcontainers.utility.DockerImageName;
 
 import java.util.Arrays;
@@ -37,6 +38,7 @@ import java.util.stream.StreamSupport;
  * A test resource provider which will spawn LocalStack test containers.
  */
 public class LocalStackTestResourceProvider extends AbstractTestContainersProvider<LocalStackContainer> {
+    private static final String LAZY_LOADING_MIN_VERSION = "0.13";
 
     private static final String DEFAULT_IMAGE = "localstack/localstack";
     private static final String NAME = "localstack";
@@ -104,11 +106,72 @@ public class LocalStackTestResourceProvider extends AbstractTestContainersProvid
 
     @Override
     protected LocalStackContainer createContainer(DockerImageName imageName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
-        LocalStackContainer localStackContainer = new LocalStackContainer(imageName);
-        localStackContainer.withServices(SERVICES.stream().map(LocalStackService::getServiceKind).toArray(LocalStackContainer.Service[]::new));
+        return createContainer(null, imageName, requestedProperties, testResourcesConfig);
+    }
+
+    @Override
+    protected LocalStackContainer createContainer(String propertyName, DockerImageName imageName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
+        if (requiresServicesList(imageName)) {
+            // Older LocalStack versions only start the services which are explicitly listed,
+            // so all of them are started upfront, and their resources are created when one of
+            // their properties is first resolved, since these versions don't run init scripts
+            ServicesAwareLocalStackContainer localStackContainer = new ServicesAwareLocalStackContainer(imageName, List.of(), testResourcesConfig);
+            localStackContainer.withServices(SERVICES.stream().map(LocalStackService::getServiceKind).toArray(LocalStackContainer.Service[]::new));
+            return localStackContainer;
+        }
+        // Recent versions load each service the first time it is used
+        List<LocalStackService> requestedServices = Optional.ofNullable(propertyName)
+            .map(PROPERTY_TO_SERVICE::get)
+            .map(List::of)
+            .orElse(List.of());
+        ServicesAwareLocalStackContainer localStackContainer = new ServicesAwareLocalStackContainer(imageName, requestedServices, testResourcesConfig);
+        // Other services are initialized when one of their properties is first resolved
+        List<String> initCommands = requestedServices.stream()
+            .flatMap(service -> service.getInitCommands(testResourcesConfig).stream())
+            .toList();
+        if (!initCommands.isEmpty()) {
+            localStackContainer.withInitScript(initScriptOf(initCommands));
+        }
         return localStackContainer;
     }
 
+    /**
+     * Generates the script which creates the resources declared in the
+     * configuration. The commands are executed in parallel, and the script
+     * fails as soon as one of them fails.
+     *
+     * @param commands the commands to execute
+     * @return the init script
+     */
+    static String initScriptOf(List<String> commands) {
+        StringBuilder script = new StringBuilder("#!/bin/bash\npids=()\n");
+        for (String command : commands) {
+            script.append(command).append(" &\n");
+            script.append("pids+=($!)\n");
+        }
+        script.append("for pid in \"${pids[@]}\"; do\n");
+        script.append("  wait \"$pid\" || exit 1\n");
+        script.append("done\n");
+        return script.toString();
+    }
+
+    /**
+     * Determines if the LocalStack image requires the list of services to be
+     * declared upfront. This is the case for versions older than 0.13, which
+     * don't support lazy loading of services, so all services are started
+     * with the container.
+     *
+     * @param imageName the image name
+     * @return true if the list of services must be declared
+     */
+    static boolean requiresServicesList(DockerImageName imageName) {
+        String tag = imageName.getVersionPart();
+        if (tag.isEmpty() || !Character.isDigit(tag.charAt(0))) {
+            return false;
+        }
+        return new ComparableVersion(tag).isLessThan(LAZY_LOADING_MIN_VERSION);
+    }
+
     @Override
     protected boolean shouldAnswer(String propertyName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
         return ALL_SUPPORTED_KEYS.contains(propertyName);
@@ -126,6 +189,9 @@ public class LocalStackTestResourceProvider extends AbstractTestContainersProvid
             default:
                 LocalStackService service = PROPERTY_TO_SERVICE.get(propertyName);
                 if (service != null) {
+                    if (container instanceof ServicesAwareLocalStackContainer servicesAware) {
+                        servicesAware.ensureInitialized(service);
+                    }
                     return service.resolveProperty(propertyName, container);
                 }
         }
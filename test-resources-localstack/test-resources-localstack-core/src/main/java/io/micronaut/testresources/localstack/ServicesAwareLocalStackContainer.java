@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.localstack;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import io.micronaut.testresources.core.TestResourcesResolutionException;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A LocalStack container which keeps track of the services which have
+ * been requested so far. The resources declared for a service are only
+ * created the first time one of its properties is resolved. If an init
+ * script is installed, the container is only considered started once the
+ * script succeeded.
+ */
+final class ServicesAwareLocalStackContainer extends LocalStackContainer {
+    private static final String INIT_SCRIPT = "/etc/localstack/init/ready.d/micronaut-test-resources.sh";
+    private static final String INIT_STATUS_PATH = "/_localstack/init/ready";
+    private static final int EXECUTABLE_FILE_MODE = 0755;
+    private static final int HTTP_OK = 200;
+    private static final Duration INIT_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration INIT_POLL_INTERVAL = Duration.ofMillis(100);
+    private static final Pattern INIT_COMPLETED = Pattern.compile("\"completed\"\\s*:\\s*true");
+    private static final Pattern INIT_FAILED = Pattern.compile("\"state\"\\s*:\\s*\"ERROR\"");
+
+    private final Map<String, Object> testResourcesConfig;
+    private final Set<Service> initializedServices = EnumSet.noneOf(Service.class);
+    private boolean initScriptInstalled;
+
+    ServicesAwareLocalStackContainer(DockerImageName imageName,
+                                     List<LocalStackService> initialServices,
+                                     Map<String, Object> testResourcesConfig) {
+        super(imageName);
+        this.testResourcesConfig = testResourcesConfig;
+        for (LocalStackService service : initialServices) {
+            initializedServices.add(service.getServiceKind());
+        }
+    }
+
+    /**
+     * Installs the script which creates the resources of the services
+     * requested when the container was created.
+     *
+     * @param script the init script
+     * @return this container
+     */
+    ServicesAwareLocalStackContainer withInitScript(String script) {
+        withCopyToContainer(Transferable.of(script.getBytes(StandardCharsets.UTF_8), EXECUTABLE_FILE_MODE), INIT_SCRIPT);
+        initScriptInstalled = true;
+        return this;
+    }
+
+    @Override
+    protected void containerIsStarted(InspectContainerResponse containerInfo) {
+        super.containerIsStarted(containerInfo);
+        if (initScriptInstalled) {
+            awaitInitScript();
+        }
+    }
+
+    /**
+     * Makes sure that the resources declared for the service are created.
+     * Services which were requested when the container was created are
+     * initialized by the container init script, the others are initialized
+     * the first time they are requested.
+     *
+     * @param service the requested service
+     */
+    synchronized void ensureInitialized(LocalStackService service) {
+        Service kind = service.getServiceKind();
+        if (initializedServices.contains(kind)) {
+            return;
+        }
+        List<String> commands = service.getInitCommands(testResourcesConfig);
+        if (commands.isEmpty()) {
+            initializedServices.add(kind);
+            return;
+        }
+        try {
+            Container.ExecResult result = execInContainer("bash", "-c", LocalStackTestResourceProvider.initScriptOf(commands));
+            if (result.getExitCode() != 0) {
+                throw new TestResourcesResolutionException("Unable to create the resources of LocalStack service " + kind + ": " + result.getStderr());
+            }
+            initializedServices.add(kind);
+        } catch (IOException e) {
+            throw new TestResourcesResolutionException("Unable to create the resources of LocalStack service " + kind, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestResourcesResolutionException("Interrupted while creating the resources of LocalStack service " + kind, e);
+        }
+    }
+
+    private void awaitInitScript() {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(INIT_POLL_INTERVAL.multipliedBy(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(getEndpoint() + INIT_STATUS_PATH)).GET().build();
+        long deadline = System.nanoTime() + INIT_TIMEOUT.toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                String status = response.body();
+                if (response.statusCode() == HTTP_OK && INIT_COMPLETED.matcher(status).find()) {
+                    if (INIT_FAILED.matcher(status).find()) {
+                        throw new TestResourcesResolutionException("Unable to create the LocalStack resources: " + getLogs());
+                    }
+                    return;
+                }
+                Thread.sleep(INIT_POLL_INTERVAL.toMillis());
+            }
+        } catch (IOException e) {
+            throw new TestResourcesResolutionException("Unable to read the status of the LocalStack init script", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestResourcesResolutionException("Interrupted while waiting for the LocalStack init script", e);
+        }
+        throw new TestResourcesResolutionException("Timeout while waiting for the LocalStack init script to complete");
+    }
+}
@@ -0,0 +1,33 @@
+package io.micronaut.testresources.localstack
+
+import org.testcontainers.utility.DockerImageName
+import spock.lang.Specification
+
+class LocalStackTestResourceProviderTest extends Specification {
+
+    def "determines if #image requires the list of services upfront"() {
+        expect:
+        LocalStackTestResourceProvider.requiresServicesList(DockerImageName.parse(image)) == required
+
+        where:
+        image                          | required
+        'localstack/localstack'        | false
+        'localstack/localstack:3.8.1'  | false
+        'localstack/localstack:0.13.0' | false
+        'localstack/localstack:0.12.7' | true
+    }
+
+    def "init commands are executed in parallel and fail on the first failing command"() {
+        expect:
+        LocalStackTestResourceProvider.initScriptOf(['cmd1', 'cmd2']) == '''#!/bin/bash
+pids=()
+cmd1 &
+pids+=($!)
+cmd2 &
+pids+=($!)
+for pid in "${pids[@]}"; do
+  wait "$pid" || exit 1
+done
+'''
+    }
+}
@@ -15,11 +15,13 @@
  */
 package io.micronaut.testresources.localstack.dynamodb;
 
+import io.micronaut.testresources.localstack.LocalStackInitSupport;
 import io.micronaut.testresources.localstack.LocalStackService;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -28,6 +30,9 @@ import java.util.Optional;
 public class LocalStackDynamoDBService implements LocalStackService {
 
     private static final String AWS_DYNAMODB_ENDPOINT_OVERRIDE = "aws.services.dynamodb.endpoint-override";
+    private static final String TABLES = "dynamodb.tables";
+    private static final String DEFAULT_HASH_KEY = "id";
+    private static final String DEFAULT_KEY_TYPE = "S";
 
     @Override
     public Optional<String> resolveProperty(String propertyName, LocalStackContainer container) {
@@ -46,4 +51,50 @@ public class LocalStackDynamoDBService implements LocalStackService {
     public List<String> getResolvableProperties() {
         return Collections.singletonList(AWS_DYNAMODB_ENDPOINT_OVERRIDE);
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> getInitCommands(Map<String, Object> testResourcesConfig) {
+        return LocalStackInitSupport.listOf(testResourcesConfig, TABLES)
+            .stream()
+            .map(definition -> {
+                if (definition instanceof Map) {
+                    Map<String, Object> table = (Map<String, Object>) definition;
+                    Object name = table.get("name");
+                    if (name == null) {
+                        throw new IllegalArgumentException("A table declared in 'test-resources." + LocalStackInitSupport.CONFIG_PREFIX + TABLES + "' is missing its name");
+                    }
+                    return createTableCommand(
+                        String.valueOf(name),
+                        String.valueOf(table.getOrDefault("hash-key", DEFAULT_HASH_KEY)),
+                        String.valueOf(table.getOrDefault("hash-key-type", DEFAULT_KEY_TYPE)),
+                        table.get("range-key") == null ? null : String.valueOf(table.get("range-key")),
+                        String.valueOf(table.getOrDefault("range-key-type", DEFAULT_KEY_TYPE))
+                    );
+                }
+                return createTableCommand(String.valueOf(definition), DEFAULT_HASH_KEY, DEFAULT_KEY_TYPE, null, null);
+            })
+            .toList();
+    }
+
+    private static String createTableCommand(String name, String hashKey, String hashKeyType, String rangeKey, String rangeKeyType) {
+        StringBuilder attributes = new StringBuilder(attributeOf(hashKey, hashKeyType));
+        StringBuilder keySchema = new StringBuilder("AttributeName=" + checkName(hashKey) + ",KeyType=HASH");
+        if (rangeKey != null) {
+            attributes.append(' ').append(attributeOf(rangeKey, rangeKeyType));
+            keySchema.append(" AttributeName=").append(checkName(rangeKey)).append(",KeyType=RANGE");
+        }
+        return "awslocal dynamodb create-table --table-name " + checkName(name)
+               + " --attribute-definitions " + attributes
+               + " --key-schema " + keySchema
+               + " --billing-mode PAY_PER_REQUEST";
+    }
+
+    private static String attributeOf(String name, String type) {
+        return "AttributeName=" + checkName(name) + ",AttributeType=" + checkName(type);
+    }
+
+    private static String checkName(String name) {
+        return LocalStackInitSupport.checkName(TABLES, name);
+    }
 }
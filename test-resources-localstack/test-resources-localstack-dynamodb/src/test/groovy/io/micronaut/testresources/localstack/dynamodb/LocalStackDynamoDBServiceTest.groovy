@@ -0,0 +1,30 @@
+package io.micronaut.testresources.localstack.dynamodb
+
+import spock.lang.Specification
+
+class LocalStackDynamoDBServiceTest extends Specification {
+
+    def "generates table creation commands"() {
+        when:
+        def commands = new LocalStackDynamoDBService().getInitCommands([
+                'containers.localstack.dynamodb.tables': [
+                        'books',
+                        [name: 'orders', 'hash-key': 'customer', 'range-key': 'date', 'range-key-type': 'N']
+                ]
+        ])
+
+        then:
+        commands == [
+                'awslocal dynamodb create-table --table-name books --attribute-definitions AttributeName=id,AttributeType=S --key-schema AttributeName=id,KeyType=HASH --billing-mode PAY_PER_REQUEST',
+                'awslocal dynamodb create-table --table-name orders --attribute-definitions AttributeName=customer,AttributeType=S AttributeName=date,AttributeType=N --key-schema AttributeName=customer,KeyType=HASH AttributeName=date,KeyType=RANGE --billing-mode PAY_PER_REQUEST'
+        ]
+    }
+
+    def "rejects unsafe names"() {
+        when:
+        new LocalStackDynamoDBService().getInitCommands(['containers.localstack.dynamodb.tables': ['books; rm -rf /']])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -15,11 +15,13 @@
  */
 package io.micronaut.testresources.localstack.s3;
 
+import io.micronaut.testresources.localstack.LocalStackInitSupport;
 import io.micronaut.testresources.localstack.LocalStackService;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -28,6 +30,7 @@ import java.util.Optional;
 public class LocalStackS3Service implements LocalStackService {
 
     private static final String AWS_S3_ENDPOINT_OVERRIDE = "aws.services.s3.endpoint-override";
+    private static final String BUCKETS = "s3.buckets";
 
     @Override
     public Optional<String> resolveProperty(String propertyName, LocalStackContainer container) {
@@ -46,4 +49,12 @@ public class LocalStackS3Service implements LocalStackService {
     public List<String> getResolvableProperties() {
         return Collections.singletonList(AWS_S3_ENDPOINT_OVERRIDE);
     }
+
+    @Override
+    public List<String> getInitCommands(Map<String, Object> testResourcesConfig) {
+        return LocalStackInitSupport.namesOf(testResourcesConfig, BUCKETS)
+            .stream()
+            .map(bucket -> "awslocal s3api create-bucket --bucket " + bucket)
+            .toList();
+    }
 }
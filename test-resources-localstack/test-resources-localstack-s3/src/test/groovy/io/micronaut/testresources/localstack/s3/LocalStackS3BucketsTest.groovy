@@ -0,0 +1,47 @@
+package io.micronaut.testresources.localstack.s3
+
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import io.micronaut.testresources.localstack.AbstractLocalStackSpec
+import jakarta.inject.Inject
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider
+import software.amazon.awssdk.regions.Region
+import software.amazon.awssdk.services.s3.S3Client
+
+@MicronautTest
+class LocalStackS3BucketsTest extends AbstractLocalStackSpec {
+
+    @Inject
+    LocalStackS3Test.S3Config s3Config
+
+    @Override
+    String getScopeName() {
+        'localstack-buckets'
+    }
+
+    @Override
+    Map<String, String> getProperties() {
+        super.properties + [
+                "test-resources.containers.localstack.s3.buckets": ["first-bucket", "second-bucket"]
+        ]
+    }
+
+    def "creates buckets when the container starts"() {
+        given:
+        def client = S3Client.builder()
+                .endpointOverride(new URI(s3Config.s3.endpointOverride))
+                .credentialsProvider(
+                        StaticCredentialsProvider.create(
+                                AwsBasicCredentials.create(s3Config.accessKeyId, s3Config.secretKey)
+                        )
+                )
+                .region(Region.of(s3Config.region))
+                .build()
+
+        when:
+        def buckets = client.listBuckets().buckets()*.name()
+
+        then:
+        buckets.containsAll(["first-bucket", "second-bucket"])
+    }
+}
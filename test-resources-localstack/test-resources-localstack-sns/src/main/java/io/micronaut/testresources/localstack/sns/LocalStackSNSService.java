@@ -15,11 +15,13 @@
  */
 package io.micronaut.testresources.localstack.sns;
 
+import io.micronaut.testresources.localstack.LocalStackInitSupport;
 import io.micronaut.testresources.localstack.LocalStackService;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -28,6 +30,8 @@ import java.util.Optional;
 public class LocalStackSNSService implements LocalStackService {
 
     private static final String AWS_SNS_ENDPOINT_OVERRIDE = "aws.services.sns.endpoint-override";
+    private static final String TOPICS = "sns.topics";
+    private static final String FIFO_SUFFIX = ".fifo";
 
     @Override
     public LocalStackContainer.Service getServiceKind() {
@@ -46,4 +50,18 @@ public class LocalStackSNSService implements LocalStackService {
         }
         return Optional.empty();
     }
+
+    @Override
+    public List<String> getInitCommands(Map<String, Object> testResourcesConfig) {
+        return LocalStackInitSupport.namesOf(testResourcesConfig, TOPICS)
+            .stream()
+            .map(topic -> {
+                String command = "awslocal sns create-topic --name " + topic;
+                if (topic.endsWith(FIFO_SUFFIX)) {
+                    command += " --attributes FifoTopic=true";
+                }
+                return command;
+            })
+            .toList();
+    }
 }
@@ -15,11 +15,13 @@
  */
 package io.micronaut.testresources.localstack.sqs;
 
+import io.micronaut.testresources.localstack.LocalStackInitSupport;
 import io.micronaut.testresources.localstack.LocalStackService;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -28,6 +30,8 @@ import java.util.Optional;
 public class LocalStackSQSService implements LocalStackService {
 
     private static final String AWS_SQS_ENDPOINT_OVERRIDE = "aws.services.sqs.endpoint-override";
+    private static final String QUEUES = "sqs.queues";
+    private static final String FIFO_SUFFIX = ".fifo";
 
     @Override
     public Optional<String> resolveProperty(String propertyName, LocalStackContainer container) {
@@ -46,4 +50,18 @@ public class LocalStackSQSService implements LocalStackService {
     public List<String> getResolvableProperties() {
         return Collections.singletonList(AWS_SQS_ENDPOINT_OVERRIDE);
     }
+
+    @Override
+    public List<String> getInitCommands(Map<String, Object> testResourcesConfig) {
+        return LocalStackInitSupport.namesOf(testResourcesConfig, QUEUES)
+            .stream()
+            .map(queue -> {
+                String command = "awslocal sqs create-queue --queue-name " + queue;
+                if (queue.endsWith(FIFO_SUFFIX)) {
+                    command += " --attributes FifoQueue=true";
+                }
+                return command;
+            })
+            .toList();
+    }
 }
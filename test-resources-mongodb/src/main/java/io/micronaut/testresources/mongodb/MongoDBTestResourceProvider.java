@@ -15,15 +15,26 @@
  */
 package io.micronaut.testresources.mongodb;
 
+import io.micronaut.testresources.core.Scope;
+import io.micronaut.testresources.core.TestResourcesResolutionException;
 import io.micronaut.testresources.testcontainers.AbstractTestContainersProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Container;
 import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.utility.DockerImageName;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 
 /**
  * A test resource provider which will spawn a MongoDB test container.
@@ -36,8 +47,13 @@ public class MongoDBTestResourceProvider extends AbstractTestContainersProvider<
     public static final String SIMPLE_NAME = "mongodb";
     public static final String DB_NAME = "containers." + SIMPLE_NAME + ".db-name";
     public static final String DISPLAY_NAME = "MongoDB";
+    public static final String DEFAULT_DB_NAME = "test";
 
-    private String dbName;
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoDBTestResourceProvider.class);
+    private static final Pattern INVALID_DB_NAME_CHARS = Pattern.compile("[^A-Za-z0-9_-]");
+    private static final int MAX_DB_NAME_LENGTH = 63;
+
+    private static final String DB_NAME_LABEL = "io.micronaut.testresources.mongodb.db-name";
 
     @Override
     public List<String> getResolvableProperties(Map<String, Collection<String>> propertyEntries, Map<String, Object> testResourcesConfig) {
@@ -71,11 +87,13 @@ public class MongoDBTestResourceProvider extends AbstractTestContainersProvider<
 
     @Override
     protected MongoDBContainer createContainer(DockerImageName imageName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
+        MongoDBContainer container = new ScopedMongoDBContainer(imageName);
         Object configuredDbName = testResourcesConfig.get(DB_NAME);
         if (configuredDbName != null) {
-            this.dbName = configuredDbName.toString();
+            // The name is attached to the container, since this provider may create several containers
+            container.withLabel(DB_NAME_LABEL, configuredDbName.toString());
         }
-        return new MongoDBContainer(imageName);
+        return container;
     }
 
     @Override
@@ -84,10 +102,88 @@ public class MongoDBTestResourceProvider extends AbstractTestContainersProvider<
         if (database.isPresent()) {
             return Optional.of(container.getReplicaSetUrl(database.get()));
         }
+        String dbName = container.getLabels().get(DB_NAME_LABEL);
         String url = dbName == null ? container.getReplicaSetUrl() : container.getReplicaSetUrl(dbName);
         return Optional.of(url);
     }
 
+    @Override
+    protected boolean supportsSharedContainer() {
+        return true;
+    }
+
+    @Override
+    protected Optional<String> resolveScopedProperty(String propertyName,
+                                                     Scope scope,
+                                                     MongoDBContainer container,
+                                                     Map<String, Object> testResourcesConfig) {
+        String baseName = extractMongoDbServerFrom(propertyName)
+            .orElseGet(() -> {
+                Object configuredDbName = testResourcesConfig.get(DB_NAME);
+                return configuredDbName == null ? DEFAULT_DB_NAME : configuredDbName.toString();
+            });
+        String database = databaseNameFor(baseName, scope);
+        if (!Scope.ROOT.equals(scope) && container instanceof ScopedMongoDBContainer scoped) {
+            scoped.addDatabase(scope, database);
+        }
+        return Optional.of(container.getReplicaSetUrl(database));
+    }
+
+    @Override
+    protected void closeScope(Scope scope, MongoDBContainer container) {
+        Set<String> databases = container instanceof ScopedMongoDBContainer scoped ? scoped.removeDatabasesOf(scope) : null;
+        if (databases == null || !container.isRunning()) {
+            return;
+        }
+        for (String database : databases) {
+            dropDatabase(container, database);
+        }
+    }
+
+    private static void dropDatabase(MongoDBContainer container, String database) {
+        String script = "db.getSiblingDB('" + database + "').dropDatabase()";
+        try {
+            // Recent images only ship mongosh, older ones only ship the legacy shell
+            Container.ExecResult result = container.execInContainer("sh", "-c",
+                "mongosh --quiet --eval \"" + script + "\" || mongo --quiet --eval \"" + script + "\"");
+            if (result.getExitCode() != 0) {
+                LOGGER.warn("Unable to drop MongoDB database {}: {}", database, result.getStderr());
+            } else {
+                LOGGER.debug("Dropped MongoDB database {}", database);
+            }
+        } catch (IOException e) {
+            throw new TestResourcesResolutionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestResourcesResolutionException(e);
+        }
+    }
+
+    /**
+     * Computes the name of the database which is used by a scope when
+     * the container is shared between scopes. The name is derived from
+     * the scope, and only contains characters which are valid in a MongoDB
+     * database name.
+     *
+     * @param baseName the database name which would be used without isolation
+     * @param scope the scope
+     * @return the database name for the scope
+     * @since 2.8.0
+     */
+    static String databaseNameFor(String baseName, Scope scope) {
+        if (Scope.ROOT.equals(scope)) {
+            return baseName;
+        }
+        String name = INVALID_DB_NAME_CHARS.matcher(baseName + "_" + scope).replaceAll("_");
+        if (name.length() > MAX_DB_NAME_LENGTH) {
+            CRC32 crc = new CRC32();
+            crc.update(name.getBytes(StandardCharsets.UTF_8));
+            String suffix = "_" + HexFormat.of().toHexDigits((int) crc.getValue());
+            name = name.substring(0, MAX_DB_NAME_LENGTH - suffix.length()) + suffix;
+        }
+        return name;
+    }
+
     @Override
     protected boolean shouldAnswer(String propertyName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
         if (extractMongoDbServerFrom(propertyName).isPresent()) {
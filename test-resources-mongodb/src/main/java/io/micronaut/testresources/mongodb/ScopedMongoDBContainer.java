@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2021 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.mongodb;
+
+import io.micronaut.testresources.core.Scope;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A MongoDB container which owns the databases created for scopes when
+ * it is shared, so that they are discarded together with the container
+ * when it is closed or evicted.
+ */
+final class ScopedMongoDBContainer extends MongoDBContainer {
+    private final Map<Scope, Set<String>> databasesByScope = new ConcurrentHashMap<>();
+
+    ScopedMongoDBContainer(DockerImageName imageName) {
+        super(imageName);
+    }
+
+    void addDatabase(Scope scope, String database) {
+        databasesByScope.computeIfAbsent(scope, unused -> ConcurrentHashMap.newKeySet()).add(database);
+    }
+
+    Set<String> removeDatabasesOf(Scope scope) {
+        return databasesByScope.remove(scope);
+    }
+}
@@ -0,0 +1,44 @@
+package io.micronaut.testresources.mongodb
+
+import io.micronaut.context.annotation.Value
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import io.micronaut.testresources.core.Scope
+import jakarta.inject.Inject
+
+@MicronautTest(environments = ["test", "shared-container"])
+class SharedContainerMongoDBTest extends AbstractMongoDBSpec {
+
+    @Inject
+    BookRepository bookRepository
+
+    @Value("\${mongodb.uri}")
+    String mongodbUri
+
+    @Override
+    String getScopeName() {
+        'mongodb-shared'
+    }
+
+    def "uses a database derived from the scope"() {
+        given:
+        def book = new Book(title: "Micronaut for Spring developers")
+        bookRepository.save(book)
+
+        when:
+        def books = bookRepository.findAll()
+
+        then:
+        books.size() == 1
+
+        and:
+        mongodbUri.endsWith "/test_mongodb-shared"
+    }
+
+    def "computes valid database names"() {
+        expect:
+        MongoDBTestResourceProvider.databaseNameFor("test", Scope.ROOT) == "test"
+        MongoDBTestResourceProvider.databaseNameFor("test", Scope.of("a.b")) == "test_a_b"
+        MongoDBTestResourceProvider.databaseNameFor("test", Scope.of("x" * 100)).length() == 63
+    }
+
+}
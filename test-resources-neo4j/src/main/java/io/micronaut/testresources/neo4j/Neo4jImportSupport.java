@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.neo4j;
+
+import org.testcontainers.containers.Neo4jContainer;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.utility.MountableFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configures a Neo4j container so that CSV files are imported with
+ * <code>neo4j-admin</code> before the database is started. The import
+ * runs from the extension script hook of the official Neo4j image.
+ */
+final class Neo4jImportSupport {
+    static final String IMPORT_PREFIX = "containers.neo4j.import.";
+    static final String NODES_KEY = IMPORT_PREFIX + "nodes";
+    static final String RELATIONSHIPS_KEY = IMPORT_PREFIX + "relationships";
+    static final String DELIMITER_KEY = IMPORT_PREFIX + "delimiter";
+    static final String ARRAY_DELIMITER_KEY = IMPORT_PREFIX + "array-delimiter";
+
+    private static final String IMPORT_DIR = "/micronaut-test-resources/import";
+    private static final String SCRIPT_PATH = "/micronaut-test-resources/neo4j-import.sh";
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    private static final int EXECUTABLE_FILE_MODE = 0755;
+
+    private Neo4jImportSupport() {
+
+    }
+
+    /**
+     * Configures the import of CSV files if any node file is configured.
+     *
+     * @param container the container
+     * @param testResourcesConfig the test resources configuration
+     */
+    static void configureImport(Neo4jContainer<?> container, Map<String, Object> testResourcesConfig) {
+        List<ImportFile> nodes = importFilesOf(testResourcesConfig, NODES_KEY, "nodes", "labels");
+        if (nodes.isEmpty()) {
+            if (testResourcesConfig.containsKey(RELATIONSHIPS_KEY)) {
+                throw new IllegalArgumentException("'test-resources." + RELATIONSHIPS_KEY + "' requires 'test-resources." + NODES_KEY + "' to be set");
+            }
+            return;
+        }
+        List<ImportFile> relationships = importFilesOf(testResourcesConfig, RELATIONSHIPS_KEY, "relationships", "type");
+        List<String> options = new ArrayList<>();
+        for (ImportFile file : nodes) {
+            container.withCopyFileToContainer(mountableFileOf(file.location()), file.containerPath());
+            options.add(file.option());
+        }
+        for (ImportFile file : relationships) {
+            container.withCopyFileToContainer(mountableFileOf(file.location()), file.containerPath());
+            options.add(file.option());
+        }
+        Object delimiter = testResourcesConfig.get(DELIMITER_KEY);
+        if (delimiter != null) {
+            options.add("--delimiter=" + quote(String.valueOf(delimiter)));
+        }
+        Object arrayDelimiter = testResourcesConfig.get(ARRAY_DELIMITER_KEY);
+        if (arrayDelimiter != null) {
+            options.add("--array-delimiter=" + quote(String.valueOf(arrayDelimiter)));
+        }
+        container.withCopyToContainer(Transferable.of(importScriptOf(options).getBytes(StandardCharsets.UTF_8), EXECUTABLE_FILE_MODE), SCRIPT_PATH);
+        container.withEnv("EXTENSION_SCRIPT", SCRIPT_PATH);
+    }
+
+    /**
+     * Generates the extension script which imports the data. The script is
+     * sourced by the image entrypoint before Neo4j starts, possibly as root,
+     * in which case the import is executed as the neo4j user so that the
+     * database files are owned by it. It supports both the Neo4j 5 and
+     * Neo4j 4 syntaxes of <code>neo4j-admin</code>.
+     *
+     * @param options the import options
+     * @return the script
+     */
+    static String importScriptOf(List<String> options) {
+        String joined = String.join(" ", options);
+        return "#!/bin/bash\n"
+               + "if [ ! -d /data/databases/neo4j ]; then\n"
+               + "  MN_RUN_AS=\"\"\n"
+               + "  if [ \"$(id -u)\" = \"0\" ]; then MN_RUN_AS=\"gosu neo4j:neo4j\"; fi\n"
+               + "  if neo4j-admin database import full --help > /dev/null 2>&1; then\n"
+               + "    ${MN_RUN_AS} neo4j-admin database import full neo4j " + joined + " || exit 1\n"
+               + "  else\n"
+               + "    ${MN_RUN_AS} neo4j-admin import --database=neo4j " + joined + " || exit 1\n"
+               + "  fi\n"
+               + "fi\n";
+    }
+
+    private static List<ImportFile> importFilesOf(Map<String, Object> testResourcesConfig, String key, String kind, String qualifierKey) {
+        Object value = testResourcesConfig.get(key);
+        if (value == null) {
+            return List.of();
+        }
+        List<?> entries = value instanceof List<?> list ? list : List.of(value);
+        List<ImportFile> files = new ArrayList<>(entries.size());
+        for (Object entry : entries) {
+            String location;
+            String qualifier = null;
+            if (entry instanceof Map<?, ?> map) {
+                Object file = map.get("file");
+                if (file == null) {
+                    throw new IllegalArgumentException("Entries of 'test-resources." + key + "' must declare a 'file'");
+                }
+                location = String.valueOf(file);
+                Object q = map.get(qualifierKey);
+                qualifier = q == null ? null : String.valueOf(q);
+            } else {
+                location = String.valueOf(entry);
+            }
+            String containerPath = IMPORT_DIR + "/" + kind + "-" + files.size() + ".csv";
+            files.add(new ImportFile(kind, qualifier, location, containerPath));
+        }
+        return files;
+    }
+
+    private static MountableFile mountableFileOf(String location) {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            return MountableFile.forClasspathResource(location.substring(CLASSPATH_PREFIX.length()));
+        }
+        return MountableFile.forHostPath(location);
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "'\"'\"'") + "'";
+    }
+
+    private record ImportFile(String kind, String qualifier, String location, String containerPath) {
+        String option() {
+            String files = qualifier == null ? containerPath : qualifier + "=" + containerPath;
+            return "--" + kind + "=" + quote(files);
+        }
+    }
+}
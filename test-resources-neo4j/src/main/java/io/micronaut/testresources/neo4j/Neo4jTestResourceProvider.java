@@ -68,6 +68,7 @@ public class Neo4jTestResourceProvider extends AbstractTestContainersProvider<Ne
     protected Neo4jContainer<?> createContainer(DockerImageName imageName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
         Neo4jContainer<?> container = new Neo4jContainer<>(imageName);
         container.withoutAuthentication();
+        Neo4jImportSupport.configureImport(container, testResourcesConfig);
         return container;
     }
 
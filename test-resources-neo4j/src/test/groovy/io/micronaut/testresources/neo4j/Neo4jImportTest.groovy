@@ -0,0 +1,39 @@
+package io.micronaut.testresources.neo4j
+
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import org.neo4j.driver.Driver
+
+@MicronautTest(environments = ["test", "import"])
+class Neo4jImportTest extends AbstractNeo4jDBSpec {
+
+    @Inject
+    Driver driver
+
+    @Override
+    String getScopeName() {
+        'neo4j-import'
+    }
+
+    def "imports CSV files before the database starts"() {
+        when:
+        def count = driver.session().with {
+            it.executeRead {
+                it.run("MATCH (:Author)-[:WROTE]->(b:Book) RETURN count(b) AS c").single().get("c").asInt()
+            }
+        }
+
+        then:
+        count == 2
+    }
+
+    def "generates the import script"() {
+        when:
+        def script = Neo4jImportSupport.importScriptOf(["--nodes='Book=/micronaut-test-resources/import/nodes-0.csv'"])
+
+        then:
+        script.contains("neo4j-admin database import full neo4j --nodes='Book=/micronaut-test-resources/import/nodes-0.csv' || exit 1")
+        script.contains("neo4j-admin import --database=neo4j --nodes='Book=/micronaut-test-resources/import/nodes-0.csv' || exit 1")
+    }
+
+}
@@ -16,6 +16,7 @@
 package io.micronaut.testresources.opensearch;
 
 import io.micronaut.testresources.testcontainers.AbstractTestContainersProvider;
+import io.micronaut.testresources.testcontainers.TunedProfileSupport;
 import org.opensearch.testcontainers.OpensearchContainer;
 import org.testcontainers.utility.DockerImageName;
 
@@ -38,6 +39,9 @@ public class OpenSearchTestResourceProvider extends AbstractTestContainersProvid
         MICRONAUT_OPEN_SEARCH_REST_CLIENT_HTTP_HOSTS,
         MICRONAUT_OPEN_SEARCH_HTTPCLIENT5_HTTP_HOSTS
     );
+    public static final String DEFAULT_HEAP_SIZE = TunedProfileSupport.DEFAULT_HEAP_SIZE;
+
+    private static final int HTTP_PORT = 9200;
 
     @Override
     public List<String> getResolvableProperties(Map<String, Collection<String>> propertyEntries, Map<String, Object> testResourcesConfig) {
@@ -62,8 +66,30 @@ public class OpenSearchTestResourceProvider extends AbstractTestContainersProvid
     @Override
     @SuppressWarnings("resource") // The container is long-lived and closed elsewhere
     protected OpensearchContainer<?> createContainer(DockerImageName imageName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
-        return new OpensearchContainer<>(imageName)
+        OpensearchContainer<?> container = new OpensearchContainer<>(imageName)
             .withAccessToHost(true); // Necessary for host address and startup checks.
+        if (TunedProfileSupport.isTunedProfileEnabled(SIMPLE_NAME, testResourcesConfig)) {
+            applyTunedProfile(container, TunedProfileSupport.heapSizeOf(SIMPLE_NAME, testResourcesConfig));
+        }
+        return container;
+    }
+
+    /**
+     * Configures the container so that it starts as fast as possible as a
+     * single node cluster: the heap is bounded, disk watermarks are ignored,
+     * the performance analyzer agent is not started and the container
+     * is only considered ready once the cluster can serve requests.
+     *
+     * @param container the container to configure
+     * @param heapSize the heap size, for example <code>512m</code>
+     */
+    static void applyTunedProfile(OpensearchContainer<?> container, String heapSize) {
+        container.withEnv("OPENSEARCH_JAVA_OPTS", "-Xms" + heapSize + " -Xmx" + heapSize)
+            .withEnv("discovery.type", "single-node")
+            .withEnv("cluster.routing.allocation.disk.threshold_enabled", "false")
+            .withEnv("DISABLE_PERFORMANCE_ANALYZER_AGENT_CLI", "true")
+            .withEnv("DISABLE_INSTALL_DEMO_CONFIG", "true")
+            .waitingFor(TunedProfileSupport.clusterHealthWaitStrategy(HTTP_PORT));
     }
 
     @Override
@@ -0,0 +1,21 @@
+package io.micronaut.testresources.opensearch
+
+import org.opensearch.testcontainers.OpensearchContainer
+import org.testcontainers.utility.DockerImageName
+import spock.lang.Specification
+
+class OpenSearchTunedProfileTest extends Specification {
+
+    def "configures a bounded heap and single node discovery"() {
+        def container = new OpensearchContainer<>(DockerImageName.parse(OpenSearchTestResourceProvider.DEFAULT_IMAGE))
+
+        when:
+        OpenSearchTestResourceProvider.applyTunedProfile(container, '256m')
+
+        then:
+        container.envMap['OPENSEARCH_JAVA_OPTS'] == '-Xms256m -Xmx256m'
+        container.envMap['discovery.type'] == 'single-node'
+        container.envMap['cluster.routing.allocation.disk.threshold_enabled'] == 'false'
+        container.envMap['DISABLE_PERFORMANCE_ANALYZER_AGENT_CLI'] == 'true'
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.rabbitmq;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import io.micronaut.testresources.core.TestResourcesResolutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A RabbitMQ container which imports a definitions file once the broker
+ * is started, so that queues, exchanges and bindings exist before the
+ * container is reported as ready. When the container is shared between
+ * scopes, the definitions are also imported in the virtual host of each
+ * scope.
+ */
+final class DefinitionsAwareRabbitMQContainer extends ScopedRabbitMQContainer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefinitionsAwareRabbitMQContainer.class);
+    private static final String DEFINITIONS_PATH = "/etc/rabbitmq/micronaut-definitions.json";
+    private static final String VHOST_DEFINITIONS_PATH = "/tmp/micronaut-definitions-";
+    private static final Pattern VHOST_ATTRIBUTE = Pattern.compile("(\"vhost\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*\"");
+
+    private final MountableFile definitions;
+
+    DefinitionsAwareRabbitMQContainer(DockerImageName imageName, MountableFile definitions) {
+        super(imageName);
+        this.definitions = definitions;
+        withCopyFileToContainer(definitions, DEFINITIONS_PATH);
+    }
+
+    @Override
+    protected void containerIsStarted(InspectContainerResponse containerInfo) {
+        super.containerIsStarted(containerInfo);
+        importDefinitionsFrom(DEFINITIONS_PATH);
+    }
+
+    /**
+     * Imports the definitions in a virtual host: all the entities of the
+     * definitions file, whatever their virtual host, are created in the
+     * given one.
+     *
+     * @param vhost the virtual host
+     */
+    void importDefinitionsInto(String vhost) {
+        String content;
+        try {
+            content = Files.readString(Path.of(definitions.getResolvedPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new TestResourcesResolutionException("Unable to read RabbitMQ definitions from " + definitions.getResolvedPath(), e);
+        }
+        String rewritten = VHOST_ATTRIBUTE.matcher(content).replaceAll("$1" + Matcher.quoteReplacement("\"" + vhost + "\""));
+        String path = VHOST_DEFINITIONS_PATH + vhost + ".json";
+        copyFileToContainer(Transferable.of(rewritten.getBytes(StandardCharsets.UTF_8)), path);
+        importDefinitionsFrom(path);
+    }
+
+    private void importDefinitionsFrom(String path) {
+        LOGGER.debug("Importing RabbitMQ definitions from {}", path);
+        try {
+            ExecResult result = execInContainer("rabbitmqctl", "import_definitions", path);
+            if (result.getExitCode() != 0) {
+                throw new TestResourcesResolutionException("Unable to import RabbitMQ definitions: " + result.getStderr());
+            }
+        } catch (IOException e) {
+            throw new TestResourcesResolutionException("Unable to import RabbitMQ definitions", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestResourcesResolutionException("Interrupted while importing RabbitMQ definitions", e);
+        }
+    }
+}
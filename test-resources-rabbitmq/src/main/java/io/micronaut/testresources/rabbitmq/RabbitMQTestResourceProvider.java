@@ -15,18 +15,30 @@
  */
 package io.micronaut.testresources.rabbitmq;
 
+import io.micronaut.testresources.core.Scope;
+import io.micronaut.testresources.core.TestResourcesResolutionException;
 import io.micronaut.testresources.testcontainers.AbstractTestContainersProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Container;
 import org.testcontainers.containers.RabbitMQContainer;
 import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 
 /**
  * A test resource provider which will spawn a RabbitMQ test container.
@@ -37,6 +49,7 @@ public class RabbitMQTestResourceProvider extends AbstractTestContainersProvider
     public static final String RABBITMQ_USERNAME = "rabbitmq.username";
     public static final String RABBITMQ_PASSWORD = "rabbitmq.password";
     public static final String DEFAULT_IMAGE = "rabbitmq";
+    public static final String DEFINITIONS = "containers.rabbitmq.definitions";
 
     public static final List<String> SUPPORTED_KEYS = Collections.unmodifiableList(Arrays.asList(
         RABBITMQ_URI,
@@ -48,6 +61,10 @@ public class RabbitMQTestResourceProvider extends AbstractTestContainersProvider
     );
     public static final String DISPLAY_NAME = "RabbitMQ";
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RabbitMQTestResourceProvider.class);
+    private static final Pattern INVALID_VHOST_CHARS = Pattern.compile("[^A-Za-z0-9._-]");
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
     @Override
     public List<String> getResolvableProperties(Map<String, Collection<String>> propertyEntries, Map<String, Object> testResourcesConfig) {
         return SUPPORTED_KEYS;
@@ -70,7 +87,18 @@ public class RabbitMQTestResourceProvider extends AbstractTestContainersProvider
 
     @Override
     protected RabbitMQContainer createContainer(DockerImageName imageName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
-        return new RabbitMQContainer(imageName);
+        Object definitions = testResourcesConfig.get(DEFINITIONS);
+        if (definitions != null) {
+            return new DefinitionsAwareRabbitMQContainer(imageName, definitionsFileOf(String.valueOf(definitions)));
+        }
+        return new ScopedRabbitMQContainer(imageName);
+    }
+
+    private static MountableFile definitionsFileOf(String location) {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            return MountableFile.forClasspathResource(location.substring(CLASSPATH_PREFIX.length()));
+        }
+        return MountableFile.forHostPath(location);
     }
 
     @Override
@@ -87,6 +115,102 @@ public class RabbitMQTestResourceProvider extends AbstractTestContainersProvider
         return Optional.empty();
     }
 
+    @Override
+    protected boolean supportsSharedContainer() {
+        return true;
+    }
+
+    @Override
+    protected Optional<String> resolveScopedProperty(String propertyName,
+                                                     Scope scope,
+                                                     RabbitMQContainer container,
+                                                     Map<String, Object> testResourcesConfig) {
+        if (RABBITMQ_URI.equals(propertyName) && !Scope.ROOT.equals(scope) && container instanceof ScopedRabbitMQContainer scoped) {
+            return Optional.of(container.getAmqpUrl() + "/" + virtualHostOf(scope, scoped));
+        }
+        return resolveProperty(propertyName, container);
+    }
+
+    @Override
+    protected void closeScope(Scope scope, RabbitMQContainer container) {
+        if (!(container instanceof ScopedRabbitMQContainer scoped)) {
+            return;
+        }
+        CompletableFuture<String> vhost = scoped.virtualHosts().remove(scope);
+        if (vhost != null && !vhost.isCompletedExceptionally() && container.isRunning()) {
+            // deleting the virtual host deletes all its queues, exchanges and bindings
+            rabbitmqctl(container, "delete_vhost", vhost.join());
+        }
+    }
+
+    private String virtualHostOf(Scope scope, ScopedRabbitMQContainer container) {
+        Map<Scope, CompletableFuture<String>> virtualHosts = container.virtualHosts();
+        CompletableFuture<String> vhost = new CompletableFuture<>();
+        CompletableFuture<String> existing = virtualHosts.putIfAbsent(scope, vhost);
+        if (existing != null) {
+            return existing.join();
+        }
+        // The virtual host is created outside the map, so that resolving
+        // other scopes isn't blocked while rabbitmqctl executes
+        try {
+            vhost.complete(createVirtualHost(container, vhostNameFor(scope)));
+        } catch (RuntimeException ex) {
+            virtualHosts.remove(scope, vhost);
+            vhost.completeExceptionally(ex);
+            throw ex;
+        }
+        return vhost.join();
+    }
+
+    /**
+     * Computes the name of the virtual host which is used by a scope when
+     * the broker is shared between scopes. The name only contains characters
+     * which don't need to be escaped in an AMQP URI. If the scope contains
+     * other characters, a hash of the scope is appended, so that different
+     * scopes don't share the same virtual host.
+     *
+     * @param scope the scope
+     * @return the virtual host name
+     * @since 2.8.0
+     */
+    static String vhostNameFor(Scope scope) {
+        String name = scope.toString();
+        String sanitized = INVALID_VHOST_CHARS.matcher(name).replaceAll("_");
+        if (sanitized.equals(name)) {
+            return name;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(name.getBytes(StandardCharsets.UTF_8));
+        return sanitized + "_" + HexFormat.of().toHexDigits((int) crc.getValue());
+    }
+
+    private static String createVirtualHost(RabbitMQContainer container, String vhost) {
+        rabbitmqctl(container, "add_vhost", vhost);
+        rabbitmqctl(container, "set_permissions", "-p", vhost, container.getAdminUsername(), ".*", ".*", ".*");
+        if (container instanceof DefinitionsAwareRabbitMQContainer definitionsAware) {
+            definitionsAware.importDefinitionsInto(vhost);
+        }
+        LOGGER.debug("Created RabbitMQ virtual host {}", vhost);
+        return vhost;
+    }
+
+    private static void rabbitmqctl(RabbitMQContainer container, String... arguments) {
+        String[] command = new String[arguments.length + 1];
+        command[0] = "rabbitmqctl";
+        System.arraycopy(arguments, 0, command, 1, arguments.length);
+        try {
+            Container.ExecResult result = container.execInContainer(command);
+            if (result.getExitCode() != 0) {
+                throw new TestResourcesResolutionException("Unable to execute 'rabbitmqctl " + String.join(" ", arguments) + "': " + result.getStderr());
+            }
+        } catch (IOException e) {
+            throw new TestResourcesResolutionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestResourcesResolutionException(e);
+        }
+    }
+
     @Override
     protected boolean shouldAnswer(String propertyName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
         return SUPPORTED_KEYSET.contains(propertyName);
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.rabbitmq;
+
+import io.micronaut.testresources.core.Scope;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A RabbitMQ container which owns the virtual hosts created for scopes
+ * when it is shared, so that they are discarded together with the
+ * container when it is closed or evicted.
+ */
+class ScopedRabbitMQContainer extends RabbitMQContainer {
+    private final Map<Scope, CompletableFuture<String>> virtualHosts = new ConcurrentHashMap<>();
+
+    ScopedRabbitMQContainer(DockerImageName imageName) {
+        super(imageName);
+    }
+
+    Map<Scope, CompletableFuture<String>> virtualHosts() {
+        return virtualHosts;
+    }
+}
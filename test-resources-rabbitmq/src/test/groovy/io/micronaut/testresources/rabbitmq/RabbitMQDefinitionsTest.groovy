@@ -0,0 +1,32 @@
+package io.micronaut.testresources.rabbitmq
+
+import com.rabbitmq.client.ConnectionFactory
+import io.micronaut.context.annotation.Value
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+
+@MicronautTest(environments = ["test", "definitions"])
+class RabbitMQDefinitionsTest extends AbstractRabbitMQSpec {
+
+    @Value("\${rabbitmq.uri}")
+    String rabbitmqUri
+
+    @Override
+    String getScopeName() {
+        'rabbitmq-definitions'
+    }
+
+    def "loads definitions when the broker starts"() {
+        given:
+        def factory = new ConnectionFactory()
+        factory.uri = rabbitmqUri
+
+        when:
+        def declareOk = factory.newConnection().withCloseable { connection ->
+            connection.createChannel().queueDeclarePassive("preloaded")
+        }
+
+        then:
+        declareOk.queue == "preloaded"
+    }
+
+}
@@ -0,0 +1,33 @@
+package io.micronaut.testresources.rabbitmq
+
+import com.rabbitmq.client.ConnectionFactory
+import io.micronaut.context.annotation.Value
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+
+@MicronautTest(environments = ["test", "shared-definitions"])
+class SharedContainerDefinitionsTest extends AbstractRabbitMQSpec {
+
+    @Value("\${rabbitmq.uri}")
+    String rabbitmqUri
+
+    @Override
+    String getScopeName() {
+        'rabbitmq-shared-definitions'
+    }
+
+    def "loads definitions in the virtual host of the scope"() {
+        given:
+        def factory = new ConnectionFactory()
+        factory.uri = rabbitmqUri
+
+        when:
+        def declareOk = factory.newConnection().withCloseable { connection ->
+            connection.createChannel().queueDeclarePassive("preloaded")
+        }
+
+        then:
+        rabbitmqUri.endsWith("/rabbitmq-shared-definitions")
+        declareOk.queue == "preloaded"
+    }
+
+}
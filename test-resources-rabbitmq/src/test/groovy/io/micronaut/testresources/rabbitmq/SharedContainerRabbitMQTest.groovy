@@ -0,0 +1,46 @@
+package io.micronaut.testresources.rabbitmq
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Value
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import io.micronaut.testresources.core.Scope
+import jakarta.inject.Inject
+
+@MicronautTest(environments = ["test", "shared-container"])
+class SharedContainerRabbitMQTest extends AbstractRabbitMQSpec {
+
+    @Inject
+    ApplicationContext applicationContext
+
+    @Value("\${rabbitmq.uri}")
+    String rabbitmqUri
+
+    @Override
+    String getScopeName() {
+        'rabbitmq-shared'
+    }
+
+    def "uses a virtual host per scope"() {
+        given:
+        def initializer = applicationContext.getBean(ChannelPoolListener)
+        def publisher = applicationContext.getBean(Publisher)
+        def client = applicationContext.getBean(Consumer)
+
+        when:
+        publisher.updateAnalytics(new Book(title: "Micronaut for Spring developers"))
+
+        then:
+        rabbitmqUri.endsWith("/rabbitmq-shared")
+        client.book == new Book(title: "Micronaut for Spring developers")
+    }
+
+    def "computes valid virtual host names"() {
+        expect:
+        RabbitMQTestResourceProvider.vhostNameFor(Scope.of("a.b")) == "a.b"
+        RabbitMQTestResourceProvider.vhostNameFor(Scope.of("a_b")) == "a_b"
+        RabbitMQTestResourceProvider.vhostNameFor(Scope.of("my scope/1")).startsWith("my_scope_1_")
+        RabbitMQTestResourceProvider.vhostNameFor(Scope.of("a b")) != RabbitMQTestResourceProvider.vhostNameFor(Scope.of("a_b"))
+        RabbitMQTestResourceProvider.vhostNameFor(Scope.of("a b")) != RabbitMQTestResourceProvider.vhostNameFor(Scope.of("a/b"))
+    }
+
+}
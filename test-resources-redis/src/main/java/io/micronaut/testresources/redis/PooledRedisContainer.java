@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.redis;
+
+import com.redis.testcontainers.RedisContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * A Redis container which owns the pool of logical databases assigned
+ * to scopes when it is shared, so that the pool is discarded together
+ * with the container when it is closed or evicted.
+ */
+final class PooledRedisContainer extends RedisContainer {
+    private RedisDatabasePool databasePool;
+
+    PooledRedisContainer(DockerImageName imageName) {
+        super(imageName);
+    }
+
+    synchronized RedisDatabasePool databasePool(int databases) {
+        if (databasePool == null) {
+            databasePool = new RedisDatabasePool(databases);
+        }
+        return databasePool;
+    }
+
+    synchronized RedisDatabasePool databasePool() {
+        return databasePool;
+    }
+}
@@ -31,6 +31,8 @@ abstract class RedisConfigurationSupport {
     public static final String CONFIG_REDIS_CLUSTER_INITIAL_PORT = "containers.redis.cluster.initial-port";
     public static final String CONFIG_REDIS_CLUSTER_IP = "containers.redis.cluster.ip";
     public static final String CONFIG_REDIS_CLUSTER_NOTIFY_KEYSPACE_EVENTS = "containers.redis.cluster.notify-keyspace-events";
+    public static final String CONFIG_REDIS_DATABASES = "containers.redis.databases";
+    public static final int DEFAULT_DATABASES = 16;
 
     private RedisConfigurationSupport() {
 
@@ -57,6 +59,18 @@ abstract class RedisConfigurationSupport {
         return (String) testResourcesConfig.getOrDefault(CONFIG_REDIS_CLUSTER_IP, RedisClusterContainer.DEFAULT_IP);
     }
 
+    static int findDatabases(Map<String, Object> testResourcesConfig) {
+        Object databases = testResourcesConfig.get(CONFIG_REDIS_DATABASES);
+        if (databases == null) {
+            return DEFAULT_DATABASES;
+        }
+        int count = databases instanceof Number n ? n.intValue() : Integer.parseInt(String.valueOf(databases));
+        if (count < 1) {
+            throw new IllegalArgumentException("Invalid value for 'test-resources." + CONFIG_REDIS_DATABASES + "': " + count + ". Expected a positive number");
+        }
+        return count;
+    }
+
     static Optional<String> findNotifyKeyspaceEvents(Map<String, Object> testResourcesConfig) {
         String notifyKeyspaceEvents = (String) testResourcesConfig.getOrDefault(CONFIG_REDIS_CLUSTER_NOTIFY_KEYSPACE_EVENTS, null);
         return Optional.ofNullable(notifyKeyspaceEvents);
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.redis;
+
+import io.micronaut.testresources.core.Scope;
+import io.micronaut.testresources.core.TestResourcesResolutionException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeSet;
+
+/**
+ * Keeps track of the logical databases of a shared Redis container
+ * which are assigned to scopes. The root scope always uses database
+ * 0, other scopes are assigned the lowest free index.
+ */
+final class RedisDatabasePool {
+    private final int databases;
+    private final TreeSet<Integer> free = new TreeSet<>();
+    private final Map<Scope, Integer> assigned = new HashMap<>();
+
+    RedisDatabasePool(int databases) {
+        this.databases = databases;
+        for (int i = 1; i < databases; i++) {
+            free.add(i);
+        }
+    }
+
+    synchronized int acquire(Scope scope) {
+        if (Scope.ROOT.equals(scope)) {
+            return 0;
+        }
+        Integer index = assigned.get(scope);
+        if (index != null) {
+            return index;
+        }
+        if (free.isEmpty()) {
+            throw new TestResourcesResolutionException("All " + databases + " Redis databases are used by open scopes. Increase 'test-resources." + RedisConfigurationSupport.CONFIG_REDIS_DATABASES + "' to allow more concurrent scopes.");
+        }
+        index = free.pollFirst();
+        assigned.put(scope, index);
+        return index;
+    }
+
+    synchronized OptionalInt indexOf(Scope scope) {
+        Integer index = assigned.get(scope);
+        return index == null ? OptionalInt.empty() : OptionalInt.of(index);
+    }
+
+    synchronized void release(Scope scope) {
+        Integer index = assigned.remove(scope);
+        if (index != null) {
+            free.add(index);
+        }
+    }
+}
@@ -16,15 +16,24 @@
 package io.micronaut.testresources.redis;
 
 import com.redis.testcontainers.RedisContainer;
+import io.micronaut.testresources.core.Scope;
+import io.micronaut.testresources.core.TestResourcesResolutionException;
 import io.micronaut.testresources.testcontainers.AbstractTestContainersProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Container;
 import org.testcontainers.utility.DockerImageName;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 
+import static io.micronaut.testresources.redis.RedisConfigurationSupport.DEFAULT_DATABASES;
+import static io.micronaut.testresources.redis.RedisConfigurationSupport.findDatabases;
 import static io.micronaut.testresources.redis.RedisConfigurationSupport.isClusterMode;
 
 /**
@@ -41,6 +50,8 @@ public class RedisTestResourceProvider extends AbstractTestContainersProvider<Re
     private static final Set<String> SUPPORTED_PROPERTIES = Set.of(REDIS_URI);
     public static final String DISPLAY_NAME = "Redis";
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisTestResourceProvider.class);
+
     @Override
     public List<String> getResolvableProperties(Map<String, Collection<String>> propertyEntries, Map<String, Object> testResourcesConfig) {
         boolean clusterMode = isClusterMode(testResourcesConfig);
@@ -64,7 +75,14 @@ public class RedisTestResourceProvider extends AbstractTestContainersProvider<Re
 
     @Override
     protected RedisContainer createContainer(DockerImageName imageName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
-        return new RedisContainer(imageName);
+        RedisContainer container = new PooledRedisContainer(imageName);
+        if (isSharedContainerEnabled(testResourcesConfig)) {
+            int databases = findDatabases(testResourcesConfig);
+            if (databases != DEFAULT_DATABASES) {
+                container.withCommand("redis-server", "--databases", String.valueOf(databases));
+            }
+        }
+        return container;
     }
 
     @Override
@@ -75,6 +93,59 @@ public class RedisTestResourceProvider extends AbstractTestContainersProvider<Re
         return Optional.empty();
     }
 
+    @Override
+    protected boolean supportsSharedContainer() {
+        return true;
+    }
+
+    @Override
+    protected Optional<String> resolveScopedProperty(String propertyName,
+                                                     Scope scope,
+                                                     RedisContainer container,
+                                                     Map<String, Object> testResourcesConfig) {
+        if (REDIS_URI.equals(propertyName) && container instanceof PooledRedisContainer pooled) {
+            int index = pooled.databasePool(findDatabases(testResourcesConfig)).acquire(scope);
+            return Optional.of(container.getRedisURI() + "/" + index);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    protected void closeScope(Scope scope, RedisContainer container) {
+        RedisDatabasePool pool = container instanceof PooledRedisContainer pooled ? pooled.databasePool() : null;
+        if (pool == null) {
+            return;
+        }
+        OptionalInt index = pool.indexOf(scope);
+        if (index.isEmpty()) {
+            return;
+        }
+        try {
+            if (container.isRunning()) {
+                flushDatabase(container, index.getAsInt());
+            }
+        } finally {
+            // only make the database available once it's empty
+            pool.release(scope);
+        }
+    }
+
+    private static void flushDatabase(RedisContainer container, int index) {
+        try {
+            Container.ExecResult result = container.execInContainer("redis-cli", "-n", String.valueOf(index), "FLUSHDB");
+            if (result.getExitCode() != 0) {
+                LOGGER.warn("Unable to flush Redis database {}: {}", index, result.getStderr());
+            } else {
+                LOGGER.debug("Flushed Redis database {}", index);
+            }
+        } catch (IOException e) {
+            throw new TestResourcesResolutionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestResourcesResolutionException(e);
+        }
+    }
+
     @Override
     protected boolean shouldAnswer(String propertyName, Map<String, Object> requestedProperties, Map<String, Object> testResourcesConfig) {
         return SUPPORTED_PROPERTIES.contains(propertyName);
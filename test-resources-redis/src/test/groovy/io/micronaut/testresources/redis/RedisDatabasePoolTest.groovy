@@ -0,0 +1,33 @@
+package io.micronaut.testresources.redis
+
+import io.micronaut.testresources.core.Scope
+import io.micronaut.testresources.core.TestResourcesResolutionException
+import spock.lang.Specification
+
+class RedisDatabasePoolTest extends Specification {
+
+    def "assigns the lowest free database to scopes"() {
+        def pool = new RedisDatabasePool(3)
+
+        expect:
+        pool.acquire(Scope.ROOT) == 0
+        pool.acquire(Scope.of("a")) == 1
+        pool.acquire(Scope.of("a")) == 1
+        pool.acquire(Scope.of("b")) == 2
+
+        when:
+        pool.acquire(Scope.of("c"))
+
+        then:
+        TestResourcesResolutionException ex = thrown()
+        ex.message.contains('test-resources.containers.redis.databases')
+
+        when:
+        pool.release(Scope.of("a"))
+
+        then:
+        pool.indexOf(Scope.of("a")).empty
+        pool.acquire(Scope.of("c")) == 1
+    }
+
+}
@@ -0,0 +1,37 @@
+package io.micronaut.testresources.redis
+
+import io.micronaut.context.annotation.Value
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+
+@MicronautTest(environments = ["test", "shared-container"])
+class SharedContainerRedisTest extends AbstractRedisSpec {
+
+    @Inject
+    protected RedisAccess redisAccess
+
+    @Value("\${redis.uri}")
+    String redisUri
+
+    @Override
+    String getScopeName() {
+        'redis-shared'
+    }
+
+    def "uses a logical database per scope"() {
+        given:
+        redisAccess.withClient {
+            it.set("foo", "bar")
+        }
+
+        when:
+        def value = redisAccess.withClient {
+            it.get("foo")
+        }
+
+        then:
+        value == 'bar'
+        redisUri ==~ /redis:\/\/.+:\d+\/[1-9]\d*/
+    }
+
+}
@@ -33,6 +33,10 @@ import reactor.core.publisher.Flux;
  * This is to avoid services abusing the server to spawn
  * containers: when the server is started, a random access key
  * should be generated, and passed to the allowed clients.
+ *
+ * Requests received on the Unix domain socket are accepted without
+ * an access token only if access to the socket was restricted to its
+ * owner before the server started.
  */
 @Filter("/**")
 public class AccessFilter implements HttpServerFilter {
@@ -44,7 +48,12 @@ public class AccessFilter implements HttpServerFilter {
 
     @Override
     public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
-        if (request.getRemoteAddress().getAddress().isLoopbackAddress()) {
+        boolean socketRequest = UnixDomainSocketSupport.isUnixDomainSocketRequest(request);
+        if (socketRequest && UnixDomainSocketSupport.isSecured()) {
+            // only the owner of the socket directory can connect
+            return chain.proceed(request);
+        }
+        if (socketRequest || request.getRemoteAddress().getAddress().isLoopbackAddress()) {
             if (request.getPath().startsWith("/control-panel")) {
                 return chain.proceed(request);
             }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.server;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * A lifecycle event of the test resources managed by the server,
+ * which is streamed to clients so that they can invalidate the
+ * values they cached.
+ *
+ * @since 2.8.0
+ */
+@Introspected
+public final class LifecycleEvent {
+    /**
+     * Sent when a client connects, and periodically afterwards.
+     * It carries the current generation.
+     */
+    public static final String HEARTBEAT = "heartbeat";
+
+    /**
+     * Sent when the test resources of a scope are closed.
+     */
+    public static final String SCOPE_CLOSED = "scope-closed";
+
+    /**
+     * Sent when all test resources are closed.
+     */
+    public static final String ALL_CLOSED = "all-closed";
+
+    /**
+     * Sent when a container stopped unexpectedly, and was evicted.
+     */
+    public static final String CONTAINER_STOPPED = "container-stopped";
+
+    private final String serverId;
+    private final long generation;
+    private final String type;
+    private final String scope;
+
+    public LifecycleEvent(String serverId, long generation, String type, @Nullable String scope) {
+        this.serverId = serverId;
+        this.generation = generation;
+        this.type = type;
+        this.scope = scope;
+    }
+
+    /**
+     * Returns the identifier of the server instance, which changes
+     * when the server is restarted.
+     * @return the server id
+     */
+    public String getServerId() {
+        return serverId;
+    }
+
+    /**
+     * Returns the generation of the server state. It is incremented
+     * for each event, except for heartbeats.
+     * @return the generation
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the type of the event.
+     * @return the type
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the scope affected by the event, if any.
+     * @return the scope
+     */
+    @Nullable
+    public String getScope() {
+        return scope;
+    }
+
+    @Override
+    public String toString() {
+        return "LifecycleEvent{" +
+            "generation=" + generation +
+            ", type='" + type + '\'' +
+            ", scope='" + scope + '\'' +
+            '}';
+    }
+}
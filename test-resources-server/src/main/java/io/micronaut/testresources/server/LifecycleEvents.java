@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.server;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.sse.Event;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.micronaut.testresources.core.Scope;
+import io.micronaut.testresources.testcontainers.TestContainers;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the lifecycle events of test resources to the clients which
+ * listen to them. Each event which changes the state of the server gets
+ * a new generation number, so that clients can detect that they missed
+ * events, in which case they must invalidate everything they cached.
+ *
+ * This component also periodically evicts the containers which stopped
+ * unexpectedly, for example because they crashed.
+ *
+ * @since 2.8.0
+ */
+@Singleton
+public final class LifecycleEvents {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LifecycleEvents.class);
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(30);
+
+    private final String serverId = UUID.randomUUID().toString();
+    private final AtomicLong generation = new AtomicLong();
+    private final Sinks.Many<LifecycleEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    /**
+     * Returns the stream of events. The first event is a heartbeat which
+     * carries the current generation.
+     *
+     * @return the stream of server-sent events
+     */
+    public Publisher<Event<LifecycleEvent>> stream() {
+        return Flux.merge(sink.asFlux(), Flux.interval(Duration.ZERO, HEARTBEAT_INTERVAL).map(unused -> heartbeat()))
+            .map(event -> Event.of(event)
+                .id(String.valueOf(event.getGeneration()))
+                .name(event.getType()));
+    }
+
+    /**
+     * Publishes an event which changes the state of the server.
+     *
+     * @param type the type of event
+     * @param scope the affected scope, if any
+     */
+    public synchronized void publish(String type, @Nullable String scope) {
+        var event = new LifecycleEvent(serverId, generation.incrementAndGet(), type, scope);
+        LOGGER.debug("Publishing {}", event);
+        // emissions must be serialized, which is why this method is synchronized
+        sink.tryEmitNext(event);
+    }
+
+    /**
+     * Evicts the containers which are no longer running and notifies clients.
+     */
+    @Scheduled(fixedDelay = "${server.container.check.interval:10s}", initialDelay = "${server.container.check.interval:10s}")
+    public void evictStoppedContainers() {
+        for (Scope scope : TestContainers.evictStoppedContainers()) {
+            publish(LifecycleEvent.CONTAINER_STOPPED, scope.toString());
+        }
+    }
+
+    private LifecycleEvent heartbeat() {
+        return new LifecycleEvent(serverId, generation.get(), LifecycleEvent.HEARTBEAT, null);
+    }
+}
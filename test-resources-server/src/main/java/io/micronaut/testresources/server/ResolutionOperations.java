@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.server;
+
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.testresources.testcontainers.TestContainers;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps track of the resolutions which clients chose to await
+ * asynchronously, because they may take longer than the read timeout
+ * of the client, for example when a container image has to be pulled.
+ *
+ * Identical requests which are in flight share the same operation, so
+ * that a client retrying a request doesn't trigger duplicate work.
+ * Completed operations are retained for a while, so that all the clients
+ * which wait for them can fetch the result.
+ *
+ * If no client awaits an operation anymore, for example because the test
+ * JVM which requested it was killed, then the containers it is starting are
+ * cancelled, unless the resolution was requested as a prefetch.
+ *
+ * @since 2.8.0
+ */
+@Singleton
+public final class ResolutionOperations {
+    private static final Duration RETENTION = Duration.ofMinutes(10);
+    private static final Duration ABANDON_DELAY = Duration.ofSeconds(15);
+
+    private final ExecutorService executorService;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final Map<String, Operation> inFlight = new ConcurrentHashMap<>();
+
+    public ResolutionOperations(@Named(TaskExecutors.BLOCKING) ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Starts a resolution, unless an identical resolution is in flight,
+     * in which case its operation is returned.
+     *
+     * @param requestKey the key identifying identical requests
+     * @param prefetch if the resolution must complete even if no client awaits it
+     * @param resolution the resolution to perform
+     * @return the operation
+     */
+    public Operation submit(String requestKey, boolean prefetch, Supplier<Optional<String>> resolution) {
+        expireCompletedOperations();
+        var created = new Operation(UUID.randomUUID().toString(), new CompletableFuture<>(), prefetch);
+        var existing = inFlight.putIfAbsent(requestKey, created);
+        if (existing != null) {
+            if (prefetch) {
+                existing.prefetch = true;
+            }
+            return existing;
+        }
+        operations.put(created.id(), created);
+        CompletableFuture.supplyAsync(() -> TestContainers.whileInterested(created::isWanted, resolution), executorService).whenComplete((value, error) -> {
+            inFlight.remove(requestKey, created);
+            created.completedAt = System.nanoTime();
+            if (error != null) {
+                created.result().completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else {
+                created.result().complete(value);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Returns an operation.
+     *
+     * @param id the operation id
+     * @return the operation, or empty if it is unknown or expired
+     */
+    public Optional<Operation> find(String id) {
+        return Optional.ofNullable(operations.get(id));
+    }
+
+    private void expireCompletedOperations() {
+        long now = System.nanoTime();
+        operations.values().removeIf(operation -> operation.result().isDone() && now - operation.completedAt > RETENTION.toNanos());
+    }
+
+    /**
+     * A resolution which may still be in flight.
+     */
+    public static final class Operation {
+        private final String id;
+        private final CompletableFuture<Optional<String>> result;
+        private final AtomicInteger awaiting = new AtomicInteger();
+        private volatile boolean prefetch;
+        private volatile long lastAwaitedAt = System.nanoTime();
+        private volatile long completedAt;
+
+        private Operation(String id, CompletableFuture<Optional<String>> result, boolean prefetch) {
+            this.id = id;
+            this.result = result;
+            this.prefetch = prefetch;
+        }
+
+        /**
+         * @return the operation id
+         */
+        public String id() {
+            return id;
+        }
+
+        /**
+         * @return the result of the resolution
+         */
+        public CompletableFuture<Optional<String>> result() {
+            return result;
+        }
+
+        /**
+         * Waits for the result of the operation, on behalf of a client.
+         *
+         * @param wait the maximum time to wait
+         * @return the result
+         * @throws InterruptedException if the current thread was interrupted
+         * @throws ExecutionException if the resolution failed
+         * @throws TimeoutException if the resolution didn't complete in time
+         */
+        public Optional<String> await(Duration wait) throws InterruptedException, ExecutionException, TimeoutException {
+            awaiting.incrementAndGet();
+            try {
+                return result.get(wait.toMillis(), TimeUnit.MILLISECONDS);
+            } finally {
+                lastAwaitedAt = System.nanoTime();
+                awaiting.decrementAndGet();
+            }
+        }
+
+        /**
+         * Tells if the result of this operation is still wanted, which
+         * is the case if it's a prefetch, or if a client is waiting for it
+         * or did so recently.
+         *
+         * @return true if the result is wanted
+         */
+        boolean isWanted() {
+            return prefetch || awaiting.get() > 0 || System.nanoTime() - lastAwaitedAt < ABANDON_DELAY.toNanos();
+        }
+    }
+}
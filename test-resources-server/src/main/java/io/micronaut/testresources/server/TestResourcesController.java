@@ -17,30 +17,58 @@ package io.micronaut.testresources.server;
 
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.http.sse.Event;
 import io.micronaut.runtime.server.EmbeddedServer;
 import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.scheduling.TaskScheduler;
 import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.micronaut.testresources.core.CborCodec;
+import io.micronaut.testresources.core.Fingerprint;
+import io.micronaut.testresources.core.PropertyResolverSupport;
 import io.micronaut.testresources.core.ResolverLoader;
 import io.micronaut.testresources.core.TestResourcesResolutionException;
 import io.micronaut.testresources.core.TestResourcesResolver;
 import io.micronaut.testresources.core.ToggableTestResourcesResolver;
 import io.micronaut.testresources.testcontainers.TestContainers;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.net.URI;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The main test resources controller, which will answer requests performed by the
@@ -53,6 +81,15 @@ public class TestResourcesController implements TestResourcesResolver {
     private static final Logger LOGGER = LoggerFactory.getLogger(TestResourcesController.class);
     private static final int MAX_STOP_TIMEOUT = 5000;
     private static final String TEST_RESOURCES_PREFIX = "test-resources.";
+    private static final String OPERATIONS_URI = "/operations/";
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String REQUIRED_PROPERTIES_RESOLVED = "Required-Properties-Resolved";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String WAIT = "wait=";
+    private static final Duration DEFAULT_WAIT = Duration.ofSeconds(10);
+    private static final Duration MAX_WAIT = Duration.ofSeconds(30);
+    private static final int MAX_ENTITY_TAGS = 256;
 
     private final ResolverLoader loader;
 
@@ -60,17 +97,42 @@ public class TestResourcesController implements TestResourcesResolver {
     private final EmbeddedServer embeddedServer;
     private final ApplicationContext applicationContext;
     private final TaskScheduler taskScheduler;
+    private final String resolversFingerprint;
+    private final Map<List<Object>, String> entityTags = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, String> eldest) {
+            return size() > MAX_ENTITY_TAGS;
+        }
+    });
+    private final LifecycleEvents lifecycleEvents;
+    private final ResolutionOperations resolutionOperations;
 
     public TestResourcesController(List<PropertyResolutionListener> propertyResolutionListeners,
                                    EmbeddedServer embeddedServer,
                                    ApplicationContext applicationContext,
                                    ResolverLoader loader,
-                                   TaskScheduler taskScheduler) {
+                                   TaskScheduler taskScheduler,
+                                   LifecycleEvents lifecycleEvents,
+                                   ResolutionOperations resolutionOperations) {
         this.propertyResolutionListeners = propertyResolutionListeners;
         this.embeddedServer = embeddedServer;
         this.applicationContext = applicationContext;
         this.loader = loader;
         this.taskScheduler = taskScheduler;
+        this.lifecycleEvents = lifecycleEvents;
+        this.resolutionOperations = resolutionOperations;
+        this.resolversFingerprint = Fingerprint.of(loader.getResolvers().stream().map(r -> r.getClass().getName()).toList());
+    }
+
+    /**
+     * A cheap endpoint which clients can call to keep the server alive.
+     *
+     * @return always true
+     * @since 2.8.0
+     */
+    @Get("/ping")
+    public boolean ping() {
+        return true;
     }
 
     /**
@@ -79,11 +141,23 @@ public class TestResourcesController implements TestResourcesResolver {
      *
      * @return the list of resolvable properties which do not depend on the application configuration
      */
-    @Get("/list")
     public List<String> getResolvableProperties() {
         return getResolvableProperties(Collections.emptyMap(), Collections.emptyMap());
     }
 
+    /**
+     * Lists all resolvable properties which do not depend on the application
+     * configuration, unless they didn't change since the client last fetched them.
+     *
+     * @param ifNoneMatch the entity tag of the list the client knows about, if any
+     * @return the list of resolvable properties, or a not modified response
+     * @since 2.8.0
+     */
+    @Get("/list")
+    public HttpResponse<List<String>> getResolvablePropertiesIfChanged(@Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return conditional(ifNoneMatch, entityTagOf("list"), this::getResolvableProperties);
+    }
+
     /**
      * Lists all resolvable properties for a particular configuration.
      *
@@ -91,7 +165,6 @@ public class TestResourcesController implements TestResourcesResolver {
      * @param testResourcesConfig the test resources configuration
      */
     @Override
-    @Post("/list")
     public List<String> getResolvableProperties(Map<String, Collection<String>> propertyEntries,
                                                 Map<String, Object> testResourcesConfig) {
         var sanitizedTestResourcesConfig = sanitizeTestResourcesConfig(testResourcesConfig);
@@ -107,6 +180,46 @@ public class TestResourcesController implements TestResourcesResolver {
             .toList();
     }
 
+    /**
+     * Lists all resolvable properties for a particular configuration, unless
+     * they didn't change since the client last fetched them.
+     * The entity tag is derived from the loaded resolvers and from the
+     * request, so computing it is much cheaper than asking each resolver.
+     *
+     * @param propertyEntries the property entries
+     * @param testResourcesConfig the test resources configuration
+     * @param ifNoneMatch the entity tag of the list the client knows about, if any
+     * @return the list of resolvable properties, or a not modified response
+     * @since 2.8.0
+     */
+    @Post("/list")
+    public HttpResponse<List<String>> getResolvablePropertiesIfChanged(Map<String, Collection<String>> propertyEntries,
+                                                                       Map<String, Object> testResourcesConfig,
+                                                                       @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        var entityTag = entityTagOf("list", propertyEntries, sanitizeTestResourcesConfig(testResourcesConfig));
+        return conditional(ifNoneMatch, entityTag, () -> getResolvableProperties(propertyEntries, testResourcesConfig));
+    }
+
+    /**
+     * Lists all resolvable properties for a particular configuration, using the
+     * binary wire format for both the request and the response.
+     *
+     * @param body the CBOR encoded request
+     * @param ifNoneMatch the entity tag of the list the client knows about, if any
+     * @return the CBOR encoded list of resolvable properties, or a not modified response
+     * @throws IOException if the request cannot be decoded
+     * @since 2.8.0
+     */
+    @Post(value = "/list", consumes = CborCodec.MEDIA_TYPE, produces = CborCodec.MEDIA_TYPE)
+    public HttpResponse<byte[]> getResolvablePropertiesBinary(@Body byte[] body,
+                                                              @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) throws IOException {
+        Map<String, Object> request = decodeBinaryRequest(body);
+        Map<String, Collection<String>> propertyEntries = mapOf(request, "propertyEntries");
+        Map<String, Object> testResourcesConfig = mapOf(request, "testResourcesConfig");
+        var entityTag = entityTagOf(CborCodec.MEDIA_TYPE, propertyEntries, sanitizeTestResourcesConfig(testResourcesConfig));
+        return conditional(ifNoneMatch, entityTag, () -> CborCodec.encode(getResolvableProperties(propertyEntries, testResourcesConfig)));
+    }
+
     /**
      * Lists all properties required to resolve a particular expression.
      *
@@ -114,7 +227,6 @@ public class TestResourcesController implements TestResourcesResolver {
      * @return the list of required properties
      */
     @Override
-    @Get("/requirements/expr/{expression}")
     public List<String> getRequiredProperties(String expression) {
         return loader.getResolvers()
             .stream()
@@ -124,13 +236,27 @@ public class TestResourcesController implements TestResourcesResolver {
             .toList();
     }
 
+    /**
+     * Lists all properties required to resolve a particular expression,
+     * unless they didn't change since the client last fetched them.
+     *
+     * @param expression the expression which needs to be resolved.
+     * @param ifNoneMatch the entity tag of the list the client knows about, if any
+     * @return the list of required properties, or a not modified response
+     * @since 2.8.0
+     */
+    @Get("/requirements/expr/{expression}")
+    public HttpResponse<List<String>> getRequiredPropertiesIfChanged(String expression,
+                                                                     @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return conditional(ifNoneMatch, entityTagOf("requirements", expression), () -> getRequiredProperties(expression));
+    }
+
     /**
      * Lists all properties required by all resolvers.
      *
      * @return the list of required properties
      */
     @Override
-    @Get("/requirements/entries")
     public List<String> getRequiredPropertyEntries() {
         return loader.getResolvers()
             .stream()
@@ -141,17 +267,87 @@ public class TestResourcesController implements TestResourcesResolver {
     }
 
     /**
-     * Resolves a property.
+     * Lists all properties required by all resolvers, unless they didn't
+     * change since the client last fetched them.
+     *
+     * @param ifNoneMatch the entity tag of the list the client knows about, if any
+     * @return the list of required properties, or a not modified response
+     * @since 2.8.0
+     */
+    @Get("/requirements/entries")
+    public HttpResponse<List<String>> getRequiredPropertyEntriesIfChanged(@Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return conditional(ifNoneMatch, entityTagOf("entries"), this::getRequiredPropertyEntries);
+    }
+
+    /**
+     * Resolves a property. The required properties which the client leaves
+     * to the server, listed in the {@link PropertyResolverSupport#SERVER_RESOLVED_PROPERTIES}
+     * property, are resolved by the server first, if possible.
      *
      * @param name the property to resolve
      * @param properties the resolved required properties
      * @param testResourcesConfig the test resources configuration
      * @return the resolved property, if any
      */
-    @Post("/resolve")
+    @Override
     public Optional<String> resolve(String name,
                                     Map<String, Object> properties,
                                     Map<String, Object> testResourcesConfig) {
+        var serverResolved = serverResolvedPropertiesOf(properties);
+        Map<String, Object> requestProperties = new HashMap<>(properties);
+        requestProperties.remove(PropertyResolverSupport.SERVER_RESOLVED_PROPERTIES);
+        return resolve(name, requestProperties, testResourcesConfig, serverResolved::contains, new LinkedHashSet<>());
+    }
+
+    private Optional<String> resolve(String name,
+                                     Map<String, Object> requestProperties,
+                                     Map<String, Object> testResourcesConfig,
+                                     Predicate<String> serverResolved,
+                                     Set<String> resolving) {
+        if (!resolving.add(name)) {
+            throw new TestResourcesResolutionException("Cannot resolve property '" + name + "' because its required properties depend on it: "
+                                                       + String.join(" -> ", resolving) + " -> " + name);
+        }
+        try {
+            var properties = withRequiredProperties(name, requestProperties, testResourcesConfig, serverResolved, resolving);
+            return resolveWithResolvers(name, properties, testResourcesConfig);
+        } finally {
+            resolving.remove(name);
+        }
+    }
+
+    /**
+     * Resolves the properties required by a property which the client left
+     * to the server, because they are supplied by test resources too. The
+     * client only knows about the properties required by the property it
+     * resolves, so the properties they require in turn are all resolved by
+     * the server.
+     */
+    private Map<String, Object> withRequiredProperties(String name,
+                                                       Map<String, Object> properties,
+                                                       Map<String, Object> testResourcesConfig,
+                                                       Predicate<String> serverResolved,
+                                                       Set<String> resolving) {
+        var missing = getRequiredProperties(name)
+            .stream()
+            .filter(property -> !properties.containsKey(property) && serverResolved.test(property))
+            .toList();
+        if (missing.isEmpty()) {
+            return properties;
+        }
+        Map<String, Object> allProperties = new HashMap<>(properties);
+        for (String property : missing) {
+            resolve(property, properties, testResourcesConfig, unused -> true, resolving).ifPresent(value -> {
+                LOGGER.debug("Resolved property {} required by {}: {}", property, name, value);
+                allProperties.put(property, value);
+            });
+        }
+        return allProperties;
+    }
+
+    private Optional<String> resolveWithResolvers(String name,
+                                                  Map<String, Object> properties,
+                                                  Map<String, Object> testResourcesConfig) {
         var sanitizedTestResourcesConfig = sanitizeTestResourcesConfig(testResourcesConfig);
         Optional<String> result = Optional.empty();
         for (TestResourcesResolver resolver : loader.getResolvers()) {
@@ -182,6 +378,80 @@ public class TestResourcesController implements TestResourcesResolver {
         return result;
     }
 
+    /**
+     * Resolves a property. If the client prefers to be answered
+     * asynchronously, using the <code>Prefer: respond-async</code> header,
+     * and that the property isn't resolved within the time the client is
+     * willing to wait, then an <code>202 Accepted</code> response is
+     * returned, pointing to the operation that the client must poll.
+     *
+     * @param name the property to resolve
+     * @param properties the resolved required properties
+     * @param testResourcesConfig the test resources configuration
+     * @param prefetch if the property is resolved ahead of time, in which case the resolution completes even if the client goes away
+     * @param prefer the preferences of the client, if any
+     * @param request the HTTP request, used to find out if the client is still connected
+     * @return the resolved property, a not found response, or an accepted response
+     * @since 2.8.0
+     */
+    @Post("/resolve")
+    public HttpResponse<String> resolveIfReady(String name,
+                                               Map<String, Object> properties,
+                                               Map<String, Object> testResourcesConfig,
+                                               @Nullable Boolean prefetch,
+                                               @Nullable @Header(PREFER) String prefer,
+                                               HttpRequest<?> request) {
+        return resolveIfReady(name, properties, testResourcesConfig, Boolean.TRUE.equals(prefetch), prefer, request, HttpResponse::ok);
+    }
+
+    /**
+     * Resolves a property, using the binary wire format for both the request
+     * and the response.
+     *
+     * @param body the CBOR encoded request
+     * @param prefer the preferences of the client, if any
+     * @param httpRequest the HTTP request, used to find out if the client is still connected
+     * @return the CBOR encoded resolved property, a not found response, or an accepted response
+     * @throws IOException if the request cannot be decoded
+     * @since 2.8.0
+     */
+    @Post(value = "/resolve", consumes = CborCodec.MEDIA_TYPE, produces = CborCodec.MEDIA_TYPE)
+    public HttpResponse<byte[]> resolveBinary(@Body byte[] body,
+                                              @Nullable @Header(PREFER) String prefer,
+                                              HttpRequest<?> httpRequest) throws IOException {
+        Map<String, Object> request = decodeBinaryRequest(body);
+        return resolveIfReady(String.valueOf(request.get("name")), mapOf(request, "properties"), mapOf(request, "testResourcesConfig"),
+            Boolean.TRUE.equals(request.get("prefetch")), prefer, httpRequest, value -> HttpResponse.ok(CborCodec.encode(value)));
+    }
+
+    /**
+     * Waits for the result of a resolution which was accepted for
+     * asynchronous processing. The request returns as soon as the
+     * resolution completes, or after the time the client is willing to
+     * wait, in which case another <code>202 Accepted</code> response
+     * is returned.
+     *
+     * @param id the operation id
+     * @param prefer the preferences of the client, if any
+     * @param accept the media types accepted by the client
+     * @return the resolved property, a not found response, an accepted response, or a gone response if the operation is unknown
+     * @since 2.8.0
+     */
+    @Get(value = "/operations/{id}", produces = {MediaType.APPLICATION_JSON, CborCodec.MEDIA_TYPE})
+    public HttpResponse<?> awaitOperation(String id,
+                                          @Nullable @Header(PREFER) String prefer,
+                                          @Nullable @Header(HttpHeaders.ACCEPT) String accept) {
+        var operation = resolutionOperations.find(id);
+        if (operation.isEmpty()) {
+            return HttpResponse.status(HttpStatus.GONE);
+        }
+        var wait = waitOf(prefer).orElse(DEFAULT_WAIT);
+        if (accept != null && accept.contains(CborCodec.MEDIA_TYPE)) {
+            return await(operation.get(), wait, value -> HttpResponse.ok(CborCodec.encode(value)).contentType(CborCodec.MEDIA_TYPE));
+        }
+        return await(operation.get(), wait, value -> HttpResponse.ok(value).contentType(MediaType.APPLICATION_JSON_TYPE));
+    }
+
     /**
      * Closes all test resources.
      *
@@ -190,7 +460,9 @@ public class TestResourcesController implements TestResourcesResolver {
     @Get("/close/all")
     public boolean closeAll() {
         LOGGER.debug("Closing all test resources");
-        return TestContainers.closeAll();
+        boolean closed = TestContainers.closeAll();
+        lifecycleEvents.publish(LifecycleEvent.ALL_CLOSED, null);
+        return closed;
     }
 
     /**
@@ -202,7 +474,21 @@ public class TestResourcesController implements TestResourcesResolver {
     @Get("/close/{id}")
     public boolean closeScope(@Nullable String id) {
         LOGGER.info("Closing test resources of scope {}", id);
-        return TestContainers.closeScope(id);
+        boolean closed = TestContainers.closeScope(id);
+        lifecycleEvents.publish(LifecycleEvent.SCOPE_CLOSED, id);
+        return closed;
+    }
+
+    /**
+     * Streams the lifecycle events of test resources, so that clients
+     * can invalidate the values they cached.
+     *
+     * @return the stream of events
+     * @since 2.8.0
+     */
+    @Get(value = "/events", produces = MediaType.TEXT_EVENT_STREAM)
+    public Publisher<Event<LifecycleEvent>> events() {
+        return lifecycleEvents.stream();
     }
 
     /**
@@ -260,6 +546,94 @@ public class TestResourcesController implements TestResourcesResolver {
         return true;
     }
 
+    private <T> HttpResponse<T> resolveIfReady(String name,
+                                               Map<String, Object> properties,
+                                               Map<String, Object> testResourcesConfig,
+                                               boolean prefetch,
+                                               @Nullable String prefer,
+                                               HttpRequest<?> request,
+                                               Function<String, MutableHttpResponse<T>> ok) {
+        var wait = respondAsync(prefer) ? waitOf(prefer).orElse(DEFAULT_WAIT) : null;
+        if (wait == null) {
+            Supplier<Optional<String>> resolution = () -> resolve(name, properties, testResourcesConfig);
+            var resolved = prefetch ? resolution.get() : TestContainers.whileInterested(isConnected(request), resolution);
+            return resolved.map(ok).orElseGet(HttpResponse::notFound)
+                .header(REQUIRED_PROPERTIES_RESOLVED, "true");
+        }
+        var requestKey = Fingerprint.of(name, properties, sanitizeTestResourcesConfig(testResourcesConfig));
+        var operation = resolutionOperations.submit(requestKey, prefetch, () -> resolve(name, properties, testResourcesConfig));
+        return await(operation, wait, ok);
+    }
+
+    private static <T> MutableHttpResponse<T> await(ResolutionOperations.Operation operation,
+                                                    Duration wait,
+                                                    Function<String, MutableHttpResponse<T>> ok) {
+        try {
+            // Lets clients know that they don't have to resolve the required properties left to the server
+            return operation.await(wait)
+                .map(ok)
+                .orElseGet(HttpResponse::notFound)
+                .header(REQUIRED_PROPERTIES_RESOLVED, "true");
+        } catch (TimeoutException e) {
+            return HttpResponse.<T>accepted(URI.create(OPERATIONS_URI + operation.id()))
+                .header(PREFERENCE_APPLIED, RESPOND_ASYNC);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestResourcesResolutionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException ex) {
+                throw ex;
+            }
+            throw new TestResourcesResolutionException(e.getCause());
+        }
+    }
+
+    private static Set<String> serverResolvedPropertiesOf(Map<String, Object> properties) {
+        if (properties.get(PropertyResolverSupport.SERVER_RESOLVED_PROPERTIES) instanceof Collection<?> serverResolved) {
+            return serverResolved.stream().map(String::valueOf).collect(Collectors.toSet());
+        }
+        return Set.of();
+    }
+
+    /**
+     * Tells if the client which sent a request is still connected, so that
+     * the containers started for a synchronous request are cancelled if the
+     * client goes away.
+     */
+    private static BooleanSupplier isConnected(HttpRequest<?> request) {
+        if (request instanceof NettyHttpRequest<?> nettyRequest) {
+            var channel = nettyRequest.getChannelHandlerContext().channel();
+            return channel::isActive;
+        }
+        return () -> true;
+    }
+
+    private static boolean respondAsync(@Nullable String prefer) {
+        return prefer != null && preferencesOf(prefer).anyMatch(RESPOND_ASYNC::equalsIgnoreCase);
+    }
+
+    private static Optional<Duration> waitOf(@Nullable String prefer) {
+        if (prefer == null) {
+            return Optional.empty();
+        }
+        return preferencesOf(prefer)
+            .filter(preference -> preference.regionMatches(true, 0, WAIT, 0, WAIT.length()))
+            .findFirst()
+            .flatMap(preference -> {
+                try {
+                    long seconds = Long.parseLong(preference.substring(WAIT.length()).trim());
+                    return Optional.of(Duration.ofSeconds(Math.max(0, seconds)));
+                } catch (NumberFormatException e) {
+                    return Optional.empty();
+                }
+            })
+            .map(wait -> wait.compareTo(MAX_WAIT) > 0 ? MAX_WAIT : wait);
+    }
+
+    private static Stream<String> preferencesOf(String prefer) {
+        return Arrays.stream(prefer.split("[,;]")).map(String::trim);
+    }
+
     private void closeResolvers() {
         loader.getResolvers()
             .stream()
@@ -275,6 +649,45 @@ public class TestResourcesController implements TestResourcesResolver {
             });
     }
 
+    /**
+     * Returns the entity tag of a request. Clients send the same requests
+     * over and over, so entity tags are cached by request instead of
+     * fingerprinting each request.
+     */
+    private String entityTagOf(Object... request) {
+        var key = Arrays.asList(request);
+        var entityTag = entityTags.get(key);
+        if (entityTag == null) {
+            entityTag = '"' + Fingerprint.of(resolversFingerprint, key) + '"';
+            entityTags.put(key, entityTag);
+        }
+        return entityTag;
+    }
+
+    private static <T> HttpResponse<T> conditional(@Nullable String ifNoneMatch, String entityTag, Supplier<T> body) {
+        if (ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(",")).map(String::trim).anyMatch(tag -> tag.equals(entityTag) || tag.equals("*"))) {
+            return HttpResponse.<T>notModified().header(HttpHeaders.ETAG, entityTag);
+        }
+        return HttpResponse.ok(body.get()).header(HttpHeaders.ETAG, entityTag);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> decodeBinaryRequest(byte[] body) throws IOException {
+        if (CborCodec.decode(new ByteArrayInputStream(body)) instanceof Map<?, ?> request) {
+            return (Map<String, Object>) request;
+        }
+        throw new IOException("Invalid binary request: expected a map");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map<K, V> mapOf(Map<String, Object> request, String key) {
+        Object value = request.get(key);
+        if (value == null) {
+            return Collections.emptyMap();
+        }
+        return (Map<K, V>) value;
+    }
+
     private static boolean isEnabled(TestResourcesResolver resolver,
                                      Map<String, Object> testResourcesConfig) {
         if (resolver instanceof ToggableTestResourcesResolver toggable) {
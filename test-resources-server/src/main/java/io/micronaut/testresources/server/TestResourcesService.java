@@ -28,8 +28,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.FileWriter;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Main entry point for the server.
@@ -40,7 +44,14 @@ public class TestResourcesService {
 
     public static void main(String[] args) {
         long sd = System.nanoTime();
-        ApplicationContext context = Micronaut.run(TestResourcesService.class, args);
+        Optional<Path> socketPath = UnixDomainSocketSupport.socketPathFrom(args);
+        Optional<Path> boundSocket = socketPath.flatMap(UnixDomainSocketSupport::prepare);
+        Map<String, Object> properties = boundSocket.map(UnixDomainSocketSupport::listenerPropertiesFor)
+            .orElse(Collections.emptyMap());
+        ApplicationContext context = Micronaut.build(args)
+            .mainClass(TestResourcesService.class)
+            .properties(properties)
+            .start();
         Arrays.stream(args)
             .filter(arg -> arg.startsWith("--port-file="))
             .findFirst()
@@ -58,6 +69,9 @@ public class TestResourcesService {
         long dur = System.nanoTime() - sd;
         LOGGER.info("A Micronaut Test Resources server is listening on port {}, started in {}ms",
             context.getBean(EmbeddedServer.class).getPort(), Duration.ofNanos(dur).toMillis());
+        if (boundSocket.isPresent()) {
+            LOGGER.info("The Micronaut Test Resources server is also listening on socket {}", socketPath.get());
+        }
     }
 
     /**
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.server;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Support for listening to a Unix domain socket in addition to the TCP
+ * port. Netty only supports domain sockets with its native transports,
+ * so the socket is only bound if one of them is available.
+ *
+ * The socket is bound inside a private directory, which is created
+ * with permissions restricted to the owner of the process before the
+ * server starts, so that no other user can connect to it, even before
+ * the server accepts connections. The requested socket path is a
+ * symbolic link to the socket in that directory. If the directory
+ * cannot be secured, the socket isn't bound at all.
+ */
+final class UnixDomainSocketSupport {
+    static final String UNIX_SOCKET_ARG = "--unix-socket=";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnixDomainSocketSupport.class);
+    private static final String LISTENERS_PREFIX = "micronaut.server.netty.listeners.";
+    private static final String MICRONAUT_SERVER_PORT = "micronaut.server.port";
+    private static final String[] NATIVE_TRANSPORTS = {
+        "io.netty.channel.epoll.Epoll",
+        "io.netty.channel.kqueue.KQueue"
+    };
+    private static final String BOUND_SOCKET_NAME = "s";
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    private static volatile boolean secured;
+
+    private UnixDomainSocketSupport() {
+
+    }
+
+    /**
+     * Returns the socket path requested on the command line, if the
+     * platform supports binding it.
+     *
+     * @param args the command line arguments
+     * @return the socket path, if any
+     */
+    static Optional<Path> socketPathFrom(String[] args) {
+        Optional<Path> socketPath = Arrays.stream(args)
+            .filter(arg -> arg.startsWith(UNIX_SOCKET_ARG))
+            .findFirst()
+            .map(arg -> Paths.get(arg.substring(UNIX_SOCKET_ARG.length())));
+        if (socketPath.isPresent() && !isNativeTransportAvailable()) {
+            LOGGER.debug("No Netty native transport available, not listening on socket {}", socketPath.get());
+            return Optional.empty();
+        }
+        return socketPath;
+    }
+
+    /**
+     * Computes the configuration of the server listeners: the
+     * TCP listener which is always present, and the Unix domain socket
+     * listener.
+     *
+     * @param socketPath the path to the socket file
+     * @return the configuration properties
+     */
+    static Map<String, Object> listenerPropertiesFor(Path socketPath) {
+        int port = Integer.parseInt(System.getProperty(MICRONAUT_SERVER_PORT, "-1"));
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("micronaut.server.netty.use-native-transport", true);
+        properties.put(LISTENERS_PREFIX + "tcp.family", "TCP");
+        properties.put(LISTENERS_PREFIX + "tcp.port", Math.max(port, 0));
+        properties.put(LISTENERS_PREFIX + "unix.family", "UNIX");
+        properties.put(LISTENERS_PREFIX + "unix.path", socketPath.toAbsolutePath().toString());
+        return properties;
+    }
+
+    /**
+     * Prepares the socket before the server starts: the socket is bound
+     * in a private directory, next to the requested socket path, which
+     * is only accessible to the owner of the process, and the requested
+     * path becomes a symbolic link to the bound socket. Leftovers of a
+     * previous server are removed, and both the link and the directory
+     * are deleted when the server stops.
+     *
+     * @param socketPath the path to the socket file
+     * @return the path the server should bind the socket to, or an empty
+     * optional if access to the socket cannot be restricted
+     */
+    static Optional<Path> prepare(Path socketPath) {
+        Path absolutePath = socketPath.toAbsolutePath();
+        Path directory = privateDirectoryOf(absolutePath);
+        Path boundSocket = directory.resolve(BOUND_SOCKET_NAME);
+        try {
+            delete(absolutePath, directory);
+            Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+            if (!OWNER_ONLY.equals(Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS))) {
+                throw new IOException("Unexpected permissions on directory " + directory);
+            }
+            Files.createSymbolicLink(absolutePath, boundSocket);
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.warn("Unable to restrict access to socket {}, not listening on it", socketPath, e);
+            try {
+                delete(absolutePath, directory);
+            } catch (IOException ex) {
+                LOGGER.debug("Unable to delete socket directory {}", directory, ex);
+            }
+            return Optional.empty();
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                delete(absolutePath, directory);
+            } catch (IOException e) {
+                LOGGER.debug("Unable to delete socket directory {}", directory, e);
+            }
+        }));
+        secured = true;
+        return Optional.of(boundSocket);
+    }
+
+    /**
+     * Determines if requests received on the socket can be trusted
+     * without an access token, which is only the case if access to the
+     * socket was restricted before the server started.
+     *
+     * @return true if the socket is only accessible to the owner of the process
+     */
+    static boolean isSecured() {
+        return secured;
+    }
+
+    /**
+     * Determines if a request was received on a Unix domain socket.
+     *
+     * @param request the request
+     * @return true if the request was received on a Unix domain socket
+     */
+    static boolean isUnixDomainSocketRequest(HttpRequest<?> request) {
+        return request instanceof NettyHttpRequest<?> nettyRequest &&
+               !(nettyRequest.getChannelHandlerContext().channel().localAddress() instanceof InetSocketAddress);
+    }
+
+    private static Path privateDirectoryOf(Path socketPath) {
+        return socketPath.resolveSibling("." + socketPath.getFileName());
+    }
+
+    private static void delete(Path socketPath, Path directory) throws IOException {
+        Files.deleteIfExists(socketPath);
+        if (Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+            Files.deleteIfExists(directory.resolve(BOUND_SOCKET_NAME));
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private static boolean isNativeTransportAvailable() {
+        for (String transport : NATIVE_TRANSPORTS) {
+            try {
+                Class<?> clazz = Class.forName(transport, false, UnixDomainSocketSupport.class.getClassLoader());
+                if (Boolean.TRUE.equals(clazz.getMethod("isAvailable").invoke(null))) {
+                    return true;
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // transport not on classpath
+            }
+        }
+        return false;
+    }
+}
@@ -2,13 +2,28 @@ package io.micronaut.testresources.server
 
 import io.micronaut.context.annotation.Property
 import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
 import io.micronaut.http.annotation.Get
 import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.HttpClient
 import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.client.sse.SseClient
+import io.micronaut.runtime.server.EmbeddedServer
 import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import io.micronaut.testresources.client.DefaultTestResourcesClient
 import io.micronaut.testresources.client.TestResourcesClient
+import io.micronaut.testresources.client.TestResourcesException
+import io.micronaut.testresources.core.CborCodec
 import jakarta.inject.Inject
+import reactor.core.publisher.Flux
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+import static io.micronaut.testresources.core.PropertyResolverSupport.SERVER_RESOLVED_PROPERTIES
 
 @MicronautTest
 @Property(name = "micronaut.testresources.server.url", value = "")
@@ -18,6 +33,17 @@ class TestResourcesControllerTest extends Specification {
     @Inject
     DiagnosticsClient client
 
+    @Inject
+    @Client("/")
+    HttpClient httpClient
+
+    @Inject
+    @Client("/")
+    SseClient sseClient
+
+    @Inject
+    EmbeddedServer server
+
     def "verifies that server can instantiate container"() {
         expect:
         client.resolvableProperties ==~ ['kafka.bootstrap.servers', 'failing.message', 'failing.container', 'micronaut.test.resources.server.uri']
@@ -99,6 +125,170 @@ class TestResourcesControllerTest extends Specification {
         url.get().startsWith("http://localhost:")
     }
 
+    def "supports the binary wire format"() {
+        when:
+        def response = httpClient.toBlocking().exchange(
+                HttpRequest.POST("/resolve", CborCodec.encode([name: "micronaut.test.resources.server.uri", properties: [:], testResourcesConfig: [:]]))
+                        .contentType(CborCodec.MEDIA_TYPE)
+                        .accept(CborCodec.MEDIA_TYPE),
+                byte[]
+        )
+
+        then:
+        response.contentType.get().toString() == CborCodec.MEDIA_TYPE
+        (CborCodec.decode(new ByteArrayInputStream(response.body())) as String).startsWith("http://localhost:")
+
+        when: "the test resources configuration contains integers"
+        response = httpClient.toBlocking().exchange(
+                HttpRequest.POST("/resolve", CborCodec.encode([name: "integer.replicas", properties: [:], testResourcesConfig: ['containers.integer.replicas': 3]]))
+                        .contentType(CborCodec.MEDIA_TYPE)
+                        .accept(CborCodec.MEDIA_TYPE),
+                byte[]
+        )
+
+        then: "they are decoded as integers, like with JSON"
+        CborCodec.decode(new ByteArrayInputStream(response.body())) == "3"
+
+        when:
+        def client = new DefaultTestResourcesClient(server.URI.toString(), null, 60)
+
+        then:
+        client.getResolvableProperties([:], [:]) ==~ ['kafka.bootstrap.servers', 'failing.message', 'failing.container', 'micronaut.test.resources.server.uri']
+        client.resolve("micronaut.test.resources.server.uri", [:], [:]).get().startsWith("http://localhost:")
+        !client.resolve("unknown.property", [:], [:]).present
+    }
+
+    def "resolves required properties on the server"() {
+        expect:
+        client.resolve("chained.url", [(SERVER_RESOLVED_PROPERTIES): ['chained.host']], [:]) == Optional.of("jdbc:chained://localhost")
+
+        and: "properties supplied by the client are used as is"
+        client.resolve("chained.url", ['chained.host': 'example.com'], [:]) == Optional.of("jdbc:chained://example.com")
+
+        and: "properties which the client didn't leave to the server are not resolved"
+        !client.resolve("chained.url", [:], [:]).present
+
+        and: "the server tells clients that it resolves required properties"
+        httpClient.toBlocking().exchange(
+                HttpRequest.POST("/resolve", [name: 'chained.url', properties: ['chained.host': 'example.com'], testResourcesConfig: [:]]),
+                String
+        ).header("Required-Properties-Resolved") == "true"
+
+        when:
+        client.resolve("cycle.a", [(SERVER_RESOLVED_PROPERTIES): ['cycle.b']], [:])
+
+        then:
+        RuntimeException ex = thrown()
+        ex.message.contains("cycle.a -> cycle.b -> cycle.a")
+    }
+
+    def "supports conditional requests"() {
+        when:
+        def response = httpClient.toBlocking().exchange(
+                HttpRequest.POST("/list", [propertyEntries: [:], testResourcesConfig: [:]]),
+                List
+        )
+        def entityTag = response.header("ETag")
+
+        then:
+        entityTag != null
+        response.body() ==~ ['kafka.bootstrap.servers', 'failing.message', 'failing.container', 'micronaut.test.resources.server.uri']
+
+        when:
+        response = httpClient.toBlocking().exchange(
+                HttpRequest.POST("/list", [propertyEntries: [:], testResourcesConfig: [:]]).header("If-None-Match", entityTag),
+                List
+        )
+
+        then:
+        response.status == HttpStatus.NOT_MODIFIED
+        response.header("ETag") == entityTag
+
+        when: "the configuration changed"
+        response = httpClient.toBlocking().exchange(
+                HttpRequest.POST("/list", [propertyEntries: [:], testResourcesConfig: ['containers.foo.image-name': 'foo']]).header("If-None-Match", entityTag),
+                List
+        )
+
+        then:
+        response.status == HttpStatus.OK
+        response.header("ETag") != entityTag
+
+        when:
+        def client = new DefaultTestResourcesClient(server.URI.toString(), null, 60)
+
+        then:
+        client.ping()
+        client.getRequiredPropertyEntries() == client.getRequiredPropertyEntries()
+        client.getResolvableProperties([:], [:]) == client.getResolvableProperties([:], [:])
+    }
+
+    def "awaits slow resolutions asynchronously"() {
+        when:
+        def response = httpClient.toBlocking().exchange(
+                HttpRequest.POST("/resolve", [name: 'kafka.bootstrap.servers', properties: [:], testResourcesConfig: [:]])
+                        .header("Prefer", "respond-async, wait=0"),
+                String
+        )
+        def location = response.header("Location")
+
+        then:
+        response.status == HttpStatus.ACCEPTED
+        response.header("Preference-Applied") == 'respond-async'
+        location.startsWith('/operations/')
+
+        when: "a client with a short read timeout resolves the same property"
+        def shortTimeoutClient = new DefaultTestResourcesClient(server.URI.toString(), null, 2)
+        def resolved = shortTimeoutClient.resolve("kafka.bootstrap.servers", [:], [:])
+
+        then: "it awaits the same operation"
+        resolved.present
+        client.listContainers().size() == 1
+
+        when:
+        response = httpClient.toBlocking().exchange(HttpRequest.GET(location), String)
+
+        then:
+        response.status == HttpStatus.OK
+        response.body() == resolved.get()
+
+        when: "the operation is unknown"
+        httpClient.toBlocking().exchange(HttpRequest.GET("/operations/unknown"), String)
+
+        then:
+        HttpClientResponseException ex = thrown()
+        ex.status == HttpStatus.GONE
+
+        when: "the resolution fails"
+        shortTimeoutClient.resolve("failing.message", [:], [:])
+
+        then:
+        thrown(TestResourcesException)
+
+        cleanup:
+        client.closeAll()
+    }
+
+    def "streams lifecycle events"() {
+        def events = new CopyOnWriteArrayList<Map<String, Object>>()
+        def subscription = Flux.from(sseClient.eventStream("/events", Map)).subscribe { events << it.data }
+
+        when:
+        new PollingConditions(timeout: 10).eventually {
+            assert events.any { it.type == 'heartbeat' }
+        }
+        client.closeScope("events-scope")
+
+        then:
+        new PollingConditions(timeout: 10).eventually {
+            assert events.any { it.type == 'scope-closed' && it.scope == 'events-scope' && it.generation > events[0].generation }
+        }
+        events*.serverId.unique().size() == 1
+
+        cleanup:
+        subscription?.dispose()
+    }
+
     @Client("/")
     static interface DiagnosticsClient extends TestResourcesClient {
         @Get("/testcontainers")
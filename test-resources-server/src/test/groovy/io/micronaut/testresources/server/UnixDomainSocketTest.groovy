@@ -0,0 +1,65 @@
+package io.micronaut.testresources.server
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Requires
+import spock.lang.Specification
+
+import java.net.StandardProtocolFamily
+import java.net.UnixDomainSocketAddress
+import java.nio.ByteBuffer
+import java.nio.channels.Channels
+import java.nio.channels.SocketChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.PosixFilePermissions
+
+@Requires({ os.linux || os.macOs })
+class UnixDomainSocketTest extends Specification {
+
+    def "serves requests over the Unix domain socket"() {
+        given:
+        // socket paths are limited to about 100 characters, so we don't use the build directory
+        def dir = Files.createTempDirectory('tr-uds')
+        def socket = dir.resolve('test-resources.sock')
+
+        expect: "a native transport is available"
+        UnixDomainSocketSupport.socketPathFrom(["--unix-socket=$socket"] as String[]).present
+
+        when:
+        def boundSocket = UnixDomainSocketSupport.prepare(socket).get()
+        def server = ApplicationContext.run(EmbeddedServer, UnixDomainSocketSupport.listenerPropertiesFor(boundSocket) + [
+            'micronaut.testresources.server.url': '',
+            'server.access-token': 'secret'
+        ])
+        def response = get(socket, '/ping')
+
+        then: "the socket is bound in a directory only accessible to its owner"
+        UnixDomainSocketSupport.secured
+        Files.isSymbolicLink(socket)
+        Files.exists(socket)
+        Files.getPosixFilePermissions(boundSocket.parent) == PosixFilePermissions.fromString('rwx------')
+
+        and: "the access token isn't required on the socket"
+        response.startsWith('HTTP/1.1 200')
+        response.endsWith('true')
+
+        cleanup:
+        server?.close()
+        Files.deleteIfExists(socket)
+        boundSocket?.with {
+            Files.deleteIfExists(it)
+            Files.deleteIfExists(it.parent)
+        }
+        Files.deleteIfExists(dir)
+    }
+
+    private static String get(Path socket, String path) {
+        SocketChannel.open(StandardProtocolFamily.UNIX).withCloseable { channel ->
+            channel.connect(UnixDomainSocketAddress.of(socket))
+            channel.write(ByteBuffer.wrap("GET $path HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII)))
+            Channels.newInputStream(channel).getText(StandardCharsets.UTF_8.name())
+        }
+    }
+}
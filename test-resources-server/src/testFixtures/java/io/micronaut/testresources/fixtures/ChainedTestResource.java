@@ -0,0 +1,65 @@
+/*
+ * Copyright 2003-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.fixtures;
+
+import io.micronaut.testresources.core.TestResourcesResolver;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A test resource which resolves properties requiring other properties
+ * that it resolves itself.
+ */
+public class ChainedTestResource implements TestResourcesResolver {
+
+    public static final String CHAINED_URL = "chained.url";
+    public static final String CHAINED_HOST = "chained.host";
+    public static final String CYCLE_A = "cycle.a";
+    public static final String CYCLE_B = "cycle.b";
+
+    private static final Map<String, String> REQUIREMENTS = Map.of(
+        CHAINED_URL, CHAINED_HOST,
+        CYCLE_A, CYCLE_B,
+        CYCLE_B, CYCLE_A
+    );
+
+    @Override
+    public List<String> getResolvableProperties(Map<String, Collection<String>> propertyEntries, Map<String, Object> testResourcesConfig) {
+        // Not listed, so that these properties are only resolved on demand
+        return List.of();
+    }
+
+    @Override
+    public List<String> getRequiredProperties(String expression) {
+        var required = REQUIREMENTS.get(expression);
+        return required == null ? List.of() : List.of(required);
+    }
+
+    @Override
+    public Optional<String> resolve(String propertyName, Map<String, Object> properties, Map<String, Object> testResourcesConfig) {
+        if (CHAINED_HOST.equals(propertyName)) {
+            return Optional.of("localhost");
+        }
+        var required = REQUIREMENTS.get(propertyName);
+        if (required != null && properties.containsKey(required)) {
+            return Optional.of("jdbc:chained://" + properties.get(required));
+        }
+        return Optional.empty();
+    }
+}
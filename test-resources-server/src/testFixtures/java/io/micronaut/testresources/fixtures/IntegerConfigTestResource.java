@@ -0,0 +1,48 @@
+/*
+ * Copyright 2003-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.fixtures;
+
+import io.micronaut.testresources.core.TestResourcesResolver;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A test resource which reads an integer from the test resources
+ * configuration, the same way as the Redis cluster configuration.
+ */
+public class IntegerConfigTestResource implements TestResourcesResolver {
+
+    public static final String REPLICAS = "integer.replicas";
+    public static final String CONFIG_REPLICAS = "containers.integer.replicas";
+
+    @Override
+    public List<String> getResolvableProperties(Map<String, Collection<String>> propertyEntries, Map<String, Object> testResourcesConfig) {
+        // Not listed, so that this property is only resolved on demand
+        return List.of();
+    }
+
+    @Override
+    public Optional<String> resolve(String propertyName, Map<String, Object> properties, Map<String, Object> testResourcesConfig) {
+        if (REPLICAS.equals(propertyName)) {
+            int replicas = (Integer) testResourcesConfig.getOrDefault(CONFIG_REPLICAS, 1);
+            return Optional.of(String.valueOf(replicas));
+        }
+        return Optional.empty();
+    }
+}
@@ -15,11 +15,13 @@
  */
 package io.micronaut.testresources.testcontainers;
 
+import io.micronaut.testresources.core.Scope;
 import io.micronaut.testresources.core.ToggableTestResourcesResolver;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.utility.DockerImageName;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -32,6 +34,8 @@ import static io.micronaut.testresources.testcontainers.TestContainerMetadataSup
  */
 public abstract class AbstractTestContainersProvider<T extends GenericContainer<? extends T>>
     implements ToggableTestResourcesResolver {
+    private static final String SHARED_CONTAINER = "shared-container";
+
     @Override
     public String getName() {
         return "containers." + getSimpleName();
@@ -68,6 +72,25 @@ public abstract class AbstractTestContainersProvider<T extends GenericContainer<
                                          Map<String, Object> requestedProperties,
                                          Map<String, Object> testResourcesConfig);
 
+    /**
+     * Creates the test container, knowing which property triggered its
+     * creation. This can be overridden by providers which only need to
+     * enable a subset of the container features for that property.
+     *
+     * @param propertyName the property which triggered the creation of the container
+     * @param imageName the docker image name
+     * @param requestedProperties the resolved properties
+     * @param testResourcesConfig the test resources configuration
+     * @return a container
+     * @since 2.8.0
+     */
+    protected T createContainer(String propertyName,
+                                DockerImageName imageName,
+                                Map<String, Object> requestedProperties,
+                                Map<String, Object> testResourcesConfig) {
+        return createContainer(imageName, requestedProperties, testResourcesConfig);
+    }
+
     /**
      * Determines if this resolver can resolve the requested property.
      * It is used in order to make sure that a "Postgres" resolver wouldn't
@@ -109,9 +132,9 @@ public abstract class AbstractTestContainersProvider<T extends GenericContainer<
             if (firstPass.isPresent()) {
                 return firstPass;
             }
-            return resolveProperty(propertyName,
-                TestContainers.getOrCreate(propertyName, this.getClass(), getSimpleName(),
-                    properties, () -> {
+            boolean shared = isSharedContainerEnabled(testResourcesConfig);
+            T testContainer = TestContainers.getOrCreate(propertyName, this.getClass(), getSimpleName(),
+                    shared ? withoutScope(properties) : properties, () -> {
                         String defaultImageName = getDefaultImageName();
                         DockerImageName imageName = DockerImageName.parse(defaultImageName);
                         Optional<TestContainerMetadata> metadata =
@@ -134,16 +157,94 @@ public abstract class AbstractTestContainersProvider<T extends GenericContainer<
                             TestContainerMetadataSupport.containerMetadataFor(
                                     Collections.singletonList(getSimpleName()), testResourcesConfig)
                                 .findAny();
-                        T container = createContainer(imageName, properties, testResourcesConfig);
+                        T container = createContainer(propertyName, imageName, properties, testResourcesConfig);
                         configureContainer(container, properties, testResourcesConfig);
                         metadata.ifPresent(
                             md -> TestContainerMetadataSupport.applyMetadata(md, container));
                         return container;
-                    }));
+                    }, container -> SeedDataSupport.seed(getSimpleName(), container, testResourcesConfig));
+            if (shared) {
+                Scope scope = Scope.from(properties);
+                TestContainers.onScopeClose(scope, getClass().getName(), () -> closeScope(scope, testContainer));
+                return resolveScopedProperty(propertyName, scope, testContainer, testResourcesConfig);
+            }
+            return resolveProperty(propertyName, testContainer);
         }
         return Optional.empty();
     }
 
+    /**
+     * Determines if a single container should be shared by all scopes.
+     * This is only possible if the provider supports it, and the user
+     * enabled it by setting the <code>containers.[simple-name].shared-container</code>
+     * property to <code>true</code>.
+     *
+     * @param testResourcesConfig the test resources configuration
+     * @return true if a single container should be shared by all scopes
+     * @since 2.8.0
+     */
+    protected final boolean isSharedContainerEnabled(Map<String, Object> testResourcesConfig) {
+        if (!supportsSharedContainer()) {
+            return false;
+        }
+        Object value = testResourcesConfig.get("containers." + getSimpleName() + "." + SHARED_CONTAINER);
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        return value != null && Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    /**
+     * Returns true if this provider is capable of isolating scopes within
+     * a single container, for example by using a different database per scope.
+     * Providers which return true must override {@link #resolveScopedProperty(String, Scope, GenericContainer, Map)}
+     * and {@link #closeScope(Scope, GenericContainer)}.
+     *
+     * @return true if a container can be shared by scopes
+     * @since 2.8.0
+     */
+    protected boolean supportsSharedContainer() {
+        return false;
+    }
+
+    /**
+     * Resolves a property when the container is shared between scopes.
+     * The resolved value must isolate the scope from the other scopes.
+     *
+     * @param propertyName the property to resolve
+     * @param scope the scope which requested the property
+     * @param container the shared container
+     * @param testResourcesConfig the test resources configuration
+     * @return the resolved property
+     * @since 2.8.0
+     */
+    protected Optional<String> resolveScopedProperty(String propertyName,
+                                                     Scope scope,
+                                                     T container,
+                                                     Map<String, Object> testResourcesConfig) {
+        return resolveProperty(propertyName, container);
+    }
+
+    /**
+     * Releases the resources which were allocated for a scope in
+     * a shared container. This is called when the scope is closed.
+     *
+     * @param scope the scope being closed
+     * @param container the shared container
+     * @since 2.8.0
+     */
+    protected void closeScope(Scope scope, T container) {
+    }
+
+    private static Map<String, Object> withoutScope(Map<String, Object> properties) {
+        if (!properties.containsKey(Scope.PROPERTY_KEY)) {
+            return properties;
+        }
+        Map<String, Object> copy = new HashMap<>(properties);
+        copy.remove(Scope.PROPERTY_KEY);
+        return copy;
+    }
+
     protected void configureContainer(T container, Map<String, Object> properties,
                                       Map<String, Object> testResourcesConfig) {
     }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The graph of dependencies between generic containers, as declared
+ * using <code>depends-on</code>. It is used to start the dependencies
+ * of a container in parallel: each container is started as soon as
+ * all of its own dependencies are started, so that the total time is
+ * the time of the longest dependency path. Dependencies are started by
+ * a pool shared by all resolutions, since the starter of a container
+ * never waits for its own dependencies.
+ */
+final class ContainerDependencyGraph {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "test-resources-dependency-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Set<String>> dependencies;
+
+    private ContainerDependencyGraph(Map<String, Set<String>> dependencies) {
+        this.dependencies = dependencies;
+    }
+
+    static ContainerDependencyGraph of(List<TestContainerMetadata> containers) {
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        for (TestContainerMetadata md : containers) {
+            dependencies.put(md.getId(), md.getDependencies());
+        }
+        return new ContainerDependencyGraph(dependencies);
+    }
+
+    /**
+     * Returns the transitive dependencies of a container, in an order
+     * where each container appears after its dependencies.
+     *
+     * @param id the container id
+     * @return the transitive dependencies, not including the container itself
+     * @throws IllegalArgumentException if a dependency doesn't exist or if there's a cycle
+     */
+    List<String> transitiveDependenciesOf(String id) {
+        List<String> ordered = new ArrayList<>();
+        visit(id, new ArrayList<>(), new HashSet<>(), ordered);
+        ordered.remove(id);
+        return ordered;
+    }
+
+    private void visit(String id, List<String> path, Set<String> visited, List<String> ordered) {
+        if (path.contains(id)) {
+            List<String> cycle = new ArrayList<>(path.subList(path.indexOf(id), path.size()));
+            cycle.add(id);
+            throw new IllegalArgumentException("Cycle detected in container dependencies: " + String.join(" -> ", cycle));
+        }
+        if (!visited.add(id)) {
+            return;
+        }
+        Set<String> deps = dependencies.get(id);
+        if (deps == null) {
+            throw new IllegalArgumentException("Dependent container '" + id + "' doesn't exist or cannot be resolved");
+        }
+        path.add(id);
+        for (String dep : deps) {
+            visit(dep, path, visited, ordered);
+        }
+        path.remove(path.size() - 1);
+        ordered.add(id);
+    }
+
+    /**
+     * Starts the transitive dependencies of a container, independent
+     * branches being started in parallel. This method returns once all
+     * dependencies are started.
+     *
+     * @param id the container id
+     * @param starter the action which starts a container, given its id
+     */
+    void startDependenciesOf(String id, Consumer<String> starter) {
+        List<String> ordered = transitiveDependenciesOf(id);
+        if (ordered.isEmpty()) {
+            return;
+        }
+        if (ordered.size() == 1) {
+            starter.accept(ordered.get(0));
+            return;
+        }
+        // containers started on behalf of a caller which went away must be cancelled
+        Consumer<String> interestedStarter = TestContainers.withCurrentInterest(starter);
+        try {
+            Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+            for (String dependency : ordered) {
+                // dependencies of a node always appear before the node itself
+                CompletableFuture<?>[] prerequisites = dependencies.get(dependency)
+                    .stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+                futures.put(dependency, CompletableFuture.allOf(prerequisites)
+                    .thenRunAsync(() -> interestedStarter.accept(dependency), EXECUTOR));
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting dependencies of container " + id, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Unable to start dependencies of container " + id, cause);
+        }
+    }
+}
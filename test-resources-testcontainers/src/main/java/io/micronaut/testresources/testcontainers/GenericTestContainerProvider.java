@@ -26,7 +26,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -112,64 +112,59 @@ public class GenericTestContainerProvider implements ToggableTestResourcesResolv
 
     @Override
     public Optional<String> resolve(String propertyName, Map<String, Object> properties, Map<String, Object> testResourcesConfig) {
-        class MappedContainer {
-            private final TestContainerMetadata md;
-            private final GenericContainer<?> container;
-
-            MappedContainer(TestContainerMetadata md, GenericContainer<?> container) {
-                this.md = md;
-                this.container = container;
-            }
-        }
-        return containerMetadataFrom(testResourcesConfig)
+        List<TestContainerMetadata> containersMetadata = containerMetadataFrom(testResourcesConfig).toList();
+        return containersMetadata.stream()
             .filter(e -> e.getExposedPorts().containsKey(propertyName) || e.getHostNames().contains(propertyName))
             .filter(md -> md.getImageName().isPresent())
             .findFirst()
             .map(md -> {
-                DockerImageName imageName = DockerImageName.parse(md.getImageName().get());
-                return new MappedContainer(md, TestContainers.getOrCreate(propertyName, GenericTestContainerProvider.class,
-                    md.getId(),
-                    properties,
-                    () -> imageName,
-                    unused -> {
-                        if (!md.getDependencies().isEmpty()) {
-                           resolveDependencies(md.getDependencies(), containerMetadataFrom(testResourcesConfig).toList(), properties, testResourcesConfig);
-                        }
-                        GenericContainer<?> selfGenericContainer = new GenericContainer<>(imageName);
-                        return TestContainerMetadataSupport.applyMetadata(md, selfGenericContainer);
+                GenericContainer<?> container = startContainer(propertyName, md, properties, testResourcesConfig, () -> {
+                    if (!md.getDependencies().isEmpty()) {
+                        // The graph is only computed when the container is created, and each dependency is
+                        // started as soon as its own dependencies are, without resolving them recursively
+                        Map<String, TestContainerMetadata> metadataById = containersMetadata.stream()
+                            .collect(Collectors.toMap(TestContainerMetadata::getId, Function.identity(), (first, second) -> first));
+                        ContainerDependencyGraph.of(containersMetadata).startDependenciesOf(md.getId(), dependency ->
+                            startContainer(firstPropertyOf(dependency, metadataById), metadataById.get(dependency), properties, testResourcesConfig, () -> { })
+                        );
                     }
-                ));
-            }).map(e -> {
-                Integer mappedPort = e.md.getExposedPorts().get(propertyName);
+                });
+                Integer mappedPort = md.getExposedPorts().get(propertyName);
                 if (mappedPort != null) {
-                    return String.valueOf(e.container.getMappedPort(mappedPort));
+                    return String.valueOf(container.getMappedPort(mappedPort));
                 }
-                if (e.md.getHostNames().contains(propertyName)) {
-                    return e.container.getHost();
+                if (md.getHostNames().contains(propertyName)) {
+                    return container.getHost();
                 }
                 return null;
             });
     }
 
-    private void resolveDependencies(Set<String> dependencies,
-                                     List<TestContainerMetadata> containersMetadata,
-                                     Map<String, Object> properties,
-                                     Map<String, Object> testResourcesConfig) {
-        for (String dependency : dependencies) {
-            resolveDependency(dependency, containersMetadata, properties, testResourcesConfig);
-        }
+    private static GenericContainer<?> startContainer(String propertyName,
+                                                      TestContainerMetadata md,
+                                                      Map<String, Object> properties,
+                                                      Map<String, Object> testResourcesConfig,
+                                                      Runnable beforeCreate) {
+        DockerImageName imageName = DockerImageName.parse(md.getImageName().orElseThrow(
+            () -> new IllegalArgumentException("Dependent container '" + md.getId() + "' doesn't declare an image name")
+        ));
+        return TestContainers.getOrCreate(propertyName, GenericTestContainerProvider.class,
+            md.getId(),
+            properties,
+            () -> imageName,
+            unused -> {
+                // Only called if the container isn't cached yet
+                beforeCreate.run();
+                return TestContainerMetadataSupport.applyMetadata(md, new GenericContainer<>(imageName));
+            },
+            container -> SeedDataSupport.seed(md.getId(), container, testResourcesConfig)
+        );
     }
 
-    private void resolveDependency(String dependency,
-                                   List<TestContainerMetadata> containersMetadata,
-                                   Map<String, Object> properties,
-                                   Map<String, Object> testResourcesConfig) {
-        var propertyToResolve = containersMetadata.stream()
-            .filter(md -> md.getId().equals(dependency))
-            .findFirst()
+    private static String firstPropertyOf(String dependency, Map<String, TestContainerMetadata> metadataById) {
+        return Optional.ofNullable(metadataById.get(dependency))
             .flatMap(md -> Stream.concat(md.getHostNames().stream(), md.getExposedPorts().keySet().stream()).findFirst())
             .orElseThrow(() -> new IllegalArgumentException("Dependent container '" + dependency + "' doesn't exist or cannot be resolved"));
-        resolve(propertyToResolve, properties, testResourcesConfig);
     }
 
     private static List<String> containerNamesFrom(Map<String, Object> configuration) {
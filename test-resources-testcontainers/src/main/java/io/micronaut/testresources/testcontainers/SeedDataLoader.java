@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.testcontainers;
+
+import org.testcontainers.containers.GenericContainer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A seed data loader is responsible for loading fixtures into a container
+ * once it is started, and before any property it provides is resolved.
+ * Loaders are discovered using the service loader mechanism.
+ *
+ * A hash of the fixtures returned by {@link #getFixtures(Map)} is stored
+ * in the container once they are loaded. If a container already holds the
+ * same hash, for example because it is reused, then the fixtures are not
+ * loaded again.
+ *
+ * @since 2.8.0
+ */
+public interface SeedDataLoader {
+    /**
+     * Determines if this loader applies to a container. The name is the
+     * simple name of the test resources provider which created the container,
+     * for example "postgres", or the name of a generic container.
+     *
+     * @param containerName the name of the container
+     * @return true if this loader applies to the container
+     */
+    boolean appliesTo(String containerName);
+
+    /**
+     * Returns the fixtures to load, which are usually declared in the
+     * test resources configuration. If the list is empty, the loader
+     * is not called.
+     *
+     * @param testResourcesConfig the test resources configuration
+     * @return the fixtures to load
+     */
+    List<SeedFixture> getFixtures(Map<String, Object> testResourcesConfig);
+
+    /**
+     * Loads the fixtures into the container.
+     *
+     * @param container the started container
+     * @param fixtures the fixtures to load
+     * @param testResourcesConfig the test resources configuration
+     * @throws IOException if a fixture cannot be read
+     * @throws InterruptedException if the thread is interrupted while loading
+     */
+    void load(GenericContainer<?> container,
+              List<SeedFixture> fixtures,
+              Map<String, Object> testResourcesConfig) throws IOException, InterruptedException;
+}
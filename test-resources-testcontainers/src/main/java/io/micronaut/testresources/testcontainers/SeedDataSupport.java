@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.testcontainers;
+
+import io.micronaut.testresources.core.TestResourcesResolutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.builder.Transferable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs the {@link SeedDataLoader seed data loaders} which apply to
+ * a container, skipping those whose fixtures were already loaded.
+ */
+final class SeedDataSupport {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeedDataSupport.class);
+    private static final String HASH_DIR = "/tmp/micronaut-test-resources/seed/";
+    private static final List<SeedDataLoader> LOADERS = StreamSupport.stream(ServiceLoader.load(SeedDataLoader.class).spliterator(), false)
+        .collect(Collectors.toList());
+
+    private SeedDataSupport() {
+
+    }
+
+    static void seed(String containerName, GenericContainer<?> container, Map<String, Object> testResourcesConfig) {
+        seed(LOADERS, containerName, container, testResourcesConfig);
+    }
+
+    static void seed(List<SeedDataLoader> loaders,
+                     String containerName,
+                     GenericContainer<?> container,
+                     Map<String, Object> testResourcesConfig) {
+        for (SeedDataLoader loader : loaders) {
+            if (!loader.appliesTo(containerName)) {
+                continue;
+            }
+            List<SeedFixture> fixtures = loader.getFixtures(testResourcesConfig);
+            if (fixtures.isEmpty()) {
+                continue;
+            }
+            String loaderId = loader.getClass().getName();
+            String hashFile = HASH_DIR + loaderId + ".sha256";
+            try {
+                String hash = hashOf(loaderId, fixtures);
+                if (readHash(container, hashFile).filter(hash::equals).isPresent()) {
+                    LOGGER.info("Fixtures of {} already loaded in container {}, skipping", loaderId, containerName);
+                    continue;
+                }
+                long startTime = System.nanoTime();
+                loader.load(container, fixtures, testResourcesConfig);
+                container.copyFileToContainer(Transferable.of(hash), hashFile);
+                LOGGER.info("Loaded {} fixture(s) with {} in container {} in {}ms", fixtures.size(), loaderId, containerName, (System.nanoTime() - startTime) / 1_000_000);
+            } catch (IOException e) {
+                throw new TestResourcesResolutionException("Unable to load fixtures with " + loaderId, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TestResourcesResolutionException("Interrupted while loading fixtures with " + loaderId, e);
+            }
+        }
+    }
+
+    /**
+     * Computes the hash of fixtures, by streaming their names and contents.
+     *
+     * @param loaderId the identifier of the loader
+     * @param fixtures the fixtures
+     * @return the hash
+     * @throws IOException if a fixture cannot be read
+     */
+    static String hashOf(String loaderId, List<SeedFixture> fixtures) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(loaderId.getBytes(StandardCharsets.UTF_8));
+        byte[] buffer = new byte[8192];
+        for (SeedFixture fixture : fixtures) {
+            digest.update((byte) 0);
+            digest.update(fixture.name().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            try (InputStream stream = fixture.openStream()) {
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static Optional<String> readHash(GenericContainer<?> container, String hashFile) {
+        try {
+            return Optional.of(container.copyFileFromContainer(hashFile, stream -> new String(stream.readAllBytes(), StandardCharsets.UTF_8).trim()));
+        } catch (Exception e) {
+            // the file doesn't exist: fixtures were never loaded in this container
+            return Optional.empty();
+        }
+    }
+}
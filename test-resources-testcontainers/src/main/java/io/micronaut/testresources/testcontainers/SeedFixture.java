@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.testcontainers;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A fixture which is loaded into a container by a {@link SeedDataLoader}.
+ * A fixture is identified by a name, which is meaningful to the loader
+ * (for example a table name), and its contents, which are read from the
+ * classpath when the location uses the <code>classpath:</code> prefix,
+ * or from disk otherwise.
+ *
+ * @param name the name of the fixture
+ * @param location the location of the fixture contents
+ * @since 2.8.0
+ */
+public record SeedFixture(String name, String location) {
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    /**
+     * Opens the contents of this fixture.
+     *
+     * @return the contents
+     * @throws IOException if the contents cannot be read
+     */
+    public InputStream openStream() throws IOException {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            String resource = location.substring(CLASSPATH_PREFIX.length());
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            InputStream stream = (classLoader == null ? SeedFixture.class.getClassLoader() : classLoader).getResourceAsStream(resource);
+            if (stream == null) {
+                throw new FileNotFoundException("Classpath resource " + resource + " not found");
+            }
+            return stream;
+        }
+        return Files.newInputStream(Path.of(location));
+    }
+}
@@ -24,17 +24,26 @@ import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.Network;
 import org.testcontainers.utility.DockerImageName;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -57,6 +66,10 @@ public final class TestContainers {
     private static final Map<Key, Lock> OPERATIONS_PER_KEY = new ConcurrentHashMap<>();
     private static final Logger LOGGER = LoggerFactory.getLogger(TestContainers.class);
     private static final Map<String, Network> NETWORKS_BY_KEY = new ConcurrentHashMap<>();
+    private static final Map<Scope, Map<String, Runnable>> SCOPE_CLOSE_ACTIONS = new HashMap<>();
+    private static final Map<Key, InFlightStart> IN_FLIGHT_STARTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<BooleanSupplier> INTEREST = new ThreadLocal<>();
+    private static final BooleanSupplier ALWAYS_INTERESTED = () -> true;
 
     private static final Lock MAP_LOCK = new ReentrantLock();
 
@@ -89,6 +102,54 @@ public final class TestContainers {
         }
     }
 
+    /**
+     * Executes an action on behalf of a caller which may lose interest in
+     * its result, for example because it disconnected. Containers which are
+     * started by the action, and which no caller is interested in anymore,
+     * are not started: if they are being pulled or started, the operation is
+     * interrupted and the partially started container is removed.
+     *
+     * @param <T> the type of the result
+     * @param interest tells if the caller is still interested in the result
+     * @param action the action to execute
+     * @return the result of the action
+     * @since 2.8.0
+     */
+    public static <T> T whileInterested(BooleanSupplier interest, Supplier<T> action) {
+        Watchdog.start();
+        var previous = INTEREST.get();
+        INTEREST.set(interest);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                INTEREST.remove();
+            } else {
+                INTEREST.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Wraps an action which is executed by another thread on behalf of the
+     * current caller, so that the containers it starts are cancelled if the
+     * current caller loses interest in its result.
+     *
+     * @param <T> the type of the action argument
+     * @param action the action
+     * @return an action which executes the supplied action with the interest of the current caller
+     */
+    static <T> Consumer<T> withCurrentInterest(Consumer<T> action) {
+        var interest = INTEREST.get();
+        if (interest == null) {
+            return action;
+        }
+        return value -> whileInterested(interest, () -> {
+            action.accept(value);
+            return null;
+        });
+    }
+
     /**
      * Returns a test container and caches it, so that if the same owner
      * and properties are requested, we can return an existing container.
@@ -109,27 +170,107 @@ public final class TestContainers {
                                                                    Map<String, Object> query,
                                                                    Supplier<DockerImageName> imageNameSupplier,
                                                                    Function<DockerImageName, T> creator) {
-        return withKey(Key.of(owner, name, Scope.from(query), query), key -> {
+        return getOrCreate(requestedProperty, owner, name, query, imageNameSupplier, creator, container -> { });
+    }
+
+    /**
+     * Returns a test container and caches it, so that if the same owner
+     * and properties are requested, we can return an existing container.
+     *
+     * @param <T> the container type
+     * @param requestedProperty the property that this container will resolve
+     * @param owner the class which requested the creation of a container
+     * @param name the identifier of the container
+     * @param query the parameters used to create the container. Different parameters mean
+     * different container will be created.
+     * @param imageNameSupplier the function which computes the image name
+     * @param creator if the container is not in cache, factory to create the container
+     * @param afterStart an action executed once the container is started, before it is cached
+     * @return the container
+     * @since 2.8.0
+     */
+    static <T extends GenericContainer<? extends T>> T getOrCreate(String requestedProperty,
+                                                                   Class<?> owner,
+                                                                   String name,
+                                                                   Map<String, Object> query,
+                                                                   Supplier<DockerImageName> imageNameSupplier,
+                                                                   Function<DockerImageName, T> creator,
+                                                                   Consumer<? super T> afterStart) {
+        var key = Key.of(owner, name, Scope.from(query), query);
+        var interest = Optional.ofNullable(INTEREST.get()).orElse(ALWAYS_INTERESTED);
+        var inFlightStart = IN_FLIGHT_STARTS.compute(key, (unused, existing) -> {
+            var start = existing == null ? new InFlightStart() : existing;
+            start.waiters.add(interest);
+            return start;
+        });
+        try {
+            return getOrStart(key, requestedProperty, imageNameSupplier, creator, afterStart, inFlightStart, interest);
+        } finally {
+            IN_FLIGHT_STARTS.computeIfPresent(key, (unused, start) -> {
+                start.waiters.remove(interest);
+                return start.waiters.isEmpty() ? null : start;
+            });
+        }
+    }
+
+    private static <T extends GenericContainer<? extends T>> T getOrStart(Key containerKey,
+                                                                          String requestedProperty,
+                                                                          Supplier<DockerImageName> imageNameSupplier,
+                                                                          Function<DockerImageName, T> creator,
+                                                                          Consumer<? super T> afterStart,
+                                                                          InFlightStart inFlightStart,
+                                                                          BooleanSupplier interest) {
+        String name = containerKey.name;
+        return withKey(containerKey, key -> {
             try {
                 T container = withMapLock("getOrCreate", () -> (T) CONTAINERS_BY_KEY.get(key));
                 var dockerImageName = imageNameSupplier.get();
                 if (container == null) {
-                    notifyStartOperation(PULLING, dockerImageName);
-                    try {
-                        container = creator.apply(dockerImageName);
-                    } finally {
-                        notifyEndOperation(PULLING, dockerImageName);
+                    if (!interest.getAsBoolean()) {
+                        throw cancelled(name);
                     }
+                    inFlightStart.startedBy(Thread.currentThread());
                     try {
-                        notifyStartOperation(STARTING, dockerImageName);
-                        if (DockerSupport.isDockerAvailable()) {
-                            LOGGER.info("Starting test container {}", name);
-                            container.start();
-                        } else {
-                            throw new TestResourcesResolutionException("Cannot start container " + name + " as Docker doesn't seem to be available");
+                        notifyStartOperation(PULLING, dockerImageName);
+                        try {
+                            container = creator.apply(dockerImageName);
+                        } finally {
+                            notifyEndOperation(PULLING, dockerImageName);
                         }
-                    } finally {
-                        notifyEndOperation(STARTING, dockerImageName);
+                        try {
+                            notifyStartOperation(STARTING, dockerImageName);
+                            if (DockerSupport.isDockerAvailable()) {
+                                LOGGER.info("Starting test container {}", name);
+                                long startTime = System.nanoTime();
+                                container.start();
+                                long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                                LOGGER.info("Started test container {} using image {} in {}ms", name, container.getDockerImageName(), duration);
+                            } else {
+                                throw new TestResourcesResolutionException("Cannot start container " + name + " as Docker doesn't seem to be available");
+                            }
+                        } finally {
+                            notifyEndOperation(STARTING, dockerImageName);
+                        }
+                    } catch (RuntimeException ex) {
+                        if (inFlightStart.finished()) {
+                            if (container != null) {
+                                LOGGER.info("Removing test container {} which was partially started", name);
+                                container.stop();
+                            }
+                            throw cancelled(name);
+                        }
+                        throw ex;
+                    }
+                    if (inFlightStart.finished()) {
+                        // Cancelled after the container was started
+                        container.stop();
+                        throw cancelled(name);
+                    }
+                    try {
+                        afterStart.accept(container);
+                    } catch (RuntimeException ex) {
+                        container.stop();
+                        throw ex;
                     }
                     T finalContainer = container;
                     withMapLock("getOrCreate", () -> CONTAINERS_BY_KEY.put(key, finalContainer));
@@ -149,6 +290,33 @@ public final class TestContainers {
         });
     }
 
+    private static TestResourcesResolutionException cancelled(String name) {
+        return new TestResourcesResolutionException("Start of test container " + name + " was cancelled because no client is waiting for it anymore");
+    }
+
+    /**
+     * Returns the number of callers waiting for a container to start.
+     *
+     * @param name the container name
+     * @return the number of waiting callers
+     */
+    static int waitersOf(String name) {
+        return IN_FLIGHT_STARTS.entrySet()
+            .stream()
+            .filter(entry -> entry.getKey().name.equals(name))
+            .mapToInt(entry -> entry.getValue().waiters.size())
+            .sum();
+    }
+
+    /**
+     * Interrupts the starts of containers which no caller is waiting for.
+     */
+    private static void cancelAbandonedStarts() {
+        for (InFlightStart start : IN_FLIGHT_STARTS.values()) {
+            start.cancelIfAbandoned();
+        }
+    }
+
     private static void notifyStartOperation(Map<DockerImageName, AtomicInteger> operation, DockerImageName dockerImageName) {
         withMapLock("notifyStartOperation", () -> {
             operation.computeIfAbsent(dockerImageName, unused -> new AtomicInteger(0))
@@ -249,6 +417,7 @@ public final class TestContainers {
             CONTAINERS_BY_PROPERTY.clear();
             NETWORKS_BY_KEY.values().forEach(Network::close);
             NETWORKS_BY_KEY.clear();
+            SCOPE_CLOSE_ACTIONS.clear();
             return closed;
         });
     }
@@ -257,10 +426,31 @@ public final class TestContainers {
         return Collections.unmodifiableMap(NETWORKS_BY_KEY);
     }
 
+    /**
+     * Registers an action which is executed when the supplied scope is closed.
+     * This is used by containers which are shared between scopes, in order to
+     * cleanup the resources which were created for a particular scope without
+     * stopping the container. Registering an action twice with the same id for
+     * the same scope is a no-op.
+     *
+     * @param scope the scope
+     * @param id the identifier of the action
+     * @param action the action to execute
+     * @since 2.8.0
+     */
+    public static void onScopeClose(Scope scope, String id, Runnable action) {
+        if (Scope.ROOT.equals(scope)) {
+            // closing the root scope closes all containers
+            return;
+        }
+        withMapLock("onScopeClose", () -> SCOPE_CLOSE_ACTIONS.computeIfAbsent(scope, unused -> new LinkedHashMap<>())
+            .putIfAbsent(id, action));
+    }
+
     public static boolean closeScope(String id) {
         Scope scope = Scope.of(id);
-        return withMapLock("closeScope", () -> {
-            boolean closed = false;
+        List<GenericContainer<?>> containers = new ArrayList<>();
+        Map<Scope, Map<String, Runnable>> actions = withMapLock("closeScope", () -> {
             Iterator<Map.Entry<Key, GenericContainer<?>>> iterator =
                 CONTAINERS_BY_KEY.entrySet().iterator();
             while (iterator.hasNext()) {
@@ -269,16 +459,88 @@ public final class TestContainers {
                 if (scope.includes(existingScope)) {
                     iterator.remove();
                     GenericContainer<?> container = entry.getValue();
-                    LOGGER.debug("Stopping container {}", container.getContainerId());
-                    container.close();
-                    closed = true;
+                    containers.add(container);
                     for (Set<GenericContainer<?>> value : CONTAINERS_BY_PROPERTY.values()) {
                         value.remove(container);
                     }
                 }
             }
-            return closed;
+            return removeScopeCloseActions(scope);
+        });
+        // Close actions and stopping containers can be slow, so they are executed without holding the lock
+        boolean closed = runScopeCloseActions(actions);
+        for (GenericContainer<?> container : containers) {
+            LOGGER.debug("Stopping container {}", container.getContainerId());
+            container.close();
+            closed = true;
+        }
+        return closed;
+    }
+
+    /**
+     * Evicts the containers which are no longer running, for example because
+     * they crashed or were stopped externally, so that they are recreated the
+     * next time they are requested.
+     *
+     * @return the scopes of the evicted containers
+     * @since 2.8.0
+     */
+    public static Set<Scope> evictStoppedContainers() {
+        Map<Key, GenericContainer<?>> containers = withMapLock("evictStoppedContainers", () -> new HashMap<>(CONTAINERS_BY_KEY));
+        Set<Scope> scopes = new LinkedHashSet<>();
+        // Checking if a container is running queries Docker, so it's done without holding the lock
+        containers.forEach((key, container) -> {
+            if (!container.isRunning()) {
+                boolean evicted = withMapLock("evictStoppedContainers", () -> {
+                    if (CONTAINERS_BY_KEY.remove(key, container)) {
+                        for (Set<GenericContainer<?>> value : CONTAINERS_BY_PROPERTY.values()) {
+                            value.remove(container);
+                        }
+                        return true;
+                    }
+                    return false;
+                });
+                if (evicted) {
+                    LOGGER.warn("Test container {} is no longer running and was evicted", key.name);
+                    // Removes the container, in case it is only unreachable
+                    container.close();
+                    scopes.add(key.scope);
+                }
+            }
         });
+        return scopes;
+    }
+
+    private static Map<Scope, Map<String, Runnable>> removeScopeCloseActions(Scope scope) {
+        Map<Scope, Map<String, Runnable>> actions = new LinkedHashMap<>();
+        Iterator<Map.Entry<Scope, Map<String, Runnable>>> iterator =
+            SCOPE_CLOSE_ACTIONS.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Scope, Map<String, Runnable>> entry = iterator.next();
+            if (scope.includes(entry.getKey())) {
+                iterator.remove();
+                if (!Scope.ROOT.equals(scope)) {
+                    actions.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return actions;
+    }
+
+    private static boolean runScopeCloseActions(Map<Scope, Map<String, Runnable>> actions) {
+        boolean executed = false;
+        for (Map.Entry<Scope, Map<String, Runnable>> entry : actions.entrySet()) {
+            for (Map.Entry<String, Runnable> action : entry.getValue().entrySet()) {
+                try {
+                    LOGGER.debug("Running close action {} for scope {}", action.getKey(), entry.getKey());
+                    action.getValue().run();
+                    executed = true;
+                } catch (RuntimeException ex) {
+                    LOGGER.warn("Unable to cleanup {} for scope {}", action.getKey(), entry.getKey(), ex);
+                }
+            }
+        }
+        return executed;
     }
 
     public static List<GenericContainer<?>> findByRequestedProperty(Scope scope, String property) {
@@ -291,6 +553,68 @@ public final class TestContainers {
         });
     }
 
+    /**
+     * Tracks the callers which wait for a container, and the
+     * thread which starts it, if any.
+     */
+    private static final class InFlightStart {
+        private final List<BooleanSupplier> waiters = new CopyOnWriteArrayList<>();
+        private Thread starter;
+        private boolean cancelled;
+
+        synchronized void startedBy(Thread thread) {
+            starter = thread;
+            cancelled = false;
+        }
+
+        /**
+         * Marks the start as finished.
+         *
+         * @return true if the start was cancelled
+         */
+        synchronized boolean finished() {
+            starter = null;
+            if (cancelled) {
+                // Do not leak the interruption to the next task of this thread
+                Thread.interrupted();
+            }
+            return cancelled;
+        }
+
+        synchronized void cancelIfAbandoned() {
+            if (starter != null && !cancelled && waiters.stream().noneMatch(BooleanSupplier::getAsBoolean)) {
+                LOGGER.info("Cancelling start of test container as no client is waiting for it anymore");
+                cancelled = true;
+                starter.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Periodically checks if in-flight starts are still awaited. The
+     * thread is only started once a caller declares that it may lose
+     * interest.
+     */
+    private static final class Watchdog {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "test-resources-start-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            EXECUTOR.scheduleWithFixedDelay(TestContainers::cancelAbandonedStarts, 1, 1, TimeUnit.SECONDS);
+        }
+
+        private Watchdog() {
+
+        }
+
+        static void start() {
+            // Initializing the class schedules the checks
+        }
+    }
+
     private static final class Key {
         private final Class<?> type;
         private final String name;
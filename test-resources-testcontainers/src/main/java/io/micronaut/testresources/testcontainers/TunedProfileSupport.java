@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.testresources.testcontainers;
+
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.containers.wait.strategy.WaitStrategy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Utility methods for providers of search engine containers, like
+ * Elasticsearch or OpenSearch, which support a "tuned profile" that
+ * makes them start as fast as possible as a single node cluster.
+ *
+ * @since 2.8.0
+ */
+public final class TunedProfileSupport {
+    /**
+     * The heap size used when none is configured.
+     */
+    public static final String DEFAULT_HEAP_SIZE = "512m";
+
+    private static final String TUNED_PROFILE = "tuned-profile";
+    private static final String HEAP_SIZE = "heap-size";
+    private static final Pattern HEAP_SIZE_PATTERN = Pattern.compile("\\d+[kmgKMG]?");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final int HTTP_OK = 200;
+
+    private TunedProfileSupport() {
+
+    }
+
+    /**
+     * Determines if the tuned profile is enabled, which is the case unless
+     * <code>containers.[simple-name].tuned-profile</code> is set to <code>false</code>.
+     *
+     * @param simpleName the simple name of the test resource provider
+     * @param testResourcesConfig the test resources configuration
+     * @return true if the tuned profile is enabled
+     */
+    public static boolean isTunedProfileEnabled(String simpleName, Map<String, Object> testResourcesConfig) {
+        Object value = testResourcesConfig.get(keyOf(simpleName, TUNED_PROFILE));
+        if (value == null) {
+            return true;
+        }
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        return Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    /**
+     * Returns the heap size configured with <code>containers.[simple-name].heap-size</code>,
+     * or {@link #DEFAULT_HEAP_SIZE} if it isn't configured.
+     *
+     * @param simpleName the simple name of the test resource provider
+     * @param testResourcesConfig the test resources configuration
+     * @return the heap size, for example <code>512m</code>
+     */
+    public static String heapSizeOf(String simpleName, Map<String, Object> testResourcesConfig) {
+        String key = keyOf(simpleName, HEAP_SIZE);
+        Object value = testResourcesConfig.get(key);
+        if (value == null) {
+            return DEFAULT_HEAP_SIZE;
+        }
+        String heapSize = String.valueOf(value).trim();
+        if (!HEAP_SIZE_PATTERN.matcher(heapSize).matches()) {
+            throw new IllegalArgumentException("Invalid heap size for 'test-resources." + key + "': " + heapSize + ". Expected a value like 512m or 1g");
+        }
+        return heapSize;
+    }
+
+    /**
+     * Returns a wait strategy which only considers the container ready
+     * once the cluster can serve requests.
+     *
+     * @param port the HTTP port of the cluster
+     * @return the wait strategy
+     */
+    public static WaitStrategy clusterHealthWaitStrategy(int port) {
+        return Wait.forHttp("/_cluster/health?wait_for_status=yellow&timeout=1s")
+            .forPort(port)
+            .forStatusCode(HTTP_OK)
+            .withStartupTimeout(STARTUP_TIMEOUT);
+    }
+
+    private static String keyOf(String simpleName, String key) {
+        return "containers." + simpleName + "." + key;
+    }
+}
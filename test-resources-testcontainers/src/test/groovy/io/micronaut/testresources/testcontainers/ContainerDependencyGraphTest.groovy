@@ -0,0 +1,91 @@
+package io.micronaut.testresources.testcontainers
+
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class ContainerDependencyGraphTest extends Specification {
+
+    def "computes transitive dependencies in start order"() {
+        def graph = graphOf(app: ['db', 'cache'], cache: ['db'], db: [], other: [])
+
+        expect:
+        graph.transitiveDependenciesOf('app') == ['db', 'cache']
+        graph.transitiveDependenciesOf('cache') == ['db']
+        graph.transitiveDependenciesOf('db') == []
+    }
+
+    def "reports cycles"() {
+        def graph = graphOf(a: ['b'], b: ['c'], c: ['a'])
+
+        when:
+        graph.transitiveDependenciesOf('a')
+
+        then:
+        IllegalArgumentException ex = thrown()
+        ex.message == 'Cycle detected in container dependencies: a -> b -> c -> a'
+    }
+
+    def "reports missing dependencies"() {
+        def graph = graphOf(a: ['missing'])
+
+        when:
+        graph.transitiveDependenciesOf('a')
+
+        then:
+        IllegalArgumentException ex = thrown()
+        ex.message == "Dependent container 'missing' doesn't exist or cannot be resolved"
+    }
+
+    def "starts independent dependencies in parallel"() {
+        def graph = graphOf(app: ['db', 'cache', 'mock'], mock: ['db'], db: [], cache: [])
+        def bothStarted = new CountDownLatch(2)
+        def started = new CopyOnWriteArrayList<String>()
+        def threads = new ConcurrentHashMap<String, String>()
+
+        when:
+        graph.startDependenciesOf('app') { id ->
+            threads[id] = Thread.currentThread().name
+            if (id in ['db', 'cache']) {
+                // both containers must be starting at the same time to release the latch
+                bothStarted.countDown()
+                assert bothStarted.await(10, TimeUnit.SECONDS)
+            }
+            started << id
+        }
+
+        then:
+        started.size() == 3
+        started.indexOf('mock') > started.indexOf('db')
+        threads['db'] != threads['cache']
+    }
+
+    def "propagates start failures"() {
+        def graph = graphOf(app: ['db', 'cache'], db: [], cache: [])
+
+        when:
+        graph.startDependenciesOf('app') { id ->
+            if (id == 'db') {
+                throw new IllegalStateException("boom")
+            }
+        }
+
+        then:
+        IllegalStateException ex = thrown()
+        ex.message == 'boom'
+    }
+
+    private static ContainerDependencyGraph graphOf(Map<String, List<String>> dependencies) {
+        Map<String, Object> config = [:]
+        dependencies.each { id, deps ->
+            config["containers.${id}.image-name".toString()] = "image/${id}".toString()
+            if (deps) {
+                config["containers.${id}.depends-on".toString()] = deps
+            }
+        }
+        ContainerDependencyGraph.of(TestContainerMetadataSupport.containerMetadataFor(dependencies.keySet() as List, config).toList())
+    }
+}
@@ -0,0 +1,67 @@
+package io.micronaut.testresources.testcontainers
+
+import org.testcontainers.containers.GenericContainer
+import spock.lang.Specification
+
+class SeedDataSupportTest extends Specification {
+
+    def "loads fixtures only if they changed"() {
+        def loader = new RecordingLoader()
+        def container = Mock(GenericContainer)
+        String storedHash = null
+
+        when:
+        SeedDataSupport.seed([loader], "my-container", container, [:])
+
+        then:
+        1 * container.copyFileFromContainer(_, _) >> { throw new RuntimeException("not found") }
+        1 * container.copyFileToContainer(_, { it.endsWith("${RecordingLoader.name}.sha256") }) >> { args -> storedHash = new String(args[0].bytes) }
+        loader.loads == 1
+        storedHash == SeedDataSupport.hashOf(RecordingLoader.name, loader.getFixtures([:]))
+
+        when:
+        SeedDataSupport.seed([loader], "my-container", container, [:])
+
+        then:
+        1 * container.copyFileFromContainer(_, _) >> storedHash
+        0 * container.copyFileToContainer(_, _)
+        loader.loads == 1
+    }
+
+    def "ignores loaders which do not apply to the container"() {
+        def loader = new RecordingLoader()
+
+        when:
+        SeedDataSupport.seed([loader], "other", Mock(GenericContainer), [:])
+
+        then:
+        loader.loads == 0
+    }
+
+    def "hash depends on fixture names and contents"() {
+        expect:
+        SeedDataSupport.hashOf("loader", [new SeedFixture("a", "classpath:seed/fixture.txt")]) ==
+                SeedDataSupport.hashOf("loader", [new SeedFixture("a", "classpath:seed/fixture.txt")])
+        SeedDataSupport.hashOf("loader", [new SeedFixture("a", "classpath:seed/fixture.txt")]) !=
+                SeedDataSupport.hashOf("loader", [new SeedFixture("b", "classpath:seed/fixture.txt")])
+    }
+
+    static class RecordingLoader implements SeedDataLoader {
+        int loads
+
+        @Override
+        boolean appliesTo(String containerName) {
+            containerName == "my-container"
+        }
+
+        @Override
+        List<SeedFixture> getFixtures(Map<String, Object> testResourcesConfig) {
+            [new SeedFixture("fixture", "classpath:seed/fixture.txt")]
+        }
+
+        @Override
+        void load(GenericContainer<?> container, List<SeedFixture> fixtures, Map<String, Object> testResourcesConfig) {
+            loads++
+        }
+    }
+}
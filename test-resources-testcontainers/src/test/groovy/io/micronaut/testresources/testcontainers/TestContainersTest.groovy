@@ -1,8 +1,16 @@
 package io.micronaut.testresources.testcontainers
 
 import io.micronaut.testresources.core.Scope
+import io.micronaut.testresources.core.TestResourcesResolutionException
 import org.testcontainers.containers.GenericContainer
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.function.BooleanSupplier
 
 class TestContainersTest extends Specification {
 
@@ -61,6 +69,119 @@ class TestContainersTest extends Specification {
         ]
     }
 
+    def "closing a scope runs its close actions once"() {
+        def container1 = Stub(GenericContainer)
+        create("c1", null, container1)
+        def closed = []
+        TestContainers.onScopeClose(Scope.of("child"), "a", { closed << "child" })
+        TestContainers.onScopeClose(Scope.of("child"), "a", { closed << "duplicate" })
+        TestContainers.onScopeClose(Scope.of("child.nested"), "a", { closed << "nested" })
+        TestContainers.onScopeClose(Scope.of("other"), "a", { closed << "other" })
+
+        when:
+        TestContainers.closeScope("child")
+        TestContainers.closeScope("child")
+
+        then:
+        closed.sort() == ["child", "nested"]
+        TestContainers.listAll() == [
+                (Scope.of(null)): [container1]
+        ]
+    }
+
+    def "cancels the start of a container nobody waits for"() {
+        def interested = new AtomicBoolean(true)
+        def starting = new CountDownLatch(1)
+        def stopped = new AtomicBoolean()
+        def container = Stub(GenericContainer) {
+            start() >> {
+                starting.countDown()
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.onSpinWait()
+                }
+                throw new IllegalStateException("Start was interrupted")
+            }
+            stop() >> { stopped.set(true) }
+        }
+        def result = CompletableFuture.supplyAsync {
+            TestContainers.whileInterested({ interested.get() } as BooleanSupplier) {
+                create("c1", null, container)
+            }
+        }
+
+        when:
+        starting.await()
+        interested.set(false)
+        result.join()
+
+        then:
+        CompletionException ex = thrown()
+        ex.cause instanceof TestResourcesResolutionException
+        ex.cause.message.contains("cancelled")
+        stopped.get()
+        TestContainers.listAll() == [:]
+    }
+
+    def "doesn't cancel the start of a container someone else waits for"() {
+        def interested = new AtomicBoolean(true)
+        def checkedWithoutInterest = new CountDownLatch(1)
+        def starting = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def container = Stub(GenericContainer) {
+            start() >> {
+                starting.countDown()
+                release.await()
+            }
+        }
+        def abandoned = CompletableFuture.supplyAsync {
+            TestContainers.whileInterested({
+                if (interested.get()) {
+                    return true
+                }
+                checkedWithoutInterest.countDown()
+                false
+            } as BooleanSupplier) {
+                create("c1", null, container)
+            }
+        }
+        starting.await()
+        def awaited = CompletableFuture.runAsync {
+            create("c1", null, container)
+        }
+
+        when:
+        new PollingConditions(timeout: 10).eventually {
+            assert TestContainers.waitersOf("c1") == 2
+        }
+        interested.set(false)
+        checkedWithoutInterest.await()
+        release.countDown()
+        abandoned.join()
+        awaited.join()
+
+        then:
+        TestContainers.listAll() == [
+                (Scope.of(null)): [container]
+        ]
+    }
+
+    def "dependencies started on other threads share the interest of their caller"() {
+        def interested = new AtomicBoolean(true)
+        def propagated = new CompletableFuture<Boolean>()
+        def starter = TestContainers.whileInterested({ interested.get() } as BooleanSupplier) {
+            TestContainers.withCurrentInterest { String id ->
+                propagated.complete(TestContainers.INTEREST.get()?.getAsBoolean())
+            }
+        }
+
+        when:
+        interested.set(false)
+        CompletableFuture.runAsync { starter.accept("dependency") }.join()
+
+        then:
+        propagated.get() == false
+    }
+
     void create(String name, String scope, GenericContainer container) {
         TestContainers.getOrCreate("foo", TestContainersTest, name, [
                 (Scope.PROPERTY_KEY): scope
@@ -0,0 +1,24 @@
+package io.micronaut.testresources.testcontainers
+
+import spock.lang.Specification
+
+class TunedProfileSupportTest extends Specification {
+
+    def "tuned profile is enabled by default"() {
+        expect:
+        TunedProfileSupport.isTunedProfileEnabled('elasticsearch', [:])
+        !TunedProfileSupport.isTunedProfileEnabled('elasticsearch', ['containers.elasticsearch.tuned-profile': 'false'])
+        TunedProfileSupport.isTunedProfileEnabled('opensearch', ['containers.elasticsearch.tuned-profile': false])
+        TunedProfileSupport.heapSizeOf('opensearch', [:]) == '512m'
+        TunedProfileSupport.heapSizeOf('opensearch', ['containers.opensearch.heap-size': '1g']) == '1g'
+    }
+
+    def "rejects invalid heap sizes"() {
+        when:
+        TunedProfileSupport.heapSizeOf('elasticsearch', ['containers.elasticsearch.heap-size': 'lots'])
+
+        then:
+        IllegalArgumentException ex = thrown()
+        ex.message.contains('test-resources.containers.elasticsearch.heap-size')
+    }
+}